@@ -0,0 +1,57 @@
+package oracle.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.Oracle;
+import oracle.common.OracleException;
+
+/**
+ * Measures end-to-end command throughput through {@code Oracle.getResponse}, including parsing,
+ * execution and persistence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OracleBenchmark {
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"find report", "mark 1", "unmark 1", "list"})
+    private String input;
+
+    private Oracle oracle;
+
+    /**
+     * Creates an Oracle instance over a freshly generated task file.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     * @throws OracleException If the task file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OracleException {
+        String file = TaskFileGenerator.newTempTaskFile("oracle-e2e");
+        TaskFileGenerator.writeTaskFile(file, size);
+        oracle = new Oracle(file);
+    }
+
+    /**
+     * Executes the configured command and returns the response shown to the user.
+     *
+     * @return The response to the command.
+     */
+    @Benchmark
+    public String getResponse() {
+        return oracle.getResponse(input);
+    }
+}
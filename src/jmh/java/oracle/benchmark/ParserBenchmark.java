@@ -0,0 +1,63 @@
+package oracle.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.command.Command;
+import oracle.common.OracleException;
+import oracle.common.Parser;
+
+/**
+ * Measures the cost of parsing each kind of command, comparing the single-pass parser with the
+ * {@link LegacyParser} that split the input into strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    @Param({
+        "list",
+        "bye",
+        "help",
+        "todo read the cosmic logs",
+        "deadline submit report /by 2/12/2023 2359",
+        "event team meeting /from 3/12/2023 1400 /to 3/12/2023 1600",
+        "delete 3",
+        "mark 2",
+        "unmark 2",
+        "find report",
+        "snooze 2 5/12/2023 1800",
+        "schedule 1/3/2025 0000 /to 31/3/2025 2359",
+        "upcoming 10"
+    })
+    private String input;
+
+    /**
+     * Parses the configured command.
+     *
+     * @return The parsed command.
+     * @throws OracleException If the command cannot be parsed.
+     */
+    @Benchmark
+    public Command parse() throws OracleException {
+        return Parser.parse(input);
+    }
+
+    /**
+     * Parses the configured command with the parser that split the input into strings.
+     *
+     * @return The parsed command.
+     * @throws OracleException If the command cannot be parsed.
+     */
+    @Benchmark
+    public Command parseLegacy() throws OracleException {
+        return LegacyParser.parse(input);
+    }
+}
@@ -0,0 +1,84 @@
+package oracle.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import oracle.Oracle;
+import oracle.common.OracleException;
+import oracle.server.OracleServer;
+
+/**
+ * Load-tests the local server with many concurrent clients sending commands over HTTP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class ServerBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    @Param({"find report", "upcoming 5", "mark 1"})
+    private String input;
+
+    private OracleServer server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    /**
+     * Starts a server over a freshly generated task file.
+     *
+     * @throws IOException If the task file or the server cannot be set up.
+     * @throws OracleException If the task file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OracleException {
+        String file = TaskFileGenerator.newTempTaskFile("oracle-server");
+        TaskFileGenerator.writeTaskFile(file, size);
+        OracleServer.enableNoDelay();
+        server = new OracleServer(new Oracle(file), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/command"))
+                .POST(HttpRequest.BodyPublishers.ofString(input))
+                .build();
+    }
+
+    /**
+     * Stops the server.
+     *
+     * @throws OracleException If pending changes cannot be written.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws OracleException {
+        server.stop();
+    }
+
+    /**
+     * Sends the configured command and waits for the response.
+     *
+     * @return The response to the command.
+     * @throws IOException If the request fails.
+     * @throws InterruptedException If the request is interrupted.
+     */
+    @Benchmark
+    public String sendCommand() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,75 @@
+package oracle.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.task.Task;
+
+/**
+ * Measures loading and saving generated task files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean isBinaryFormat;
+
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private ArrayList<Task> tasks;
+
+    /**
+     * Writes the task file to load from, converting it to the binary format if needed,
+     * and prepares the tasks to save.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     * @throws OracleException If the task file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OracleException {
+        String loadFile = TaskFileGenerator.newTempTaskFile("oracle-load");
+        TaskFileGenerator.writeTaskFile(loadFile, size);
+        loadStorage = new Storage(loadFile, false, isBinaryFormat);
+        loadStorage.load();
+        saveStorage = new Storage(TaskFileGenerator.newTempTaskFile("oracle-save"), false, isBinaryFormat);
+        tasks = TaskFileGenerator.generateTasks(size, TaskFileGenerator.DEFAULT_SEED);
+    }
+
+    /**
+     * Loads the generated task file.
+     *
+     * @return The loaded tasks.
+     * @throws OracleException If the file cannot be read.
+     */
+    @Benchmark
+    public ArrayList<Task> load() throws OracleException {
+        return loadStorage.load();
+    }
+
+    /**
+     * Saves the generated tasks.
+     *
+     * @throws OracleException If the file cannot be written.
+     */
+    @Benchmark
+    public void save() throws OracleException {
+        saveStorage.save(tasks);
+    }
+}
@@ -0,0 +1,97 @@
+package oracle.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.task.Deadline;
+import oracle.task.Event;
+import oracle.task.Task;
+import oracle.task.Todo;
+
+/**
+ * Generates synthetic task lists and task files for benchmarks.
+ * A fixed seed is used so that every run works on exactly the same data.
+ */
+public class TaskFileGenerator {
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final String[] WORDS = {
+        "report", "meeting", "groceries", "assignment", "project", "review", "lecture", "tutorial",
+        "homework", "presentation", "budget", "dentist", "gym", "laundry", "flight", "interview"
+    };
+    private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * Generates a reproducible list of todos, deadlines and events.
+     *
+     * @param count The number of tasks to generate.
+     * @param seed The seed of the random generator.
+     * @return The generated tasks.
+     */
+    public static ArrayList<Task> generateTasks(int count, long seed) {
+        Random random = new Random(seed);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            LocalDateTime dateTime = BASE_DATE_TIME.plusMinutes(random.nextInt(60 * 24 * 365 * 3));
+            Task task;
+            switch (random.nextInt(3)) {
+            case 0 -> task = new Todo(description);
+            case 1 -> task = new Deadline(description, dateTime);
+            default -> task = new Event(description, dateTime, dateTime.plusMinutes(30 + random.nextInt(240)));
+            }
+            if (random.nextInt(4) == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a reproducible task file in the current storage format.
+     *
+     * @param filePath The file to write.
+     * @param count The number of tasks to generate.
+     * @return The path of the written file.
+     * @throws OracleException If the file cannot be written.
+     */
+    public static Path writeTaskFile(String filePath, int count) throws OracleException {
+        new Storage(filePath).save(generateTasks(count, DEFAULT_SEED));
+        return Paths.get(filePath);
+    }
+
+    /**
+     * Creates a fresh temporary file path for a benchmark to write its task file to.
+     *
+     * @param prefix The prefix of the temporary directory.
+     * @return The path of a task file inside a new temporary directory.
+     * @throws IOException If the temporary directory cannot be created.
+     */
+    public static String newTempTaskFile(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix).resolve("oracle.txt").toString();
+    }
+
+    /**
+     * Writes a synthetic task file so benchmarks and manual runs can share the same data.
+     *
+     * @param args The output file and the number of tasks, e.g. {@code data/large.txt 100000}.
+     * @throws OracleException If the file cannot be written.
+     */
+    public static void main(String[] args) throws OracleException {
+        if (args.length < 2) {
+            System.out.println("Usage: TaskFileGenerator <output file> <number of tasks>");
+            return;
+        }
+        Path path = writeTaskFile(args[0], Integer.parseInt(args[1]));
+        System.out.println("Wrote " + args[1] + " tasks to " + path);
+    }
+}
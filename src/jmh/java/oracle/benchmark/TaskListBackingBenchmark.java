@@ -0,0 +1,85 @@
+package oracle.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.common.OracleException;
+import oracle.task.IndexedTreeList;
+import oracle.task.Task;
+import oracle.task.TaskList;
+
+/**
+ * Compares task lists backed by an {@link ArrayList} and by an {@link IndexedTreeList}
+ * when deleting, inserting and reading tasks by index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskListBackingBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"array", "tree"})
+    private String backing;
+
+    private TaskList tasks;
+    private int next;
+
+    /**
+     * Builds the task list with the configured backing.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Task> generated = TaskFileGenerator.generateTasks(size, TaskFileGenerator.DEFAULT_SEED);
+        tasks = new TaskList(backing.equals("tree") ? new IndexedTreeList<>(generated) : generated, false);
+    }
+
+    /**
+     * Deletes the first task and adds it back at the end, keeping the size of the list constant.
+     *
+     * @return The task that was moved.
+     * @throws OracleException If the task cannot be deleted.
+     */
+    @Benchmark
+    public Task deleteFirst() throws OracleException {
+        Task task = tasks.deleteTask(0);
+        tasks.addTask(task);
+        return task;
+    }
+
+    /**
+     * Deletes a task from the middle of the list and adds it back at the end.
+     *
+     * @return The task that was moved.
+     * @throws OracleException If the task cannot be deleted.
+     */
+    @Benchmark
+    public Task deleteMiddle() throws OracleException {
+        Task task = tasks.deleteTask(size / 2);
+        tasks.addTask(task);
+        return task;
+    }
+
+    /**
+     * Reads the task at a position that moves through the list.
+     *
+     * @return The task read.
+     * @throws OracleException If the index is out of range.
+     */
+    @Benchmark
+    public Task getTask() throws OracleException {
+        next = (next + 7919) % size;
+        return tasks.getTask(next);
+    }
+}
@@ -0,0 +1,55 @@
+package oracle.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.task.Task;
+import oracle.task.TaskList;
+
+/**
+ * Measures keyword searches over task lists of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean isIndexed;
+
+    @Param({"interview 7", "report", "xyz"})
+    private String keyword;
+
+    private TaskList tasks;
+
+    /**
+     * Builds the task list and warms up its keyword index, if any.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = new TaskList(TaskFileGenerator.generateTasks(size, TaskFileGenerator.DEFAULT_SEED), isIndexed);
+        tasks.findTasks(keyword);
+    }
+
+    /**
+     * Finds the tasks matching the configured keyword.
+     *
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public List<Task> findTasks() {
+        return tasks.findTasks(keyword);
+    }
+}
@@ -0,0 +1,68 @@
+package oracle.benchmark;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.common.Ui;
+import oracle.task.Task;
+
+/**
+ * Measures listing tasks in the console, comparing the buffered single-pass renderer with the
+ * earlier approach of numbering rows with {@code indexOf} and printing each one straight away.
+ * The time per task stays flat as the list grows for the former and grows linearly for the latter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UiBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+    private Ui ui;
+    private PrintStream console;
+
+    /**
+     * Generates the tasks to list and the console both renderers write to, which discards its output.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = TaskFileGenerator.generateTasks(size, TaskFileGenerator.DEFAULT_SEED);
+        ui = new Ui(InputStream.nullInputStream(), OutputStream.nullOutputStream(), 0);
+        console = new PrintStream(OutputStream.nullOutputStream(), true);
+    }
+
+    /**
+     * Lists the tasks with the buffered renderer.
+     */
+    @Benchmark
+    public void showTasks() {
+        ui.showTasks(tasks);
+    }
+
+    /**
+     * Lists the tasks the way the console did before, looking up each row's number with {@code indexOf}.
+     */
+    @Benchmark
+    public void showTasksLegacy() {
+        console.println("    ____________________________________________________________");
+        console.println("    Here are the tasks in your list:");
+        tasks.stream()
+                .map(task -> (tasks.indexOf(task) + 1) + ". " + task)
+                .forEach(console::println);
+        console.println("    ____________________________________________________________");
+    }
+}
@@ -1,12 +1,36 @@
 package oracle;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import javafx.application.Application;
+import oracle.server.OracleServer;
 
 /**
- * The main launcher class for the GUI
+ * The main launcher class for the GUI.
+ * Running it with {@code --server [port]} starts Oracle as a headless local server instead, and
+ * {@code --batch <file> [commit interval]} runs the commands in a file.
  */
 public class Launcher {
-    public static void main(String[] args) {
+    private static final String SERVER_OPTION = "--server";
+    private static final String BATCH_OPTION = "--batch";
+
+    /**
+     * Launches the GUI, the headless server if the first argument is {@code --server},
+     * or a batch run if it is {@code --batch}.
+     *
+     * @param args Command-line arguments.
+     * @throws IOException If the server port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals(SERVER_OPTION)) {
+            OracleServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals(BATCH_OPTION)) {
+            Oracle.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -1,10 +1,25 @@
 package oracle;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import oracle.command.Command;
+import oracle.command.CommandHistory;
+import oracle.common.BatchSummary;
 import oracle.common.OracleException;
 import oracle.common.Parser;
 import oracle.common.Storage;
 import oracle.common.Ui;
+import oracle.task.IndexedTreeList;
+import oracle.task.Task;
 import oracle.task.TaskList;
 
 /**
@@ -12,26 +27,75 @@ import oracle.task.TaskList;
  * Handles initialization, user interactions, and execution of commands.
  */
 public class Oracle {
+    private static final long DEFAULT_WRITE_BEHIND_DELAY_MILLIS = 50;
+    private static final String BATCH_OPTION = "--batch";
+
     private final Storage storage;
     private final TaskList tasks;
     private final Ui ui;
+    private final CommandHistory history;
+    private final ReadWriteLock commandLock = new ReentrantReadWriteLock();
 
     /**
      * Constructs an Oracle chatbot instance with a specified storage file.
+     * Setting the {@code oracle.find.scan} system property to {@code true} makes {@code find} scan every
+     * task instead of using the keyword index. Setting {@code oracle.mapped} to {@code true} keeps tasks
+     * in a memory-mapped binary file and decodes them on access; {@code find}, {@code schedule},
+     * {@code upcoming} and lookups by ID then search the list as well, since their indexes would hold every
+     * task on the heap. Otherwise, setting {@code oracle.tree} to
+     * {@code true} keeps tasks in an {@link IndexedTreeList}, so that deleting from a long list takes
+     * O(log n) time instead of shifting every later task. {@code oracle.undo.limit} sets how many changes
+     * can be undone, {@value CommandHistory#DEFAULT_CAPACITY} by default. When run in a terminal,
+     * {@code oracle.page.size} makes long lists pause after that many tasks.
      *
      * @param filePath The file path where task data is stored.
      */
     public Oracle(String filePath) {
-        TaskList tasks1;
-        ui = new Ui();
-        storage = new Storage(filePath);
+        int pageSize = System.console() == null ? 0 : Integer.getInteger("oracle.page.size", 0);
+        ui = new Ui(System.in, System.out, Math.max(pageSize, 0));
+        history = new CommandHistory(Integer.getInteger("oracle.undo.limit", CommandHistory.DEFAULT_CAPACITY));
+        storage = createStorage(filePath);
+        boolean isMapped = Boolean.getBoolean("oracle.mapped");
+        boolean isIndexed = !Boolean.getBoolean("oracle.find.scan");
+        boolean isTree = Boolean.getBoolean("oracle.tree") && !isMapped;
+        List<Task> loaded;
         try {
-            tasks1 = new TaskList(storage.load());
+            loaded = isMapped ? storage.loadMapped() : storage.load();
         } catch (OracleException e) {
             ui.showLoadingError();
-            tasks1 = new TaskList();
+            loaded = new ArrayList<>();
+        }
+        tasks = new TaskList(isTree ? new IndexedTreeList<>(loaded) : loaded, isIndexed, storage.getNextId(),
+                isMapped);
+        // Files written by earlier versions hold no task IDs; the IDs given out are saved so they stay the same.
+        if (storage.getNextId() == 0 && tasks.assignIds()) {
+            try {
+                storage.save(tasks);
+            } catch (OracleException e) {
+                ui.showError(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the storage for the given file, configured through system properties:
+     * {@code oracle.journal} enables journal mode, {@code oracle.binary} (implied by {@code oracle.mapped})
+     * stores tasks in the binary format,
+     * {@code oracle.writeBehind} enables write-behind mode with a maximum delay of
+     * {@code oracle.writeBehind.maxDelay} milliseconds, and {@code oracle.sync} forces every write to disk.
+     *
+     * @param filePath The file path where task data is stored.
+     * @return The configured storage.
+     */
+    private static Storage createStorage(String filePath) {
+        Storage storage = new Storage(filePath, Boolean.getBoolean("oracle.journal"),
+                Boolean.getBoolean("oracle.binary") || Boolean.getBoolean("oracle.mapped"));
+        if (Boolean.getBoolean("oracle.sync")) {
+            storage.enableSyncWrites();
+        } else if (Boolean.getBoolean("oracle.writeBehind")) {
+            storage.enableWriteBehind(Long.getLong("oracle.writeBehind.maxDelay", DEFAULT_WRITE_BEHIND_DELAY_MILLIS));
         }
-        tasks = tasks1;
+        return storage;
     }
 
     /**
@@ -44,13 +108,29 @@ public class Oracle {
             String input = ui.readCommand();
             isExit = processCommand(input);
         }
+        try {
+            close();
+        } catch (OracleException e) {
+            ui.showError(e.getMessage());
+        }
         ui.close();
     }
 
+    /**
+     * Writes out any pending changes and releases the storage.
+     *
+     * @throws OracleException If pending changes cannot be written.
+     */
+    public void close() throws OracleException {
+        storage.close();
+    }
+
     private boolean processCommand(String input) {
         try {
             Command command = Parser.parse(input);
+            command.setHistory(history);
             command.execute(tasks, ui, storage);
+            history.record(command.getChange());
             return command.isExit();
         } catch (OracleException e) {
             ui.showError(e.getMessage());
@@ -58,21 +138,167 @@ public class Oracle {
         }
     }
 
+    /**
+     * Runs a command and returns the response to display, as {@link #execute(String)} does.
+     *
+     * @param input The command entered by the user.
+     * @return The response to the command, or an error message if it failed.
+     */
     public String getResponse(String input) {
         try {
-            return Parser.parse(input).executeForGui(tasks, ui, storage);
+            return execute(input);
         } catch (OracleException e) {
             return "Error: " + e.getMessage();
         }
     }
 
+    /**
+     * Runs a command and returns the response to display.
+     * Commands may be submitted from several threads. Commands that only read tasks run at the same
+     * time as each other, while a command that changes tasks runs alone.
+     *
+     * @param input The command entered by the user.
+     * @return The response to the command.
+     * @throws OracleException If the command is invalid or fails.
+     */
+    public String execute(String input) throws OracleException {
+        return execute(Parser.parse(input));
+    }
+
+    private String execute(Command command) throws OracleException {
+        Lock lock = command.isReadOnly() ? commandLock.readLock() : commandLock.writeLock();
+        lock.lock();
+        try {
+            command.setHistory(history);
+            String response = command.executeForGui(tasks, ui, storage);
+            history.record(command.getChange());
+            return response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the commands in a file, one per line, without printing their responses.
+     * The file is read as it is processed, and changes are written to storage once every
+     * {@code commitInterval} commands and at the end, rather than after every command.
+     * Blank lines are skipped, failed commands are counted and reported in the summary, and the
+     * batch stops early at an exit command. Saves go back to normal afterwards, even if the batch fails.
+     *
+     * @param commandFile The file holding the commands.
+     * @param commitInterval The number of commands between commits, or 0 to commit only at the end.
+     * @return The summary of the batch.
+     * @throws OracleException If the file cannot be read or the changes cannot be written.
+     */
+    public BatchSummary runBatch(Path commandFile, int commitInterval) throws OracleException {
+        assert commitInterval >= 0 : "Commit interval should not be negative";
+        BatchSummary summary = new BatchSummary();
+        long start = System.nanoTime();
+        OracleException failure = null;
+        storage.deferSaves();
+        try (BufferedReader reader = Files.newBufferedReader(commandFile)) {
+            long lineNumber = 0;
+            String line;
+            boolean isExit = false;
+            while (!isExit && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                isExit = runBatchCommand(line.trim(), lineNumber, summary);
+                if (commitInterval > 0 && summary.getCommandCount() % commitInterval == 0) {
+                    commitBatch(summary);
+                }
+            }
+        } catch (IOException e) {
+            failure = new OracleException("Error reading batch file: " + e.getMessage());
+        } catch (OracleException e) {
+            failure = e;
+        }
+        try {
+            finishBatch(summary);
+        } catch (OracleException e) {
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
+        }
+        summary.setElapsedNanos(System.nanoTime() - start);
+        if (failure != null) {
+            throw failure;
+        }
+        return summary;
+    }
+
+    private boolean runBatchCommand(String input, long lineNumber, BatchSummary summary) {
+        try {
+            Command command = Parser.parse(input);
+            execute(command);
+            summary.addSuccess();
+            return command.isExit();
+        } catch (OracleException | RuntimeException e) {
+            summary.addFailure(lineNumber, e.getMessage());
+            return false;
+        }
+    }
+
+    private void commitBatch(BatchSummary summary) throws OracleException {
+        commandLock.writeLock().lock();
+        try {
+            if (storage.commit(tasks)) {
+                summary.addCommit();
+            }
+        } finally {
+            commandLock.writeLock().unlock();
+        }
+    }
+
+    private void finishBatch(BatchSummary summary) throws OracleException {
+        commandLock.writeLock().lock();
+        try {
+            if (storage.resumeSaves(tasks)) {
+                summary.addCommit();
+            }
+        } finally {
+            commandLock.writeLock().unlock();
+        }
+    }
+
     /**
      * The entry point of the Oracle chatbot application.
-     * Initializes and starts the chatbot with a predefined storage location.
+     * Initializes and starts the chatbot with a predefined storage location. Running it with
+     * {@code --batch <file> [commit interval]} runs the commands in the file instead and prints a summary.
      *
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments.
      */
     public static void main(String[] args) {
-        new Oracle("data/oracle.txt").run();
+        Oracle oracle = new Oracle("data/oracle.txt");
+        if (args.length == 0 || !args[0].equals(BATCH_OPTION)) {
+            oracle.run();
+            return;
+        }
+        try {
+            if (args.length < 2) {
+                oracle.ui.showError("Usage: " + BATCH_OPTION + " <file> [commit interval]");
+                return;
+            }
+            int commitInterval = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+            if (commitInterval < 0) {
+                throw new NumberFormatException();
+            }
+            oracle.ui.showBatchSummary(oracle.runBatch(Paths.get(args[1]), commitInterval));
+        } catch (OracleException e) {
+            oracle.ui.showError(e.getMessage());
+        } catch (NumberFormatException e) {
+            oracle.ui.showError("The commit interval should be a number of commands, or 0 to commit at the end.");
+        } finally {
+            // Changes made before a failure are still written out, and the storage threads stopped.
+            try {
+                oracle.close();
+            } catch (OracleException e) {
+                oracle.ui.showError(e.getMessage());
+            }
+        }
     }
 }
@@ -33,7 +33,8 @@ public class AddCommand extends Command {
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
         tasks.addTask(task);
-        storage.save(tasks.getTasks());
+        storage.saveAdded(tasks, task);
+        recordAdded(tasks.size() - 1);
         ui.showAddedTask(task, tasks.size());
     }
 
@@ -50,9 +51,13 @@ public class AddCommand extends Command {
     @Override
     public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
         tasks.addTask(task);
-        storage.save(tasks.getTasks());
-        return "\uD83C\uDF20 A new task has been recorded in the cosmic logs:\n"
+        storage.saveAdded(tasks, task);
+        recordAdded(tasks.size() - 1);
+        return "\uD83C\uDF20 A new task has been recorded in the cosmic logs as #" + task.getId() + ":\n"
                + task + "\nNow you have " + tasks.size() + " tasks in the list.";
     }
 
+    private void recordAdded(int index) {
+        recordChange(new Change("add", task, Operation.delete(index), Operation.insert(index, task)));
+    }
 }
@@ -0,0 +1,71 @@
+package oracle.command;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.task.Task;
+import oracle.task.TaskList;
+
+/**
+ * Represents a change a command made to a task, together with the operations that undo and redo it.
+ */
+public class Change {
+    private final String name;
+    private final Task task;
+    private final Operation undo;
+    private final Operation redo;
+
+    /**
+     * Constructs a Change.
+     *
+     * @param name The name of the command that made the change, e.g. {@code delete}.
+     * @param task The task that was changed.
+     * @param undo The operation that reverses the change.
+     * @param redo The operation that makes the change again.
+     */
+    public Change(String name, Task task, Operation undo, Operation redo) {
+        this.name = name;
+        this.task = task;
+        this.undo = undo;
+        this.redo = redo;
+    }
+
+    /**
+     * Retrieves the name of the command that made the change.
+     *
+     * @return The command name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the task that was changed.
+     *
+     * @return The task.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Reverses the change.
+     *
+     * @param tasks The task list to change.
+     * @param storage The storage component responsible for saving task data.
+     * @throws OracleException If the change cannot be reversed or saved.
+     */
+    public void undo(TaskList tasks, Storage storage) throws OracleException {
+        undo.apply(tasks, storage);
+    }
+
+    /**
+     * Makes the change again after it was reversed.
+     *
+     * @param tasks The task list to change.
+     * @param storage The storage component responsible for saving task data.
+     * @throws OracleException If the change cannot be made or saved.
+     */
+    public void redo(TaskList tasks, Storage storage) throws OracleException {
+        redo.apply(tasks, storage);
+    }
+}
@@ -10,6 +10,8 @@ import oracle.task.TaskList;
  * All specific commands must extend this class and implement the execute method.
  */
 public abstract class Command {
+    private Change change;
+
     /**
      * Executes the command by performing an operation on the task list,
      * updating the UI, and optionally modifying storage.
@@ -39,4 +41,41 @@ public abstract class Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Determines if this command only reads tasks, so that it may run at the same time as other
+     * commands that only read tasks. By default, returns {@code false}.
+     *
+     * @return {@code true} if the command neither changes tasks nor writes to storage, otherwise {@code false}.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Retrieves the change this command made to a task, so that it can be undone.
+     *
+     * @return The change, or {@code null} if the command has not run or did not change any task.
+     */
+    public Change getChange() {
+        return change;
+    }
+
+    /**
+     * Records the change this command made, for commands that change a task.
+     *
+     * @param change The change that was made.
+     */
+    protected void recordChange(Change change) {
+        this.change = change;
+    }
+
+    /**
+     * Gives the command the history of changes, for commands that undo or redo them.
+     * By default, does nothing.
+     *
+     * @param history The history of changes made by earlier commands.
+     */
+    public void setHistory(CommandHistory history) {
+    }
 }
@@ -0,0 +1,91 @@
+package oracle.command;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.task.TaskList;
+
+/**
+ * Represents the changes made by recent commands, so that they can be undone and redone.
+ * Only the most recent changes are kept, up to a fixed capacity. Making a new change
+ * discards the changes that were undone and could otherwise be redone.
+ */
+public class CommandHistory {
+    /** Number of changes kept when no other capacity is given. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final Deque<Change> undoStack = new ArrayDeque<>();
+    private final Deque<Change> redoStack = new ArrayDeque<>();
+    private final int capacity;
+
+    /**
+     * Constructs an empty CommandHistory with the default capacity.
+     */
+    public CommandHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty CommandHistory keeping up to the given number of changes.
+     *
+     * @param capacity The maximum number of changes that can be undone.
+     */
+    public CommandHistory(int capacity) {
+        assert capacity > 0 : "History capacity should be positive";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records the change made by a command, dropping the oldest change if the history is full.
+     *
+     * @param change The change, or {@code null} if the command did not change any task.
+     */
+    public void record(Change change) {
+        if (change == null) {
+            return;
+        }
+        undoStack.push(change);
+        if (undoStack.size() > capacity) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Reverses the most recent change that has not been undone yet.
+     *
+     * @param tasks The task list to change.
+     * @param storage The storage component responsible for saving task data.
+     * @return The change that was undone.
+     * @throws OracleException If there is nothing to undo or the change cannot be reversed.
+     */
+    public Change undo(TaskList tasks, Storage storage) throws OracleException {
+        Change change = undoStack.peek();
+        if (change == null) {
+            throw new OracleException("There is nothing to undo.");
+        }
+        change.undo(tasks, storage);
+        redoStack.push(undoStack.pop());
+        return change;
+    }
+
+    /**
+     * Makes the most recently undone change again.
+     *
+     * @param tasks The task list to change.
+     * @param storage The storage component responsible for saving task data.
+     * @return The change that was redone.
+     * @throws OracleException If there is nothing to redo or the change cannot be made.
+     */
+    public Change redo(TaskList tasks, Storage storage) throws OracleException {
+        Change change = redoStack.peek();
+        if (change == null) {
+            throw new OracleException("There is nothing to redo.");
+        }
+        change.redo(tasks, storage);
+        undoStack.push(redoStack.pop());
+        return change;
+    }
+}
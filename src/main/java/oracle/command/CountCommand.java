@@ -0,0 +1,93 @@
+package oracle.command;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import oracle.common.Storage;
+import oracle.common.Ui;
+import oracle.task.TaskList;
+import oracle.task.TaskType;
+
+/**
+ * Represents a command to count the tasks in the task list, either by type and status
+ * or only those matching a filter. The counts come from the task list's partitions,
+ * so counting does not go through the tasks.
+ */
+public class CountCommand extends Command {
+    private final Set<TaskType> types;
+    private final Boolean isDone;
+
+    /**
+     * Constructs a CountCommand.
+     *
+     * @param types The types of task to count, or an empty set to count every type.
+     * @param isDone Whether to count done or undone tasks, or {@code null} to count both.
+     */
+    public CountCommand(Set<TaskType> types, Boolean isDone) {
+        this.types = types.isEmpty() ? EnumSet.noneOf(TaskType.class) : EnumSet.copyOf(types);
+        this.isDone = isDone;
+    }
+
+    /**
+     * Executes the command by displaying the counts.
+     *
+     * @param tasks   The task list to count.
+     * @param ui      The UI component to display the counts.
+     * @param storage The storage component (not used in this command).
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.showTaskCount(getCounts(tasks));
+    }
+
+    /**
+     * Executes the command for the GUI and returns the counts.
+     *
+     * @param tasks   The task list to count.
+     * @param ui      The UI component (not used in this implementation).
+     * @param storage The storage component (not used in this implementation).
+     * @return The counts in words.
+     */
+    @Override
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) {
+        return "🔭 " + getCounts(tasks);
+    }
+
+    /**
+     * Describes the number of matching tasks, or the number of each type and status without a filter.
+     * The total is the size of the list, so the partitions are only built for the filter or the breakdown.
+     */
+    private String getCounts(TaskList tasks) {
+        int total = tasks.size();
+        if (!types.isEmpty() || isDone != null) {
+            String filter = ListCommand.describeFilter(types, isDone);
+            return Character.toUpperCase(filter.charAt(0)) + filter.substring(1) + ": "
+                    + count(tasks, types, isDone) + " of " + total + " tasks";
+        }
+        StringBuilder counts = new StringBuilder("Tasks: ").append(total).append(" (");
+        for (TaskType type : TaskType.values()) {
+            counts.append(type.name().toLowerCase(Locale.ROOT)).append("s: ")
+                    .append(count(tasks, EnumSet.of(type), null)).append(", ");
+        }
+        int done = count(tasks, EnumSet.noneOf(TaskType.class), Boolean.TRUE);
+        return counts.append("done: ").append(done).append(", undone: ").append(total - done).append(')').toString();
+    }
+
+    /**
+     * Counts the tasks of some types and status, without building the partitions of an empty list.
+     */
+    private static int count(TaskList tasks, Set<TaskType> types, Boolean isDone) {
+        return tasks.isEmpty() ? 0 : tasks.count(types, isDone);
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -5,12 +5,13 @@ import oracle.common.Storage;
 import oracle.common.Ui;
 import oracle.task.Task;
 import oracle.task.TaskList;
+import oracle.task.TaskReference;
 
 /**
  * Represents a command to delete a task from the task list.
  */
 public class DeleteCommand extends Command {
-    private final int index;
+    private final TaskReference target;
 
     /**
      * Constructs a DeleteCommand with the specified task index.
@@ -18,7 +19,16 @@ public class DeleteCommand extends Command {
      * @param index The zero-based index of the task to be deleted from the task list.
      */
     public DeleteCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
+    }
+
+    /**
+     * Constructs a DeleteCommand for the task with a number or ID.
+     *
+     * @param target The task, by its number in the list or its ID.
+     */
+    public DeleteCommand(TaskReference target) {
+        this.target = target;
     }
 
     /**
@@ -36,8 +46,11 @@ public class DeleteCommand extends Command {
             throw new OracleException("OOPS! There are no tasks in the list yet. "
                                       + "Please add a task first before attempting to delete one.");
         }
+        int index = target.resolve(tasks);
         Task removedTask = tasks.deleteTask(index);
-        storage.save(tasks.getTasks());
+        storage.saveDeleted(tasks, index);
+        recordChange(new Change("delete", removedTask, Operation.insert(index, removedTask),
+                Operation.delete(index)));
         ui.showDeletedTask(removedTask, tasks.size());
     }
     /**
@@ -56,8 +69,11 @@ public class DeleteCommand extends Command {
             throw new OracleException("\uD83C\uDF0C The cosmos is empty... You have no tasks in your list yet! "
                                       + "Please add a task first before attempting to delete one.");
         }
+        int index = target.resolve(tasks);
         Task removedTask = tasks.deleteTask(index);
-        storage.save(tasks.getTasks());
+        storage.saveDeleted(tasks, index);
+        recordChange(new Change("delete", removedTask, Operation.insert(index, removedTask),
+                Operation.delete(index)));
         return "☄\uFE0F The task has been obliterated into the void. Farewell, "
                + removedTask + "\nNow you have " + tasks.size() + " tasks in the list.";
     }
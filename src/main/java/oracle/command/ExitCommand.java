@@ -1,5 +1,6 @@
 package oracle.command;
 
+import oracle.common.OracleException;
 import oracle.common.Storage;
 import oracle.common.Ui;
 import oracle.task.TaskList;
@@ -9,28 +10,33 @@ import oracle.task.TaskList;
  */
 public class ExitCommand extends Command {
     /**
-     * Executes the command by displaying a goodbye message to the user.
+     * Executes the command by writing out any pending changes and displaying a goodbye message to the user.
      *
      * @param tasks   The task list (not modified in this command).
      * @param ui      The UI component to display the goodbye message.
-     * @param storage The storage component (not used in this command).
+     * @param storage The storage component whose pending writes are flushed.
+     * @throws OracleException If pending changes cannot be written.
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        storage.flush();
         ui.showGoodbye();
     }
 
     /**
      * Executes the exit operation for the GUI interface.
-     * This method returns a farewell message to be displayed before the application closes.
+     * This method writes out any pending changes and returns a farewell message to be displayed
+     * before the application closes.
      *
      * @param tasks   The task list (not used in this implementation)
      * @param ui      The UI component (not used in this implementation)
-     * @param storage The storage component (not used in this implementation)
+     * @param storage The storage component whose pending writes are flushed
      * @return A goodbye message to the user
+     * @throws OracleException If pending changes cannot be written
      */
     @Override
-    public String executeForGui(TaskList tasks, Ui ui, Storage storage) {
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        storage.flush();
         return "\uD83D\uDE80 Goodbye! Your journey doesn’t end here, star seeker.\n"
                + "Aim for the stars, and may the cosmos guide your way!";
     }
@@ -5,22 +5,37 @@ import java.util.List;
 import oracle.common.OracleException;
 import oracle.common.Storage;
 import oracle.common.Ui;
+import oracle.task.PageRequest;
 import oracle.task.Task;
 import oracle.task.TaskList;
+import oracle.task.TaskPage;
 
 /**
  * Represents a command to find tasks containing a specific keyword.
  */
 public class FindCommand extends Command {
     private final String keyword;
+    private final PageRequest pageRequest;
 
     /**
-     * Constructs a FindCommand with the given keyword.
+     * Constructs a FindCommand with the given keyword. The console shows every match,
+     * while the GUI shows the first page of matches so that its response stays small.
      *
      * @param keyword The keyword to search for in task descriptions.
      */
     public FindCommand(String keyword) {
+        this(keyword, null);
+    }
+
+    /**
+     * Constructs a FindCommand showing one page of the tasks matching the given keyword.
+     *
+     * @param keyword The keyword to search for in task descriptions.
+     * @param pageRequest The page of matches to show, or {@code null} if no paging options were given.
+     */
+    public FindCommand(String keyword, PageRequest pageRequest) {
         this.keyword = keyword;
+        this.pageRequest = pageRequest;
     }
 
     /**
@@ -30,6 +45,7 @@ public class FindCommand extends Command {
      * @param tasks   The task list where tasks are searched.
      * @param ui      The UI component to display results.
      * @param storage The storage component (not used in this command).
+     * @throws OracleException If the task list is empty or the paging cursor is invalid.
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
@@ -38,20 +54,25 @@ public class FindCommand extends Command {
                            + "Please add some tasks before trying to find them.");
         }
         List<Task> matchingTasks = tasks.findTasks(keyword);
-        ui.showMatchingTasks(matchingTasks);
+        if (pageRequest == null || matchingTasks.isEmpty()) {
+            ui.showMatchingTasks(matchingTasks);
+        } else {
+            ui.showMatchingTaskPage(pageRequest.apply(matchingTasks), getCommandText());
+        }
     }
     /**
      * Executes the find operation for the GUI interface.
      * This method searches through the task list for tasks containing the specified keyword
-     * and returns a formatted list of all matching tasks.
+     * and returns a formatted page of the matching tasks, followed by the cursor for the next page if any.
      *
      * @param tasks   The task list to search through
      * @param ui      The UI component (not used in this implementation)
      * @param storage The storage component (not used in this implementation)
-     * @return A formatted string containing numbered list of all matching tasks, or a message if no matches found
+     * @return A formatted string containing a numbered page of matching tasks, or a message if no matches found
+     * @throws OracleException If the paging cursor is invalid.
      */
     @Override
-    public String executeForGui(TaskList tasks, Ui ui, Storage storage) {
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
         if (tasks.isEmpty()) {
             return ("\uD83C\uDF0C The cosmos is empty... You have no tasks in your list yet! "
                                       + "Please add some tasks before trying to find them.");
@@ -60,12 +81,24 @@ public class FindCommand extends Command {
         if (matchingTasks.isEmpty()) {
             return "No matching tasks found.";
         }
+        PageRequest request = pageRequest != null ? pageRequest : PageRequest.firstPage();
         StringBuilder response = new StringBuilder(
                 "\uD83D\uDD2D Scanning the star charts… Here are the tasks that match your query:\n");
-        for (int i = 0; i < matchingTasks.size(); i++) {
-            response.append((i + 1)).append(". ").append(matchingTasks.get(i)).append("\n");
-        }
+        ListCommand.appendPage(response, request.apply(matchingTasks), getCommandText());
         return response.toString();
     }
 
+    private String getCommandText() {
+        return "find " + keyword;
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
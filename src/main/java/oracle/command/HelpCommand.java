@@ -42,15 +42,32 @@ public class HelpCommand extends Command {
      */
     private String getHelpMessage() {
         return "🪐 Oracle Command Guide 🪐\n\n"
-               + "1. list: Shows all tasks in your list\n"
+               + "1. list [filters] [page N]: Shows the tasks in your list, e.g. list undone deadlines\n"
                + "2. todo [task description]: Adds a To-Do task\n"
                + "3. deadline [task description] /by [date time]: Adds a Deadline task\n"
                + "4. event [task description] /from [date time] /to [date time]: Adds an Event task\n"
-               + "5. delete [task number]: Deletes a task\n"
-               + "6. mark [task number]: Marks a task as completed\n"
-               + "7. unmark [task number]: Marks a task as not completed\n"
-               + "8. find [keyword]: Finds tasks containing a specific keyword\n"
-               + "9. snooze [task number] [new date time]: Reschedules a deadline or event\n"
-               + "10. bye: Exits the application";
+               + "5. delete [task number or #id]: Deletes a task\n"
+               + "6. mark [task number or #id]: Marks a task as completed\n"
+               + "7. unmark [task number or #id]: Marks a task as not completed\n"
+               + "8. find [keyword] [--limit count] [--after cursor]: Finds tasks containing a specific keyword\n"
+               + "9. snooze [task number or #id] [new date time]: Reschedules a deadline or event\n"
+               + "10. schedule [date time] /to [date time]: Shows the events and deadlines in a period\n"
+               + "11. upcoming [count]: Shows the pending deadlines and events that are due first\n"
+               + "12. count [filters]: Counts your tasks, by type and status or matching the filters\n"
+               + "13. query [terms]: Finds tasks by type:, done:, due<, due>, text:, sort: and limit:\n"
+               + "14. explain query [terms]: Shows how a query would find its tasks\n"
+               + "15. undo: Reverses the most recent change to a task\n"
+               + "16. redo: Makes the most recently undone change again\n"
+               + "17. bye: Exits the application";
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
@@ -1,44 +1,194 @@
 package oracle.command;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import oracle.common.OracleException;
 import oracle.common.Storage;
 import oracle.common.Ui;
+import oracle.task.PageRequest;
+import oracle.task.Task;
 import oracle.task.TaskList;
+import oracle.task.TaskPage;
+import oracle.task.TaskType;
 
 /**
- * Represents a command to list all tasks in the task list.
+ * Represents a command to list the tasks in the task list, either all of them or one page,
+ * optionally only those of some types or status. Filtered tasks keep their numbers in the list.
  */
 public class ListCommand extends Command {
+    private static final String COMMAND = "list";
+
+    private final Set<TaskType> types;
+    private final Boolean isDone;
+    private final PageRequest pageRequest;
+
+    /**
+     * Constructs a ListCommand without paging options. The console shows every task,
+     * while the GUI shows the first page so that its response stays small.
+     */
+    public ListCommand() {
+        this(null);
+    }
+
     /**
-     * Executes the command by displaying all tasks in the task list.
+     * Constructs a ListCommand showing one page of tasks.
+     *
+     * @param pageRequest The page to show, or {@code null} if no paging options were given.
+     */
+    public ListCommand(PageRequest pageRequest) {
+        this(EnumSet.noneOf(TaskType.class), null, pageRequest);
+    }
+
+    /**
+     * Constructs a ListCommand showing the tasks of some types or status.
+     *
+     * @param types The types of task to show, or an empty set to show every type.
+     * @param isDone Whether to show done or undone tasks, or {@code null} to show both.
+     * @param pageRequest The page to show, or {@code null} if no paging options were given.
+     */
+    public ListCommand(Set<TaskType> types, Boolean isDone, PageRequest pageRequest) {
+        this.types = types.isEmpty() ? EnumSet.noneOf(TaskType.class) : EnumSet.copyOf(types);
+        this.isDone = isDone;
+        this.pageRequest = pageRequest;
+    }
+
+    /**
+     * Executes the command by displaying the tasks in the task list.
      *
      * @param tasks   The task list containing all tasks.
      * @param ui      The UI component to display the list of tasks.
      * @param storage The storage component (not used in this command).
+     * @throws OracleException If the paging cursor is invalid.
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
-        ui.showTasks(tasks.getTasks());
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        if (isFiltered()) {
+            PageRequest request = pageRequest != null ? pageRequest : PageRequest.all();
+            ui.showFilteredTaskPage(findPage(tasks, request), getCommandText(), describeFilter(types, isDone));
+        } else if (pageRequest == null || tasks.isEmpty()) {
+            ui.showTasks(tasks.getTaskView());
+        } else {
+            ui.showTaskPage(pageRequest.apply(tasks.getTaskView()), COMMAND);
+        }
     }
+
     /**
      * Executes the list operation for the GUI interface.
-     * This method displays all tasks currently in the task list in a numbered format.
-     * If the task list is empty, it returns an appropriate message.
+     * This method displays one page of the task list in a numbered format, followed by the cursor
+     * for the next page if there is one. If the task list is empty, it returns an appropriate message.
      *
      * @param tasks   The task list to display
      * @param ui      The UI component (not used in this implementation)
      * @param storage The storage component (not used in this implementation)
-     * @return A formatted string containing numbered list of all tasks, or a message if list is empty
+     * @return A formatted string containing a numbered page of tasks, or a message if list is empty
+     * @throws OracleException If the paging cursor is invalid.
      */
     @Override
-    public String executeForGui(TaskList tasks, Ui ui, Storage storage) {
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
         if (tasks.isEmpty()) {
             return "\uD83C\uDF0C The cosmos is empty... You have no tasks in your list yet!";
         }
-        StringBuilder response = new StringBuilder("\uD83D\uDCDD Here are the tasks in your cosmic logs:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            response.append((i + 1)).append(". ").append(tasks.getTasks().get(i)).append("\n");
+        PageRequest request = pageRequest != null ? pageRequest : PageRequest.firstPage();
+        if (isFiltered()) {
+            TaskPage page = findPage(tasks, request);
+            String filter = describeFilter(types, isDone);
+            if (page.getTotal() == 0) {
+                return "\uD83C\uDF0C No " + filter + " drift through your cosmic logs.";
+            }
+            StringBuilder response = new StringBuilder("\uD83D\uDCDD Here are the " + filter
+                    + " in your cosmic logs (" + page.getTotal() + "):\n");
+            appendPage(response, page, getCommandText());
+            return response.toString();
         }
+        TaskPage page = request.apply(tasks.getTaskView());
+        StringBuilder response = new StringBuilder("\uD83D\uDCDD Here are the tasks in your cosmic logs:\n");
+        appendPage(response, page, COMMAND);
         return response.toString();
     }
 
+    /**
+     * Appends the numbered tasks of a page, each with its ID, followed by a summary of the page unless it
+     * holds the whole list.
+     *
+     * @param response The response to append to.
+     * @param page The page of tasks.
+     * @param command The command that shows the list, used to suggest how to see the next page.
+     */
+    static void appendPage(StringBuilder response, TaskPage page, String command) {
+        List<Task> pageTasks = page.getTasks();
+        for (int i = 0; i < pageTasks.size(); i++) {
+            Task task = pageTasks.get(i);
+            response.append(page.getNumber(i)).append(". #").append(task.getId()).append(' ').append(task).append("\n");
+        }
+        if (!page.isWholeList()) {
+            response.append(page.describe(command)).append("\n");
+        }
+    }
+
+    /**
+     * Describes the tasks of some types and status in words, e.g. {@code undone deadlines and events}.
+     *
+     * @param types The types of task, or an empty set for every type.
+     * @param isDone Whether the tasks are done or undone, or {@code null} for both.
+     * @return The description.
+     */
+    static String describeFilter(Set<TaskType> types, Boolean isDone) {
+        StringBuilder description = new StringBuilder();
+        if (isDone != null) {
+            description.append(isDone ? "done " : "undone ");
+        }
+        if (types.isEmpty() || types.size() == TaskType.values().length) {
+            return description.append("tasks").toString();
+        }
+        List<String> names = new ArrayList<>();
+        for (TaskType type : types) {
+            names.add(type.name().toLowerCase(Locale.ROOT) + "s");
+        }
+        return description.append(String.join(" and ", names)).toString();
+    }
+
+    private boolean isFiltered() {
+        return !types.isEmpty() || isDone != null;
+    }
+
+    /**
+     * Collects the tasks matching the filter through the task list's partitions and selects a page of them.
+     */
+    private TaskPage findPage(TaskList tasks, PageRequest request) throws OracleException {
+        int[] positions = tasks.findPositions(types, isDone);
+        List<Task> view = tasks.getTaskView();
+        List<Task> matches = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matches.add(view.get(position));
+        }
+        return request.apply(matches, positions);
+    }
+
+    /**
+     * Formats the command with its filter words, used to suggest how to see the next page.
+     */
+    private String getCommandText() {
+        StringBuilder command = new StringBuilder(COMMAND);
+        if (isDone != null) {
+            command.append(isDone ? " done" : " undone");
+        }
+        for (TaskType type : types) {
+            command.append(' ').append(type.name().toLowerCase(Locale.ROOT));
+        }
+        return command.toString();
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
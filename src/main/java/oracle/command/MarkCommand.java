@@ -5,12 +5,13 @@ import oracle.common.Storage;
 import oracle.common.Ui;
 import oracle.task.Task;
 import oracle.task.TaskList;
+import oracle.task.TaskReference;
 
 /**
  * Represents a command to mark a task as completed in the task list.
  */
 public class MarkCommand extends Command {
-    private final int index;
+    private final TaskReference target;
 
     /**
      * Constructs a MarkCommand with the specified task index.
@@ -18,7 +19,16 @@ public class MarkCommand extends Command {
      * @param index The zero-based index of the task to be marked as done.
      */
     public MarkCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
+    }
+
+    /**
+     * Constructs a MarkCommand for the task with a number or ID.
+     *
+     * @param target The task, by its number in the list or its ID.
+     */
+    public MarkCommand(TaskReference target) {
+        this.target = target;
     }
 
     /**
@@ -36,9 +46,7 @@ public class MarkCommand extends Command {
             throw new OracleException("OOPS! There are no tasks in the list yet. "
                                       + "Please add a task first before marking it as complete.");
         }
-        Task task = tasks.getTask(index);
-        task.markDone();
-        storage.save(tasks.getTasks());
+        Task task = mark(tasks, storage);
         ui.showMarkedTask(task);
     }
     /**
@@ -57,10 +65,16 @@ public class MarkCommand extends Command {
             throw new OracleException("\uD83C\uDF0C The cosmos is empty... You have no tasks in your list yet! "
                                       + "Please add a task first before marking it as complete.");
         }
-        Task task = tasks.getTask(index);
-        task.markDone();
-        storage.save(tasks.getTasks());
+        Task task = mark(tasks, storage);
         return "✨Task accomplished! Another star ignites in your constellation:\n" + task;
     }
 
+    private Task mark(TaskList tasks, Storage storage) throws OracleException {
+        int index = target.resolve(tasks);
+        boolean wasDone = tasks.getTask(index).isDone();
+        Task task = tasks.markTask(index);
+        storage.saveMarked(tasks, index, true);
+        recordChange(new Change("mark", task, Operation.mark(index, wasDone), Operation.mark(index, true)));
+        return task;
+    }
 }
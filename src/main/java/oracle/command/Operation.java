@@ -0,0 +1,85 @@
+package oracle.command;
+
+import java.time.LocalDateTime;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.task.Task;
+import oracle.task.TaskList;
+
+/**
+ * Represents a change to a single task that can be applied to a task list and persisted.
+ * Operations are used to undo and redo commands: each one touches only the task it concerns,
+ * and is persisted as a single change rather than by reloading or rewriting every task.
+ */
+@FunctionalInterface
+public interface Operation {
+    /**
+     * Applies the operation to the task list and persists it.
+     *
+     * @param tasks The task list to change.
+     * @param storage The storage component responsible for saving task data.
+     * @throws OracleException If the operation no longer fits the task list or cannot be saved.
+     */
+    void apply(TaskList tasks, Storage storage) throws OracleException;
+
+    /**
+     * Creates an operation that inserts a task at a position.
+     *
+     * @param index The zero-based index the task should have.
+     * @param task The task to insert.
+     * @return The operation.
+     */
+    static Operation insert(int index, Task task) {
+        return (tasks, storage) -> {
+            tasks.insertTask(index, task);
+            storage.saveInserted(tasks, index, task);
+        };
+    }
+
+    /**
+     * Creates an operation that deletes the task at a position.
+     *
+     * @param index The zero-based index of the task.
+     * @return The operation.
+     */
+    static Operation delete(int index) {
+        return (tasks, storage) -> {
+            tasks.deleteTask(index);
+            storage.saveDeleted(tasks, index);
+        };
+    }
+
+    /**
+     * Creates an operation that marks the task at a position as done or not done.
+     *
+     * @param index The zero-based index of the task.
+     * @param isDone Whether the task should be marked as done.
+     * @return The operation.
+     */
+    static Operation mark(int index, boolean isDone) {
+        return (tasks, storage) -> {
+            if (isDone) {
+                tasks.markTask(index);
+            } else {
+                tasks.unmarkTask(index);
+            }
+            storage.saveMarked(tasks, index, isDone);
+        };
+    }
+
+    /**
+     * Creates an operation that moves the deadline or event at a position to the given dates.
+     *
+     * @param index The zero-based index of the task.
+     * @param start The due date or start time.
+     * @param end The end time of an event; ignored for deadlines.
+     * @return The operation.
+     */
+    static Operation reschedule(int index, LocalDateTime start, LocalDateTime end) {
+        return (tasks, storage) -> {
+            tasks.rescheduleTask(index, start, end);
+            storage.saveRescheduled(tasks, index);
+        };
+    }
+}
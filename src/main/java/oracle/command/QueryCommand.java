@@ -0,0 +1,78 @@
+package oracle.command;
+
+import java.util.List;
+
+import oracle.common.Storage;
+import oracle.common.Ui;
+import oracle.task.Task;
+import oracle.task.TaskList;
+import oracle.task.TaskQuery;
+
+/**
+ * Represents a command to run a structured query over the task list, or to explain how it would be run.
+ */
+public class QueryCommand extends Command {
+    private final TaskQuery query;
+    private final boolean isExplain;
+
+    /**
+     * Constructs a QueryCommand.
+     *
+     * @param query The query to run.
+     * @param isExplain Whether to show the plan chosen for the query instead of running it.
+     */
+    public QueryCommand(TaskQuery query, boolean isExplain) {
+        this.query = query;
+        this.isExplain = isExplain;
+    }
+
+    /**
+     * Executes the command by displaying the matching tasks, or the plan for finding them.
+     *
+     * @param tasks   The task list to query.
+     * @param ui      The UI component to display results.
+     * @param storage The storage component (not used in this command).
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        if (isExplain) {
+            ui.showQueryPlan(tasks.planQuery(query));
+        } else {
+            ui.showQueryResults(tasks.query(query));
+        }
+    }
+
+    /**
+     * Executes the command for the GUI and returns the matching tasks, or the plan for finding them.
+     *
+     * @param tasks   The task list to query.
+     * @param ui      The UI component (not used in this implementation).
+     * @param storage The storage component (not used in this implementation).
+     * @return A numbered list of the matching tasks, a message if there are none, or the plan.
+     */
+    @Override
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) {
+        if (isExplain) {
+            return "🧭 Here is how I would chart this query:\n" + tasks.planQuery(query).describe();
+        }
+        List<Task> matchingTasks = tasks.query(query);
+        if (matchingTasks.isEmpty()) {
+            return "🌌 No tasks match your query.";
+        }
+        StringBuilder response = new StringBuilder("🔭 Here are the tasks that match your query:\n");
+        for (int i = 0; i < matchingTasks.size(); i++) {
+            response.append(i + 1).append(". ").append(matchingTasks.get(i)).append("\n");
+        }
+        return response.toString();
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package oracle.command;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.common.Ui;
+import oracle.task.TaskList;
+
+/**
+ * Represents a command that makes the most recently undone change again.
+ */
+public class RedoCommand extends Command {
+    private CommandHistory history;
+
+    /**
+     * Gives the command the history of changes to redo.
+     *
+     * @param history The history of changes made by earlier commands.
+     */
+    @Override
+    public void setHistory(CommandHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Executes the command by making the most recently undone change again and displaying it to the user.
+     *
+     * @param tasks   The task list to change.
+     * @param ui      The UI component to display feedback to the user.
+     * @param storage The storage component responsible for saving task data.
+     * @throws OracleException If there is nothing to redo or the change cannot be saved.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        ui.showRedoneChange(redo(tasks, storage));
+    }
+
+    /**
+     * Executes the command for the GUI by making the most recently undone change again.
+     *
+     * @param tasks   The task list to change.
+     * @param ui      The UI component (not used in this implementation).
+     * @param storage The storage component responsible for saving task data.
+     * @return A message describing the change that was redone.
+     * @throws OracleException If there is nothing to redo or the change cannot be saved.
+     */
+    @Override
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        Change change = redo(tasks, storage);
+        return "⏩ Fast-forwarding the stars… Redid " + change.getName() + ":\n" + change.getTask();
+    }
+
+    private Change redo(TaskList tasks, Storage storage) throws OracleException {
+        if (history == null) {
+            throw new OracleException("There is nothing to redo.");
+        }
+        return history.redo(tasks, storage);
+    }
+}
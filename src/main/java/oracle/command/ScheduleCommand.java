@@ -0,0 +1,96 @@
+package oracle.command;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.common.Ui;
+import oracle.task.Task;
+import oracle.task.TaskList;
+
+/**
+ * Represents a command to show the events and deadlines within a time range.
+ */
+public class ScheduleCommand extends Command {
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+    private final String from;
+    private final String to;
+
+    /**
+     * Constructs a ScheduleCommand for the given time range.
+     *
+     * @param from The start of the time range in d/M/yyyy HHmm format.
+     * @param to   The end of the time range in d/M/yyyy HHmm format.
+     */
+    public ScheduleCommand(String from, String to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command by displaying the events overlapping the time range
+     * and the deadlines due within it.
+     *
+     * @param tasks   The task list to search.
+     * @param ui      The UI component to display results.
+     * @param storage The storage component (not used in this command).
+     * @throws OracleException If the dates are invalid.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        ui.showScheduledTasks(findScheduledTasks(tasks));
+    }
+
+    /**
+     * Executes the command for the GUI and returns the events and deadlines within the time range.
+     *
+     * @param tasks   The task list to search.
+     * @param ui      The UI component (not used in this implementation).
+     * @param storage The storage component (not used in this implementation).
+     * @return A numbered list of the scheduled tasks, or a message if there are none.
+     * @throws OracleException If the dates are invalid.
+     */
+    @Override
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        List<Task> scheduledTasks = findScheduledTasks(tasks);
+        if (scheduledTasks.isEmpty()) {
+            return "🌌 Clear skies… Nothing is scheduled in that period.";
+        }
+        StringBuilder response = new StringBuilder(
+                "📅 Charting the heavens… Here is what is scheduled in that period:\n");
+        for (int i = 0; i < scheduledTasks.size(); i++) {
+            response.append((i + 1)).append(". ").append(scheduledTasks.get(i)).append("\n");
+        }
+        return response.toString();
+    }
+
+    private List<Task> findScheduledTasks(TaskList tasks) throws OracleException {
+        LocalDateTime start = parseDateTime(from);
+        LocalDateTime end = parseDateTime(to);
+        if (end.isBefore(start)) {
+            throw new OracleException("The end of the period cannot be before its start.");
+        }
+        return tasks.findScheduledTasks(start, end);
+    }
+
+    private LocalDateTime parseDateTime(String dateTime) throws OracleException {
+        try {
+            return LocalDateTime.parse(dateTime, INPUT_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new OracleException("Invalid date format. Use d/M/yyyy HHmm.");
+        }
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -11,13 +11,14 @@ import oracle.task.Deadline;
 import oracle.task.Event;
 import oracle.task.Task;
 import oracle.task.TaskList;
+import oracle.task.TaskReference;
 
 /**
  * Represents a command to snooze (postpone) a task.
  */
 public class SnoozeCommand extends Command {
     private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-    private final int index;
+    private final TaskReference target;
     private final String newDateTime;
 
     /**
@@ -27,7 +28,17 @@ public class SnoozeCommand extends Command {
      * @param newDateTime  The new due date or event time in d/M/yyyy HHmm format.
      */
     public SnoozeCommand(int index, String newDateTime) {
-        this.index = index;
+        this(TaskReference.ofIndex(index), newDateTime);
+    }
+
+    /**
+     * Constructs a SnoozeCommand for the task with a number or ID.
+     *
+     * @param target       The task to be rescheduled, by its number in the list or its ID.
+     * @param newDateTime  The new due date or event time in d/M/yyyy HHmm format.
+     */
+    public SnoozeCommand(TaskReference target, String newDateTime) {
+        this.target = target;
         this.newDateTime = newDateTime;
     }
 
@@ -45,30 +56,17 @@ public class SnoozeCommand extends Command {
             throw new OracleException("OOPS! There are no tasks in the list yet. "
                                       + "Please add a deadline or event before trying to snooze.");
         }
+        int index = target.resolve(tasks);
         if (index < 0 || index >= tasks.size()) {
             throw new OracleException("That task isn’t in our star system! Please enter a number between 1 and "
                                       + tasks.size());
         }
-        Task task = tasks.getTask(index);
         LocalDateTime newDateTime = parseNewDateTime();
-
-        if (task instanceof Deadline deadline) {
-            deadline.reschedule(newDateTime);
-            ui.showSnoozedTask(task);
-        } else if (task instanceof Event) {
-            Event event = (Event) task;
-            LocalDateTime oldFrom = event.getStartDateTime();
-            LocalDateTime oldTo = event.getEndDateTime();
-
-            long durationMinutes = java.time.Duration.between(oldFrom, oldTo).toMinutes();
-
-            LocalDateTime newTo = newDateTime.plusMinutes(durationMinutes);
-            event.reschedule(newDateTime, newTo);
-            ui.showSnoozedTask(event);
-        } else {
-            throw new OracleException("Only deadlines and events can be snoozed.");
-        }
-        storage.save(tasks.getTasks());
+        Operation undo = rescheduleBack(index, tasks.getTask(index));
+        Task task = tasks.snoozeTask(index, newDateTime);
+        ui.showSnoozedTask(task);
+        storage.saveRescheduled(tasks, index);
+        recordChange(new Change("snooze", task, undo, rescheduleBack(index, task)));
     }
 
 
@@ -78,11 +76,24 @@ public class SnoozeCommand extends Command {
             throw new OracleException("\uD83C\uDF0C The cosmos is empty... You have no tasks in your list yet! "
                                       + "Please add a deadline or event before trying to snooze.");
         }
+        int index = target.resolve(tasks);
         execute(tasks, ui, storage);
         return "\uD83D\uDEF0\uFE0F Adjusting orbital trajectory… Your task has been rescheduled:\n"
                + tasks.getTask(index);
     }
 
+    /**
+     * Creates an operation that moves the task back to its current dates.
+     */
+    private Operation rescheduleBack(int index, Task task) throws OracleException {
+        if (task instanceof Deadline deadline) {
+            return Operation.reschedule(index, deadline.getDateTime(), deadline.getDateTime());
+        } else if (task instanceof Event event) {
+            return Operation.reschedule(index, event.getStartDateTime(), event.getEndDateTime());
+        }
+        throw new OracleException("Only deadlines and events can be snoozed.");
+    }
+
     private LocalDateTime parseNewDateTime() throws OracleException {
         try {
             return LocalDateTime.parse(newDateTime, INPUT_FORMATTER);
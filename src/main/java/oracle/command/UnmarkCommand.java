@@ -5,12 +5,13 @@ import oracle.common.Storage;
 import oracle.common.Ui;
 import oracle.task.Task;
 import oracle.task.TaskList;
+import oracle.task.TaskReference;
 
 /**
  * Represents a command to unmark a task as incomplete in the task list.
  */
 public class UnmarkCommand extends Command {
-    private final int index;
+    private final TaskReference target;
 
     /**
      * Constructs an UnmarkCommand with the specified task index.
@@ -18,7 +19,16 @@ public class UnmarkCommand extends Command {
      * @param index The zero-based index of the task to be marked as not done.
      */
     public UnmarkCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
+    }
+
+    /**
+     * Constructs a UnmarkCommand for the task with a number or ID.
+     *
+     * @param target The task, by its number in the list or its ID.
+     */
+    public UnmarkCommand(TaskReference target) {
+        this.target = target;
     }
 
     /**
@@ -36,9 +46,7 @@ public class UnmarkCommand extends Command {
             throw new OracleException("OOPS! There are no tasks in the list yet. "
                                       + "Please add a task first before marking it as incomplete.");
         }
-        Task task = tasks.getTask(index);
-        task.markUndone();
-        storage.save(tasks.getTasks());
+        Task task = unmark(tasks, storage);
         ui.showUnmarkedTask(task);
     }
     /**
@@ -57,10 +65,16 @@ public class UnmarkCommand extends Command {
             throw new OracleException("\uD83C\uDF0C The cosmos is empty... You have no tasks in your list yet! "
                                       + "Please add a task first before marking it as incomplete.");
         }
-        Task task = tasks.getTask(index);
-        task.markUndone();
-        storage.save(tasks.getTasks());
+        Task task = unmark(tasks, storage);
         return "\uD83D\uDD04 The task is undone, drifting once more in the cosmic expanse:\n" + task;
     }
 
+    private Task unmark(TaskList tasks, Storage storage) throws OracleException {
+        int index = target.resolve(tasks);
+        boolean wasDone = tasks.getTask(index).isDone();
+        Task task = tasks.unmarkTask(index);
+        storage.saveMarked(tasks, index, false);
+        recordChange(new Change("unmark", task, Operation.mark(index, wasDone), Operation.mark(index, false)));
+        return task;
+    }
 }
@@ -0,0 +1,81 @@
+package oracle.command;
+
+import java.util.List;
+
+import oracle.common.OracleException;
+import oracle.common.Storage;
+import oracle.common.Ui;
+import oracle.task.Task;
+import oracle.task.TaskList;
+
+/**
+ * Represents a command to show the deadlines and events that are not done yet and fall due first.
+ */
+public class UpcomingCommand extends Command {
+    /** Number of tasks shown when no count is given. */
+    public static final int DEFAULT_COUNT = 5;
+
+    private final int count;
+
+    /**
+     * Constructs an UpcomingCommand showing the given number of tasks.
+     *
+     * @param count The maximum number of tasks to show.
+     */
+    public UpcomingCommand(int count) {
+        this.count = count;
+    }
+
+    /**
+     * Executes the command by displaying the upcoming deadlines and events.
+     *
+     * @param tasks   The task list to search.
+     * @param ui      The UI component to display results.
+     * @param storage The storage component (not used in this command).
+     * @throws OracleException If the count is not positive.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        ui.showUpcomingTasks(getUpcomingTasks(tasks));
+    }
+
+    /**
+     * Executes the command for the GUI and returns the upcoming deadlines and events.
+     *
+     * @param tasks   The task list to search.
+     * @param ui      The UI component (not used in this implementation).
+     * @param storage The storage component (not used in this implementation).
+     * @return A numbered list of the upcoming tasks, or a message if there are none.
+     * @throws OracleException If the count is not positive.
+     */
+    @Override
+    public String executeForGui(TaskList tasks, Ui ui, Storage storage) throws OracleException {
+        List<Task> upcomingTasks = getUpcomingTasks(tasks);
+        if (upcomingTasks.isEmpty()) {
+            return "🌌 Clear skies… You have no pending deadlines or events.";
+        }
+        StringBuilder response = new StringBuilder(
+                "☄️ Incoming! Here is what is coming up next:\n");
+        for (int i = 0; i < upcomingTasks.size(); i++) {
+            response.append((i + 1)).append(". ").append(upcomingTasks.get(i)).append("\n");
+        }
+        return response.toString();
+    }
+
+    private List<Task> getUpcomingTasks(TaskList tasks) throws OracleException {
+        if (count <= 0) {
+            throw new OracleException("Please enter a positive number of tasks to show.");
+        }
+        return tasks.getUpcomingTasks(count);
+    }
+
+    /**
+     * Indicates that this command only reads tasks.
+     *
+     * @return {@code true}, as this command does not change tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
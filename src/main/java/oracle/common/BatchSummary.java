@@ -0,0 +1,112 @@
+package oracle.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of running a batch of commands: how many commands ran, which of them
+ * failed and how long the batch took. Only the first few failures are kept, so that a file with
+ * many bad lines does not fill up memory with error messages.
+ */
+public class BatchSummary {
+    /** Maximum number of failure messages kept for the summary. */
+    public static final int MAX_REPORTED_FAILURES = 20;
+
+    private final List<String> failures = new ArrayList<>();
+    private int commandCount;
+    private int failureCount;
+    private int commitCount;
+    private long elapsedNanos;
+
+    /**
+     * Records a command that ran successfully.
+     */
+    public void addSuccess() {
+        commandCount++;
+    }
+
+    /**
+     * Records a command that failed.
+     *
+     * @param lineNumber The line of the batch file holding the command.
+     * @param message The reason the command failed.
+     */
+    public void addFailure(long lineNumber, String message) {
+        commandCount++;
+        failureCount++;
+        if (failures.size() < MAX_REPORTED_FAILURES) {
+            failures.add("Line " + lineNumber + ": " + message);
+        }
+    }
+
+    /**
+     * Records that the changes made so far were written to storage.
+     */
+    public void addCommit() {
+        commitCount++;
+    }
+
+    /**
+     * Records how long the batch took to run.
+     *
+     * @param elapsedNanos The running time in nanoseconds.
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Retrieves the number of commands run, including the ones that failed.
+     *
+     * @return The number of commands.
+     */
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Retrieves the number of commands that failed.
+     *
+     * @return The number of failed commands.
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Retrieves the number of times changes were written to storage.
+     *
+     * @return The number of commits.
+     */
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Retrieves the messages of the first failed commands, each prefixed with its line number.
+     *
+     * @return Up to {@link #MAX_REPORTED_FAILURES} failure messages.
+     */
+    public List<String> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Retrieves the running time of the batch.
+     *
+     * @return The running time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Retrieves the number of commands run per second.
+     *
+     * @return The throughput of the batch.
+     */
+    public double getCommandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commandCount * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,291 @@
+package oracle.common;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import oracle.task.Deadline;
+import oracle.task.Event;
+import oracle.task.Task;
+import oracle.task.Todo;
+
+/**
+ * Reads and writes tasks in a compact binary format that is decoded in a single streaming pass.
+ * The file starts with a magic number, a version byte, the journal sequence number and the ID for
+ * the next new task, followed by one record per task: a type byte, a flags byte, the task ID, the dates
+ * as epoch minutes and the length-prefixed UTF-8 description. Files of version 1, which have no IDs,
+ * are still read.
+ */
+class BinaryTaskCodec implements TaskCodec {
+    static final int MAGIC = 0x4F524342;
+    static final byte VERSION = 2;
+    static final byte VERSION_WITHOUT_IDS = 1;
+    /** Size of the part of the header that all versions share, up to the journal sequence number. */
+    static final int MIN_HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final byte DONE_FLAG = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Override
+    public Header read(Path path, List<Task> tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ChannelReader reader = new ChannelReader(channel);
+            if (!reader.require(MIN_HEADER_SIZE)) {
+                return Header.EMPTY;
+            }
+            ByteBuffer buffer = reader.buffer;
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary task file: " + path);
+            }
+            byte version = buffer.get();
+            if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+                throw new IOException("Unsupported binary task file version: " + version);
+            }
+            long sequence = buffer.getLong();
+            long nextId = 0;
+            if (version == VERSION) {
+                if (!reader.require(Long.BYTES)) {
+                    return new Header(sequence, 0);
+                }
+                nextId = buffer.getLong();
+            }
+            while (reader.require(2 * Byte.BYTES)) {
+                if (!readTask(reader, version, tasks)) {
+                    System.err.println("Skipping corrupted entries at the end of " + path);
+                    break;
+                }
+            }
+            return new Header(sequence, nextId);
+        }
+    }
+
+    /**
+     * Decodes a single record and adds the task it describes to the list.
+     *
+     * @param reader The reader positioned at the start of a record.
+     * @param version The version of the file.
+     * @param tasks The list the decoded task is added to.
+     * @return {@code false} if the record is truncated or malformed, otherwise {@code true}.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    private boolean readTask(ChannelReader reader, byte version, List<Task> tasks) throws IOException {
+        byte type = reader.buffer.get();
+        byte flags = reader.buffer.get();
+        int dateCount = dateCount(type);
+        if (type < TODO || type > EVENT
+                || !reader.require(idSize(version) + dateCount * Long.BYTES + Integer.BYTES)) {
+            return false;
+        }
+        long id = version == VERSION ? reader.buffer.getLong() : 0;
+        LocalDateTime first = dateCount > 0 ? fromEpochMinute(reader.buffer.getLong()) : null;
+        LocalDateTime second = dateCount > 1 ? fromEpochMinute(reader.buffer.getLong()) : null;
+        int length = reader.buffer.getInt();
+        if (length < 0 || !reader.require(length)) {
+            return false;
+        }
+        byte[] bytes = new byte[length];
+        reader.buffer.get(bytes);
+        String description = new String(bytes, StandardCharsets.UTF_8);
+
+        try {
+            tasks.add(createTask(type, flags, id, first, second, description));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Skipping corrupted entry: " + description);
+        }
+        return true;
+    }
+
+    /**
+     * Computes the size of the record starting at the given offset without decoding it.
+     *
+     * @param buffer The buffer holding the file contents.
+     * @param offset The offset of the record.
+     * @param version The version of the file.
+     * @return The size of the record in bytes, or -1 if the record is truncated or malformed.
+     */
+    static int recordSize(ByteBuffer buffer, int offset, byte version) {
+        int limit = buffer.limit();
+        if (limit - offset < 2 * Byte.BYTES) {
+            return -1;
+        }
+        byte type = buffer.get(offset);
+        if (type < TODO || type > EVENT) {
+            return -1;
+        }
+        int lengthOffset = offset + 2 * Byte.BYTES + idSize(version) + dateCount(type) * Long.BYTES;
+        if (limit - lengthOffset < Integer.BYTES) {
+            return -1;
+        }
+        int length = buffer.getInt(lengthOffset);
+        if (length < 0 || limit - lengthOffset - Integer.BYTES < length) {
+            return -1;
+        }
+        return lengthOffset + Integer.BYTES + length - offset;
+    }
+
+    /**
+     * Decodes the record starting at the given offset, which must have been validated by
+     * {@link #recordSize(ByteBuffer, int, byte)}. The position of the buffer is not changed.
+     *
+     * @param buffer The buffer holding the file contents.
+     * @param offset The offset of the record.
+     * @param version The version of the file.
+     * @return The decoded task.
+     */
+    static Task decodeRecord(ByteBuffer buffer, int offset, byte version) {
+        byte type = buffer.get(offset);
+        byte flags = buffer.get(offset + 1);
+        int position = offset + 2 * Byte.BYTES;
+        long id = 0;
+        if (version == VERSION) {
+            id = buffer.getLong(position);
+            position += Long.BYTES;
+        }
+        LocalDateTime first = null;
+        LocalDateTime second = null;
+        if (dateCount(type) > 0) {
+            first = fromEpochMinute(buffer.getLong(position));
+            position += Long.BYTES;
+        }
+        if (dateCount(type) > 1) {
+            second = fromEpochMinute(buffer.getLong(position));
+            position += Long.BYTES;
+        }
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return createTask(type, flags, id, first, second, new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retrieves the size of the header of a file.
+     *
+     * @param version The version of the file.
+     * @return The size of the header in bytes.
+     */
+    static int headerSize(byte version) {
+        return MIN_HEADER_SIZE + idSize(version);
+    }
+
+    private static int idSize(byte version) {
+        return version == VERSION ? Long.BYTES : 0;
+    }
+
+    private static int dateCount(byte type) {
+        return type == DEADLINE ? 1 : type == EVENT ? 2 : 0;
+    }
+
+    private static Task createTask(byte type, byte flags, long id, LocalDateTime first, LocalDateTime second,
+            String description) {
+        Task task;
+        switch (type) {
+        case DEADLINE -> task = new Deadline(description, first);
+        case EVENT -> task = new Event(description, first, second);
+        default -> task = new Todo(description);
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markDone();
+        }
+        if (id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    @Override
+    public void write(List<Task> tasks, long sequence, long nextId, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(Math.max(sequence, 0));
+        out.writeLong(nextId);
+        for (Task task : tasks) {
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            switch (task.getType()) {
+            case DEADLINE -> {
+                out.writeByte(DEADLINE);
+                out.writeByte(task.isDone() ? DONE_FLAG : 0);
+                out.writeLong(task.getId());
+                out.writeLong(toEpochMinute(((Deadline) task).getDateTime()));
+            }
+            case EVENT -> {
+                Event event = (Event) task;
+                out.writeByte(EVENT);
+                out.writeByte(task.isDone() ? DONE_FLAG : 0);
+                out.writeLong(task.getId());
+                out.writeLong(toEpochMinute(event.getStartDateTime()));
+                out.writeLong(toEpochMinute(event.getEndDateTime()));
+            }
+            default -> {
+                out.writeByte(TODO);
+                out.writeByte(task.isDone() ? DONE_FLAG : 0);
+                out.writeLong(task.getId());
+            }
+            }
+            out.writeInt(description.length);
+            out.write(description);
+        }
+        out.flush();
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Represents a buffered reader over a file channel that refills its buffer on demand.
+     */
+    private static class ChannelReader {
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+
+        ChannelReader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            this.buffer.flip();
+        }
+
+        /**
+         * Ensures that at least the given number of bytes can be read from the buffer.
+         *
+         * @param needed The number of bytes needed.
+         * @return {@code false} if the end of the file is reached first, otherwise {@code true}.
+         * @throws IOException If an error occurs while reading the file.
+         */
+        boolean require(int needed) throws IOException {
+            if (buffer.remaining() >= needed) {
+                return true;
+            }
+            if (needed > buffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocateDirect(needed);
+                larger.put(buffer);
+                buffer = larger;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < needed) {
+                if (channel.read(buffer) < 0) {
+                    buffer.flip();
+                    return false;
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+    }
+}
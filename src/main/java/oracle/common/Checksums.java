@@ -0,0 +1,68 @@
+package oracle.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Computes and formats the CRC-32C checksums that guard each record in the task file and the journal,
+ * so that records damaged on disk or cut short by a crash are detected when they are read back.
+ */
+final class Checksums {
+    /** Number of hexadecimal digits in a formatted checksum. */
+    static final int HEX_LENGTH = 8;
+
+    private Checksums() {
+    }
+
+    /**
+     * Computes the checksum of part of a byte array.
+     *
+     * @param bytes The bytes to check.
+     * @param offset The index of the first byte.
+     * @param length The number of bytes.
+     * @return The checksum.
+     */
+    static int of(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Computes the checksum of the UTF-8 encoding of a string.
+     *
+     * @param text The text to check.
+     * @return The checksum.
+     */
+    static int of(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return of(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Appends a checksum as eight hexadecimal digits.
+     *
+     * @param text The builder to append to.
+     * @param checksum The checksum.
+     */
+    static void append(StringBuilder text, int checksum) {
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            text.append(Character.forDigit((checksum >>> shift) & 0xF, 16));
+        }
+    }
+
+    /**
+     * Reads a checksum written by {@link #append}.
+     *
+     * @param text The text holding the checksum.
+     * @param start The index of the first digit.
+     * @return The checksum.
+     * @throws NumberFormatException If the text does not hold eight hexadecimal digits at that index.
+     */
+    static int parse(CharSequence text, int start) {
+        if (text.length() < start + HEX_LENGTH) {
+            throw new NumberFormatException("Checksum is cut short");
+        }
+        return Integer.parseUnsignedInt(text, start, start + HEX_LENGTH, 16);
+    }
+}
@@ -0,0 +1,290 @@
+package oracle.common;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an append-only log of task list mutations kept next to the snapshot file.
+ * Every record carries a sequence number so that records already folded into a snapshot
+ * are skipped on replay, which keeps replay correct even if a compaction is interrupted.
+ * Appended records are buffered until {@link #flush()} or {@link #sync()} is called.
+ * Each record starts with its checksum, e.g. {@code #1c291ca3 12 | D | 3}, so that a record that was
+ * only partly written before a crash is detected. Records refer to tasks by position, so none of the
+ * records after a damaged one can be applied either: the journal is cut off before the damaged record,
+ * after keeping a {@code .corrupt} copy, so that new records follow straight on from the intact ones.
+ */
+class Journal {
+    static final String ADD = "A";
+    static final String INSERT = "I";
+    static final String DELETE = "D";
+    static final String MARK = "M";
+    static final String UNMARK = "U";
+    static final String RESCHEDULE = "S";
+
+    private static final String CHECKSUM_MARKER = "#";
+
+    private final Path journalPath;
+    private final Path rotatedPath;
+    private final List<Path> recordPaths = new ArrayList<>();
+    private final List<Long> recordStarts = new ArrayList<>();
+    private FileOutputStream output;
+    private BufferedWriter writer;
+    private long sequence;
+    private int recordCount;
+
+    /**
+     * Constructs a Journal stored alongside the given snapshot file.
+     *
+     * @param snapshotPath The path of the snapshot file the journal belongs to.
+     */
+    Journal(Path snapshotPath) {
+        this.journalPath = Paths.get(snapshotPath + ".journal");
+        this.rotatedPath = Paths.get(snapshotPath + ".journal.old");
+    }
+
+    /**
+     * Reads the journal records in the order they were written, including those of a rotated
+     * journal left behind by an unfinished compaction. Reading stops at the first record whose
+     * checksum does not match, such as a record cut short by a crash, and the journal is cut off there.
+     *
+     * @return The raw journal records up to the first damaged one.
+     * @throws IOException If an error occurs while reading or cutting off the journal files.
+     */
+    List<String> readRecords() throws IOException {
+        List<String> records = new ArrayList<>();
+        recordPaths.clear();
+        recordStarts.clear();
+        boolean isIntact = !Files.exists(rotatedPath) || readRecords(rotatedPath, records);
+        if (isIntact && Files.exists(journalPath)) {
+            isIntact = readRecords(journalPath, records);
+        }
+        if (!isIntact) {
+            discardFrom(records.size());
+        }
+        return records;
+    }
+
+    /**
+     * Reads the records of a journal file up to the first damaged one, noting where each record starts.
+     * Records without a checksum are from earlier versions.
+     *
+     * @return {@code true} if every record in the file is intact, otherwise {@code false}.
+     */
+    private boolean readRecords(Path path, List<String> records) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            int lineEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+            String line = new String(bytes, start, lineEnd - start, StandardCharsets.UTF_8);
+            if (!line.isEmpty()) {
+                String record = readRecord(line);
+                if (record == null) {
+                    System.err.println("Stopping at corrupted journal entry: " + line);
+                    recordPaths.add(path);
+                    recordStarts.add((long) start);
+                    return false;
+                }
+                records.add(record);
+                recordPaths.add(path);
+                recordStarts.add((long) start);
+            }
+            start = end + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the checksum of a journal line.
+     *
+     * @return The record without its checksum, or {@code null} if the checksum does not match.
+     */
+    private static String readRecord(String line) {
+        if (!line.startsWith(CHECKSUM_MARKER)) {
+            return line;
+        }
+        int recordStart = CHECKSUM_MARKER.length() + Checksums.HEX_LENGTH + 1;
+        try {
+            String record = line.substring(recordStart);
+            return Checksums.parse(line, CHECKSUM_MARKER.length()) == Checksums.of(record) ? record : null;
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cuts the journal off before a record read by {@link #readRecords()}, e.g. one that is damaged or
+     * cannot be applied, so that new records are appended straight after the ones before it. Since the
+     * records after it cannot be applied either, they are dropped as well; the files are kept as
+     * {@code .corrupt} copies first.
+     *
+     * @param recordIndex The index of the first record to drop.
+     * @throws IOException If an error occurs while copying or cutting off the journal files.
+     */
+    synchronized void discardFrom(int recordIndex) throws IOException {
+        if (recordIndex >= recordStarts.size()) {
+            return;
+        }
+        close();
+        Path damagedPath = recordPaths.get(recordIndex);
+        keepCopy(damagedPath);
+        try (FileChannel channel = FileChannel.open(damagedPath, StandardOpenOption.WRITE)) {
+            channel.truncate(recordStarts.get(recordIndex));
+        }
+        if (damagedPath.equals(rotatedPath) && Files.exists(journalPath)) {
+            keepCopy(journalPath);
+            Files.delete(journalPath);
+        }
+        recordPaths.subList(recordIndex, recordPaths.size()).clear();
+        recordStarts.subList(recordIndex, recordStarts.size()).clear();
+    }
+
+    private static void keepCopy(Path path) throws IOException {
+        Path copy = Paths.get(path + ".corrupt");
+        Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+        System.err.println("Dropped the damaged end of " + path + "; the original was kept as " + copy);
+    }
+
+    /**
+     * Resumes appending after the records that were replayed on load.
+     *
+     * @param lastSequence The highest sequence number seen in the snapshot or the journal.
+     * @param pendingRecords The number of records not yet folded into the snapshot.
+     */
+    void resume(long lastSequence, int pendingRecords) {
+        this.sequence = lastSequence;
+        this.recordCount = pendingRecords;
+    }
+
+    /**
+     * Appends a single record to the journal.
+     *
+     * @param operation The operation code of the record.
+     * @param payload The operation-specific payload.
+     * @throws IOException If an error occurs while writing the record.
+     */
+    synchronized void append(String operation, String payload) throws IOException {
+        if (writer == null) {
+            output = new FileOutputStream(journalPath.toFile(), true);
+            writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        }
+        sequence++;
+        String record = sequence + " | " + operation + " | " + payload;
+        StringBuilder line = new StringBuilder(record.length() + Checksums.HEX_LENGTH + 2).append(CHECKSUM_MARKER);
+        Checksums.append(line, Checksums.of(record));
+        writer.append(line.append(' ').append(record));
+        writer.newLine();
+        recordCount++;
+    }
+
+    /**
+     * Hands buffered records over to the operating system.
+     *
+     * @throws IOException If an error occurs while writing the records.
+     */
+    synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes buffered records and forces them to the storage device.
+     *
+     * @throws IOException If an error occurs while writing the records.
+     */
+    synchronized void sync() throws IOException {
+        if (writer != null) {
+            writer.flush();
+            output.getFD().sync();
+        }
+    }
+
+    /**
+     * Moves the current journal aside so that new records start a fresh file while the
+     * rotated one is being compacted. If a rotated journal is still there because an earlier
+     * compaction failed, the current records are appended to it, since its records are not yet
+     * covered by a snapshot either.
+     *
+     * @throws IOException If an error occurs while closing or moving the journal.
+     */
+    synchronized void rotate() throws IOException {
+        close();
+        if (Files.exists(journalPath)) {
+            if (Files.exists(rotatedPath)) {
+                try (OutputStream rotated = Files.newOutputStream(rotatedPath, StandardOpenOption.APPEND)) {
+                    Files.copy(journalPath, rotated);
+                }
+                Files.delete(journalPath);
+            } else {
+                Files.move(journalPath, rotatedPath);
+            }
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Deletes the rotated journal once its records are covered by a snapshot.
+     *
+     * @throws IOException If an error occurs while deleting the file.
+     */
+    void discardRotated() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+    }
+
+    /**
+     * Closes the journal and deletes its files once their records are no longer needed.
+     *
+     * @throws IOException If an error occurs while deleting the files.
+     */
+    synchronized void delete() throws IOException {
+        close();
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(rotatedPath);
+    }
+
+    /**
+     * Checks whether a rotated journal is still waiting to be discarded.
+     *
+     * @return {@code true} if a rotated journal exists, otherwise {@code false}.
+     */
+    boolean hasRotated() {
+        return Files.exists(rotatedPath);
+    }
+
+    synchronized long getSequence() {
+        return sequence;
+    }
+
+    synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Closes the journal writer, if one is open.
+     *
+     * @throws IOException If an error occurs while closing the writer.
+     */
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            output = null;
+        }
+    }
+}
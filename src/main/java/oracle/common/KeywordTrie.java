@@ -0,0 +1,106 @@
+package oracle.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a trie of command keywords made of the letters a to z, used to look up the first
+ * word of a command without creating a string for it. Besides whole keywords, a word may be any
+ * prefix that only one value's keywords start with, e.g. {@code dea} for {@code deadline}.
+ *
+ * @param <T> The type of value a keyword stands for.
+ */
+class KeywordTrie<T> {
+    private static final int ALPHABET_SIZE = 26;
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Represents a node reached by a prefix of one or more keywords.
+     */
+    private static class Node<T> {
+        @SuppressWarnings("unchecked")
+        private final Node<T>[] children = (Node<T>[]) new Node<?>[ALPHABET_SIZE];
+        private String keyword;
+        private T exactValue;
+        private T prefixValue;
+        private boolean isAmbiguous;
+    }
+
+    /**
+     * Adds a keyword, or an alias if another keyword already stands for the same value.
+     *
+     * @param keyword The keyword, in lower case letters.
+     * @param value The value the keyword stands for.
+     */
+    void put(String keyword, T value) {
+        Node<T> node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            int letter = keyword.charAt(i) - 'a';
+            assert letter >= 0 && letter < ALPHABET_SIZE : "Keywords should only contain lower case letters";
+            if (node.children[letter] == null) {
+                node.children[letter] = new Node<>();
+            }
+            node = node.children[letter];
+            if (node.prefixValue == null && !node.isAmbiguous) {
+                node.prefixValue = value;
+            } else if (node.prefixValue != value) {
+                node.prefixValue = null;
+                node.isAmbiguous = true;
+            }
+        }
+        node.keyword = keyword;
+        node.exactValue = value;
+    }
+
+    /**
+     * Looks up a word that is part of a longer text.
+     *
+     * @param text The text containing the word.
+     * @param start The index of the first character of the word.
+     * @param end The index after the last character of the word.
+     * @return The value of the keyword the word matches or is an unambiguous prefix of, otherwise {@code null}.
+     */
+    T get(CharSequence text, int start, int end) {
+        Node<T> node = find(text, start, end);
+        if (node == null) {
+            return null;
+        }
+        return node.exactValue != null ? node.exactValue : node.prefixValue;
+    }
+
+    /**
+     * Retrieves the keywords that start with a word that is part of a longer text.
+     *
+     * @param text The text containing the word.
+     * @param start The index of the first character of the word.
+     * @param end The index after the last character of the word.
+     * @return The matching keywords in alphabetical order.
+     */
+    List<String> getMatches(CharSequence text, int start, int end) {
+        List<String> matches = new ArrayList<>();
+        collect(find(text, start, end), matches);
+        return matches;
+    }
+
+    private Node<T> find(CharSequence text, int start, int end) {
+        Node<T> node = root;
+        for (int i = start; i < end && node != null; i++) {
+            int letter = text.charAt(i) - 'a';
+            node = letter >= 0 && letter < ALPHABET_SIZE ? node.children[letter] : null;
+        }
+        return node == root ? null : node;
+    }
+
+    private void collect(Node<T> node, List<String> keywords) {
+        if (node == null) {
+            return;
+        }
+        if (node.keyword != null) {
+            keywords.add(node.keyword);
+        }
+        for (Node<T> child : node.children) {
+            collect(child, keywords);
+        }
+    }
+}
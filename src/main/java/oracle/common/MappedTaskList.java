@@ -0,0 +1,357 @@
+package oracle.common;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import oracle.task.Task;
+
+/**
+ * Represents a list of tasks backed by a memory-mapped binary task file.
+ * Only the file offset of each task is kept on the heap; tasks are decoded when accessed.
+ * Tasks that are added or replaced through {@link #set(int, Task)} are held as objects, in slots that
+ * are reused once their task is removed, and a decoded task is reused for as long as anything else
+ * still refers to it, so the same task is never seen as two different objects.
+ * Some platforms, such as Windows, do not allow replacing a mapped file, so before a save replaces
+ * the file, the list moves onto the encoded contents of the new file and releases its mapping; once
+ * the new file is in place, it is mapped again. Several threads may read the list at the same time,
+ * but changes, including moving to a new file, must not overlap with other calls.
+ */
+public class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ByteBuffer buffer;
+    private byte version;
+    private final long sequence;
+    private final long nextId;
+    private final List<Task> heldTasks = new ArrayList<>();
+    private final Map<Integer, DecodedTask> decodedTasks = new HashMap<>();
+    private final ReferenceQueue<Task> clearedTasks = new ReferenceQueue<>();
+    private int[] slots;
+    private int size;
+    private int[] freeHeldSlots = new int[INITIAL_CAPACITY];
+    private int freeHeldCount;
+
+    /**
+     * Represents a weakly held task decoded from the record at a file offset.
+     */
+    private static class DecodedTask extends WeakReference<Task> {
+        private final int offset;
+
+        DecodedTask(Task task, int offset, ReferenceQueue<Task> queue) {
+            super(task, queue);
+            this.offset = offset;
+        }
+    }
+
+    private MappedTaskList(ByteBuffer buffer, byte version, long sequence, long nextId, int[] slots, int size) {
+        this.buffer = buffer;
+        this.version = version;
+        this.sequence = sequence;
+        this.nextId = nextId;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Maps a binary task file and indexes the offsets of its records without decoding them.
+     *
+     * @param path The binary task file.
+     * @return The list of tasks stored in the file.
+     * @throws IOException If the file cannot be mapped or is not a binary task file.
+     */
+    static MappedTaskList open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < BinaryTaskCodec.MIN_HEADER_SIZE) {
+                return new MappedTaskList(ByteBuffer.allocate(0), BinaryTaskCodec.VERSION, 0, 0,
+                        new int[INITIAL_CAPACITY], 0);
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Task file is too large to be mapped: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            byte version = buffer.get(Integer.BYTES);
+            boolean isKnownVersion = version == BinaryTaskCodec.VERSION
+                    || version == BinaryTaskCodec.VERSION_WITHOUT_IDS;
+            if (buffer.getInt(0) != BinaryTaskCodec.MAGIC || !isKnownVersion
+                    || fileSize < BinaryTaskCodec.headerSize(version)) {
+                throw new IOException("Not a binary task file: " + path);
+            }
+            long sequence = buffer.getLong(Integer.BYTES + Byte.BYTES);
+            long nextId = version == BinaryTaskCodec.VERSION ? buffer.getLong(BinaryTaskCodec.MIN_HEADER_SIZE) : 0;
+            int[] offsets = indexRecords(buffer, version, path);
+            int[] slots = Arrays.copyOf(offsets, Math.max(offsets.length, INITIAL_CAPACITY));
+            return new MappedTaskList(buffer, version, sequence, nextId, slots, offsets.length);
+        }
+    }
+
+    /**
+     * Finds the offsets of the records in a buffer holding a binary task file, up to the first damaged record.
+     */
+    private static int[] indexRecords(ByteBuffer buffer, byte version, Path path) {
+        int[] offsets = new int[INITIAL_CAPACITY];
+        int count = 0;
+        int offset = BinaryTaskCodec.headerSize(version);
+        while (offset < buffer.limit()) {
+            int recordSize = BinaryTaskCodec.recordSize(buffer, offset, version);
+            if (recordSize < 0) {
+                System.err.println("Skipping corrupted entries at the end of " + path);
+                break;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = offset;
+            offset += recordSize;
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Moves the list onto the encoded contents of the file that is about to replace the mapped one and
+     * releases the mapping, so that the file can be replaced. Tasks that are held or still in use are
+     * kept as they are, while the others are decoded from the new contents when accessed.
+     *
+     * @param contents The new contents of the file, which must encode the tasks of this list in order.
+     * @param path The task file, for error messages.
+     * @throws IOException If the contents do not hold the tasks of this list.
+     */
+    void rebase(byte[] contents, Path path) throws IOException {
+        ByteBuffer newBuffer = ByteBuffer.wrap(contents);
+        byte newVersion = newBuffer.get(Integer.BYTES);
+        int[] offsets = indexRecords(newBuffer, newVersion, path);
+        if (offsets.length != size) {
+            throw new IOException("The new contents of " + path + " do not match the tasks in use");
+        }
+        synchronized (decodedTasks) {
+            Map<Integer, DecodedTask> rebasedTasks = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                Task task = findInUse(slots[i]);
+                if (task != null) {
+                    rebasedTasks.put(offsets[i], new DecodedTask(task, offsets[i], clearedTasks));
+                }
+            }
+            decodedTasks.clear();
+            decodedTasks.putAll(rebasedTasks);
+            System.arraycopy(offsets, 0, slots, 0, size);
+            heldTasks.clear();
+            freeHeldCount = 0;
+            release(buffer);
+            buffer = newBuffer;
+            version = newVersion;
+        }
+    }
+
+    /**
+     * Maps the task file again once the contents that the list was moved onto by
+     * {@link #rebase(byte[], Path)} are in place, so that they no longer take up heap space.
+     * Does nothing if the list has since moved onto other contents.
+     *
+     * @param contents The contents that were written to the file.
+     * @param path The task file.
+     * @throws IOException If the file cannot be mapped.
+     */
+    void remap(byte[] contents, Path path) throws IOException {
+        if (!buffer.hasArray() || buffer.array() != contents) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != contents.length) {
+                return;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, contents.length);
+            synchronized (decodedTasks) {
+                buffer = mapped;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the list currently reads its tasks from a mapped file.
+     *
+     * @return {@code true} if the tasks are read from a mapped file.
+     */
+    boolean isMapped() {
+        return buffer instanceof MappedByteBuffer;
+    }
+
+    /**
+     * Retrieves the task in a slot if it is held or a decoded copy is still in use, without decoding it.
+     */
+    private Task findInUse(int slot) {
+        if (slot < 0) {
+            return heldTasks.get(-slot - 1);
+        }
+        DecodedTask decoded = decodedTasks.get(slot);
+        return decoded == null ? null : decoded.get();
+    }
+
+    /**
+     * Releases a mapping straight away rather than when the buffer is garbage collected, which is the only
+     * way to release it before the file is replaced. The unsupported {@code Unsafe.invokeCleaner} is used
+     * for this where it is available; callers make sure that the buffer is not read again.
+     */
+    private static void release(ByteBuffer buffer) {
+        if (!(buffer instanceof MappedByteBuffer)) {
+            return;
+        }
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(unsafeField.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Without Unsafe, the mapping is released when the buffer is garbage collected.
+        }
+    }
+
+    /**
+     * Retrieves the journal sequence number recorded in the mapped file.
+     *
+     * @return The journal sequence number covered by the file.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Retrieves the ID for the next new task recorded in the mapped file.
+     *
+     * @return The next ID, or 0 if the file does not record it.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Counts the tasks currently held as objects because they were added or replaced.
+     *
+     * @return The number of held tasks.
+     */
+    int getHeldCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (slots[i] < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the slots for held tasks, including those freed by removed tasks and waiting to be reused.
+     *
+     * @return The number of slots for held tasks.
+     */
+    int getHeldCapacity() {
+        return heldTasks.size();
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        int slot = slots[index];
+        if (slot < 0) {
+            return heldTasks.get(-slot - 1);
+        }
+        synchronized (decodedTasks) {
+            purgeClearedTasks();
+            DecodedTask decoded = decodedTasks.get(slot);
+            Task task = decoded == null ? null : decoded.get();
+            if (task == null) {
+                task = BinaryTaskCodec.decodeRecord(buffer, slot, version);
+                decodedTasks.put(slot, new DecodedTask(task, slot, clearedTasks));
+            }
+            return task;
+        }
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        int slot = slots[index];
+        if (slot < 0) {
+            heldTasks.set(-slot - 1, task);
+        } else {
+            slots[index] = hold(task);
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        System.arraycopy(slots, index, slots, index + 1, size - index);
+        slots[index] = hold(task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        int slot = slots[index];
+        if (slot < 0) {
+            heldTasks.set(-slot - 1, null);
+            if (freeHeldCount == freeHeldSlots.length) {
+                freeHeldSlots = Arrays.copyOf(freeHeldSlots, freeHeldCount * 2);
+            }
+            freeHeldSlots[freeHeldCount++] = -slot - 1;
+        }
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int hold(Task task) {
+        if (freeHeldCount > 0) {
+            int heldSlot = freeHeldSlots[--freeHeldCount];
+            heldTasks.set(heldSlot, task);
+            return -heldSlot - 1;
+        }
+        heldTasks.add(task);
+        return -heldTasks.size();
+    }
+
+    private void purgeClearedTasks() {
+        Reference<? extends Task> cleared;
+        while ((cleared = clearedTasks.poll()) != null) {
+            DecodedTask decoded = (DecodedTask) cleared;
+            decodedTasks.remove(decoded.offset, decoded);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
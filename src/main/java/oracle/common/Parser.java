@@ -1,23 +1,91 @@
 package oracle.common;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 import oracle.command.AddCommand;
 import oracle.command.Command;
+import oracle.command.CountCommand;
 import oracle.command.DeleteCommand;
 import oracle.command.ExitCommand;
 import oracle.command.FindCommand;
 import oracle.command.HelpCommand;
 import oracle.command.ListCommand;
 import oracle.command.MarkCommand;
+import oracle.command.QueryCommand;
+import oracle.command.RedoCommand;
+import oracle.command.ScheduleCommand;
 import oracle.command.SnoozeCommand;
+import oracle.command.UndoCommand;
 import oracle.command.UnmarkCommand;
+import oracle.command.UpcomingCommand;
 import oracle.task.Deadline;
 import oracle.task.Event;
+import oracle.task.PageRequest;
+import oracle.task.TaskReference;
+import oracle.task.TaskType;
 import oracle.task.Todo;
 
 /**
  * Parses user input and converts it into executable commands.
+ * The input is read in a single pass: the command word is looked up in a keyword trie, which also
+ * accepts aliases such as {@code ls} and unambiguous prefixes such as {@code dea}, and the arguments
+ * are located by index, so that only the strings a command keeps are created.
  */
 public class Parser {
+    private static final String UNKNOWN_COMMAND_MESSAGE =
+            "OOPS!!! I'm sorry, but I don't know what that means :-(. Type 'help' to see the list of commands.";
+    private static final String PAGE_FORMAT_MESSAGE = "The paging options are: page [number], "
+            + "--limit [tasks per page] and --after [cursor]\n"
+            + "    For example: list page 3, or find book --limit 20 --after 20.57";
+    private static final String FILTER_FORMAT_MESSAGE = "The filters are: todo, deadline, event, done and undone\n"
+            + "    For example: count undone deadlines, or list done todos events";
+    private static final char ID_MARKER = '#';
+    private static final String PAGE_OPTION = "--page";
+    private static final String LIMIT_OPTION = "--limit";
+    private static final String AFTER_OPTION = "--after";
+    private static final KeywordTrie<Keyword> KEYWORDS = new KeywordTrie<>();
+
+    /**
+     * Represents the kinds of command, each with the words that start it.
+     */
+    private enum Keyword {
+        LIST("list", "ls"),
+        BYE("bye", "quit"),
+        TODO("todo"),
+        DEADLINE("deadline"),
+        EVENT("event"),
+        DELETE("delete"),
+        MARK("mark"),
+        UNMARK("unmark"),
+        FIND("find"),
+        SNOOZE("snooze"),
+        SCHEDULE("schedule", "between"),
+        UPCOMING("upcoming"),
+        COUNT("count"),
+        QUERY("query"),
+        EXPLAIN("explain"),
+        UNDO("undo"),
+        REDO("redo"),
+        HELP("help");
+
+        private final String[] words;
+
+        Keyword(String... words) {
+            this.words = words;
+        }
+    }
+
+    static {
+        for (Keyword keyword : Keyword.values()) {
+            for (String word : keyword.words) {
+                KEYWORDS.put(word, keyword);
+            }
+        }
+    }
+
     /**
      * Parses the user input string and returns the corresponding command.
      *
@@ -28,73 +96,108 @@ public class Parser {
     public static Command parse(String input) throws OracleException {
         assert input != null : "Input command should not be null";
         assert !input.trim().isEmpty() : "Input command should not be empty";
-        String trimmedInput = input.trim();
-        switch (trimmedInput.split(" ")[0]) {
-        case "list":
-            return new ListCommand();
-        case "bye":
+        int start = skipWhitespace(input, 0, input.length());
+        int end = trimEnd(input, start, input.length());
+        int wordEnd = start;
+        while (wordEnd < end && !isWhitespace(input.charAt(wordEnd))) {
+            wordEnd++;
+        }
+        Keyword keyword = KEYWORDS.get(input, start, wordEnd);
+        if (keyword == null) {
+            throw unknownCommand(input, start, wordEnd);
+        }
+        int argsStart = skipWhitespace(input, wordEnd, end);
+        switch (keyword) {
+        case LIST:
+            return parseListCommand(input, argsStart, end);
+        case BYE:
             return new ExitCommand();
-        case "todo":
-            return parseTodoCommand(trimmedInput);
-        case "deadline":
-            return parseDeadlineCommand(trimmedInput);
-        case "event":
-            return parseEventCommand(trimmedInput);
-        case "delete":
-            return parseDeleteCommand(trimmedInput);
-        case "mark":
-            return parseMarkCommand(trimmedInput);
-        case "unmark":
-            return parseUnmarkCommand(trimmedInput);
-        case "find":
-            return new FindCommand(trimmedInput.substring(5).trim());
-        case "snooze":
-            return parseSnoozeCommand(trimmedInput);
-        case "help":
+        case TODO:
+            return parseTodoCommand(input, argsStart, end);
+        case DEADLINE:
+            return parseDeadlineCommand(input, argsStart, end);
+        case EVENT:
+            return parseEventCommand(input, argsStart, end);
+        case DELETE:
+            return new DeleteCommand(parseTaskReference(input, argsStart, end));
+        case MARK:
+            return new MarkCommand(parseTaskReference(input, argsStart, end));
+        case UNMARK:
+            return new UnmarkCommand(parseTaskReference(input, argsStart, end));
+        case FIND:
+            return parseFindCommand(input, argsStart, end);
+        case SNOOZE:
+            return parseSnoozeCommand(input, argsStart, end);
+        case SCHEDULE:
+            return parseScheduleCommand(input, argsStart, end);
+        case UPCOMING:
+            return parseUpcomingCommand(input, argsStart, end);
+        case COUNT:
+            return parseCountCommand(input, argsStart, end);
+        case QUERY:
+            return new QueryCommand(QueryParser.parse(input, argsStart, end), false);
+        case EXPLAIN:
+            return parseExplainCommand(input, argsStart, end);
+        case UNDO:
+            return new UndoCommand();
+        case REDO:
+            return new RedoCommand();
+        case HELP:
             return new HelpCommand();
         default:
-            throw new OracleException(
-                    "OOPS!!! I'm sorry, but I don't know what that means :-(. Type 'help' to see the list of commands."
-            );
+            throw new OracleException(UNKNOWN_COMMAND_MESSAGE);
         }
     }
 
+    /**
+     * Creates the error for a command word that is not a keyword, naming the keywords it could be
+     * short for if it is an ambiguous prefix.
+     */
+    private static OracleException unknownCommand(String input, int start, int end) {
+        List<String> matches = KEYWORDS.getMatches(input, start, end);
+        if (matches.size() > 1) {
+            return new OracleException("OOPS!!! '" + input.substring(start, end) + "' could be any of: "
+                    + String.join(", ", matches) + ". Please type more of the command.");
+        }
+        return new OracleException(UNKNOWN_COMMAND_MESSAGE);
+    }
+
     /**
      * Parses a todo command and returns an {@code AddCommand}.
      *
      * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
      * @return An {@code AddCommand} that adds a todo task.
      * @throws OracleException If the description is missing.
      */
-    private static Command parseTodoCommand(String input) throws OracleException {
-        if (input.length() <= 5) {
+    private static Command parseTodoCommand(String input, int start, int end) throws OracleException {
+        if (start == end) {
             throw new OracleException("OOPS!!! The description of a todo cannot be empty.");
         }
-        String description = input.substring(5).trim();
-        return new AddCommand(new Todo(description));
+        return new AddCommand(new Todo(input.substring(start, end)));
     }
 
     /**
      * Parses a deadline command and returns an {@code AddCommand}.
      *
      * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
      * @return An {@code AddCommand} that adds a deadline task.
      * @throws OracleException If the format is incorrect or the description is missing.
      */
-    private static Command parseDeadlineCommand(String input) throws OracleException {
-        String trimmedInput = input.trim();
-        String commandWithoutPrefix = trimmedInput.substring("deadline".length()).trim();
-        String[] parts = commandWithoutPrefix.split("/by", 2);
-
-        if (parts.length < 2) {
+    private static Command parseDeadlineCommand(String input, int start, int end) throws OracleException {
+        int byIndex = indexOf(input, "/by", start, end);
+        if (byIndex < 0) {
             throw new OracleException(
                     "The correct format for deadline is: deadline [description] /by [date time]\n"
                     + "    For example: deadline assignment /by 2/12/2023 2359"
             );
         }
 
-        String description = parts[0].trim();
-        String by = parts[1].trim();
+        String description = slice(input, start, byIndex);
+        String by = slice(input, byIndex + "/by".length(), end);
 
         if (description.isEmpty()) {
             throw new OracleException("The description of a deadline cannot be empty.");
@@ -112,22 +215,26 @@ public class Parser {
 
     /**
      * Parses an event command and returns an {@code AddCommand}.
+     * The description is followed by two markers, each either {@code /from} or {@code /to}.
      *
      * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
      * @return An {@code AddCommand} that adds an event task.
      * @throws OracleException If the format is incorrect or required fields are missing.
      */
-    private static Command parseEventCommand(String input) throws OracleException {
-        String[] parts = input.substring(5).split("/from|/to", 3);
-        if (parts.length < 3) {
+    private static Command parseEventCommand(String input, int start, int end) throws OracleException {
+        int firstMarker = indexOfEventMarker(input, start, end);
+        int secondMarker = firstMarker < 0 ? -1 : indexOfEventMarker(input, skipMarker(input, firstMarker), end);
+        if (secondMarker < 0) {
             throw new OracleException(
                     "The correct format for event is: event [description] /from [date time] /to [date time]\n"
                             + "    For example: event meeting /from 2/12/2023 1400 /to 2/12/2023 1500"
             );
         }
-        String description = parts[0].trim();
-        String from = parts[1].trim();
-        String to = parts[2].trim();
+        String description = slice(input, start, firstMarker);
+        String from = slice(input, skipMarker(input, firstMarker), secondMarker);
+        String to = slice(input, skipMarker(input, secondMarker), end);
 
         if (description.isEmpty()) {
             throw new OracleException("The description of an event cannot be empty.");
@@ -143,74 +250,386 @@ public class Parser {
         return new AddCommand(new Event(description, from, to));
     }
 
+    private static int indexOfEventMarker(String input, int start, int end) {
+        int fromIndex = indexOf(input, "/from", start, end);
+        int toIndex = indexOf(input, "/to", start, end);
+        if (fromIndex < 0 || toIndex < 0) {
+            return Math.max(fromIndex, toIndex);
+        }
+        return Math.min(fromIndex, toIndex);
+    }
+
+    private static int skipMarker(String input, int markerIndex) {
+        return markerIndex + (input.startsWith("/from", markerIndex) ? "/from".length() : "/to".length());
+    }
+
     /**
-     * Parses a delete command and returns a {@code DeleteCommand}.
+     * Parses the task of a delete, mark, unmark or snooze command: its number in the list, or its ID after a {@code #}.
      *
      * @param input The user input string.
-     * @return A {@code DeleteCommand} that removes a task.
-     * @throws OracleException If the task index is invalid.
+     * @param start The index where the task number or ID starts.
+     * @param end The index where the task number or ID ends.
+     * @return The reference to the task.
+     * @throws OracleException If the task number or ID is invalid.
      */
-    private static Command parseDeleteCommand(String input) throws OracleException {
+    private static TaskReference parseTaskReference(String input, int start, int end) throws OracleException {
+        if (start < end && input.charAt(start) == ID_MARKER) {
+            try {
+                long id = Long.parseLong(input, start + 1, end, 10);
+                if (id > 0) {
+                    return TaskReference.ofId(id);
+                }
+            } catch (NumberFormatException e) {
+                // Reported below along with IDs that are not positive.
+            }
+            throw new OracleException("Please enter a valid task ID, e.g. #12.");
+        }
         try {
-            int index = Integer.parseInt(input.substring(7).trim()) - 1;
-            return new DeleteCommand(index);
+            return TaskReference.ofIndex(Integer.parseInt(input, start, end, 10) - 1);
         } catch (NumberFormatException e) {
-            throw new OracleException("Please enter a valid task number.");
+            throw new OracleException("Please enter a valid task number, or a task ID such as #12.");
         }
     }
 
     /**
-     * Parses a mark command and returns a {@code MarkCommand}.
+     * Parses a find command and returns a {@code FindCommand}.
      *
      * @param input The user input string.
-     * @return A {@code MarkCommand} that marks a task as done.
-     * @throws OracleException If the task index is invalid.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
+     * @return A {@code FindCommand} that searches for a keyword.
+     * @throws OracleException If the keyword is missing.
      */
-    private static Command parseMarkCommand(String input) throws OracleException {
-        try {
-            int index = Integer.parseInt(input.substring(5).trim()) - 1;
-            return new MarkCommand(index);
-        } catch (NumberFormatException e) {
-            throw new OracleException("Please enter a valid task number.");
+    private static Command parseFindCommand(String input, int start, int end) throws OracleException {
+        int optionStart = indexOfPageOption(input, start, end);
+        int keywordEnd = trimEnd(input, start, optionStart);
+        if (start == keywordEnd) {
+            throw new OracleException("Please enter a keyword to search for.");
+        }
+        String keyword = input.substring(start, keywordEnd);
+        if (optionStart == end) {
+            return new FindCommand(keyword);
+        }
+        return new FindCommand(keyword, parsePageRequest(input, optionStart, end));
+    }
+
+    /**
+     * Finds the first paging option, such as {@code --limit}, that starts a word within part of the input.
+     *
+     * @return The index where the option starts, or {@code end} if there is none.
+     */
+    private static int indexOfPageOption(String input, int start, int end) {
+        for (int i = indexOf(input, "--", start, end); i >= 0; i = indexOf(input, "--", i + 1, end)) {
+            if (i > start && !isWhitespace(input.charAt(i - 1))) {
+                continue;
+            }
+            int wordEnd = wordEnd(input, i, end);
+            if (isWord(input, i, wordEnd, LIMIT_OPTION) || isWord(input, i, wordEnd, AFTER_OPTION)
+                    || isWord(input, i, wordEnd, PAGE_OPTION)) {
+                return i;
+            }
         }
+        return end;
     }
 
     /**
-     * Parses an unmark command and returns an {@code UnmarkCommand}.
+     * Parses the paging options of a list or find command: a page number given as {@code page N} or
+     * {@code --page N}, or a cursor given as {@code --after C}, optionally with a page size given as
+     * {@code --limit N}.
      *
      * @param input The user input string.
-     * @return An {@code UnmarkCommand} that marks a task as not done.
-     * @throws OracleException If the task index is invalid.
+     * @param start The index where the options start.
+     * @param end The index where the options end.
+     * @return The requested page.
+     * @throws OracleException If an option is unknown, is missing its value or has an invalid value.
      */
-    private static Command parseUnmarkCommand(String input) throws OracleException {
+    private static PageRequest parsePageRequest(String input, int start, int end) throws OracleException {
+        int pageNumber = 0;
+        int limit = PageRequest.DEFAULT_LIMIT;
+        String cursor = null;
+        int nameStart = start;
+        while (nameStart < end) {
+            int nameEnd = wordEnd(input, nameStart, end);
+            int valueStart = skipWhitespace(input, nameEnd, end);
+            int valueEnd = wordEnd(input, valueStart, end);
+            if (valueStart == valueEnd) {
+                throw new OracleException(PAGE_FORMAT_MESSAGE);
+            }
+            if (isWord(input, nameStart, nameEnd, "page") || isWord(input, nameStart, nameEnd, PAGE_OPTION)) {
+                pageNumber = parsePositive(input, valueStart, valueEnd, Integer.MAX_VALUE,
+                        "Please enter a valid page number.");
+            } else if (isWord(input, nameStart, nameEnd, LIMIT_OPTION)) {
+                limit = parsePositive(input, valueStart, valueEnd, PageRequest.MAX_LIMIT,
+                        "The limit should be a number from 1 to " + PageRequest.MAX_LIMIT + ".");
+            } else if (isWord(input, nameStart, nameEnd, AFTER_OPTION)) {
+                cursor = input.substring(valueStart, valueEnd);
+            } else {
+                throw new OracleException(PAGE_FORMAT_MESSAGE);
+            }
+            nameStart = skipWhitespace(input, valueEnd, end);
+        }
+        if (cursor != null && pageNumber > 0) {
+            throw new OracleException("Please give either a page number or a cursor, not both.");
+        }
+        return cursor != null ? new PageRequest(cursor, limit) : new PageRequest(Math.max(pageNumber, 1), limit);
+    }
+
+    private static int parsePositive(String input, int start, int end, int max, String message)
+            throws OracleException {
         try {
-            int index = Integer.parseInt(input.substring(7).trim()) - 1;
-            return new UnmarkCommand(index);
+            int value = Integer.parseInt(input, start, end, 10);
+            if (value > 0 && value <= max) {
+                return value;
+            }
         } catch (NumberFormatException e) {
-            throw new OracleException("Please enter a valid task number.");
+            // Reported below along with values out of range.
         }
+        throw new OracleException(message);
     }
 
     /**
      * Parses a snooze command and returns a {@code SnoozeCommand}.
      *
      * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
      * @return A {@code SnoozeCommand} to postpone the task.
      * @throws OracleException If the format is incorrect or the index is invalid.
      */
-    private static Command parseSnoozeCommand(String input) throws OracleException {
-        String[] parts = input.split(" ", 3);
-        if (parts.length < 3) {
+    private static Command parseSnoozeCommand(String input, int start, int end) throws OracleException {
+        int numberEnd = start;
+        while (numberEnd < end && !isWhitespace(input.charAt(numberEnd))) {
+            numberEnd++;
+        }
+        if (numberEnd == start || numberEnd == end) {
             throw new OracleException("The correct format for snoozing a task is:\n"
-                    + "snooze [task number] [new date time]\n"
+                    + "snooze [task number or #id] [new date time]\n"
                                       + "Example: snooze 2 5/12/2023 1800");
         }
+        TaskReference target = parseTaskReference(input, start, numberEnd);
+        return new SnoozeCommand(target, slice(input, numberEnd, end));
+    }
+
+    /**
+     * Parses a schedule command and returns a {@code ScheduleCommand}.
+     *
+     * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
+     * @return A {@code ScheduleCommand} that shows the tasks within a time range.
+     * @throws OracleException If the format is incorrect.
+     */
+    private static Command parseScheduleCommand(String input, int start, int end) throws OracleException {
+        int toIndex = indexOf(input, "/to", start, end);
+        String from = toIndex < 0 ? "" : slice(input, start, toIndex);
+        String to = toIndex < 0 ? "" : slice(input, toIndex + "/to".length(), end);
+        if (from.isEmpty() || to.isEmpty()) {
+            throw new OracleException("The correct format for schedule is: schedule [date time] /to [date time]\n"
+                    + "    For example: schedule 1/3/2025 0000 /to 31/3/2025 2359");
+        }
+        return new ScheduleCommand(from, to);
+    }
+
+    /**
+     * Parses an upcoming command and returns an {@code UpcomingCommand}.
+     *
+     * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
+     * @return An {@code UpcomingCommand} that shows the tasks falling due first.
+     * @throws OracleException If the number of tasks is invalid.
+     */
+    private static Command parseUpcomingCommand(String input, int start, int end) throws OracleException {
+        if (start == end) {
+            return new UpcomingCommand(UpcomingCommand.DEFAULT_COUNT);
+        }
         try {
-            int index = Integer.parseInt(parts[1]) - 1;
-            String newDateTime = parts[2].trim();
-            return new SnoozeCommand(index, newDateTime);
+            return new UpcomingCommand(Integer.parseInt(input, start, end, 10));
         } catch (NumberFormatException e) {
-            throw new OracleException("Invalid task number. Use a valid integer.");
+            throw new OracleException("Please enter a valid number of tasks to show.");
         }
     }
+
+    /**
+     * Parses an explain command, i.e. a query with the word {@code explain} in front, and returns a
+     * {@code QueryCommand} that shows the query's plan. The word {@code query} may be left out.
+     *
+     * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
+     * @return A {@code QueryCommand} that explains the query.
+     * @throws OracleException If the query is invalid.
+     */
+    private static Command parseExplainCommand(String input, int start, int end) throws OracleException {
+        int wordEnd = wordEnd(input, start, end);
+        int termsStart = isWord(input, start, wordEnd, "query") ? skipWhitespace(input, wordEnd, end) : start;
+        return new QueryCommand(QueryParser.parse(input, termsStart, end), true);
+    }
+
+    /**
+     * Parses a list command, with optional type and status filters followed by optional paging options.
+     *
+     * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
+     * @return A {@code ListCommand} showing the matching tasks.
+     * @throws OracleException If a filter contradicts another or the paging options are invalid.
+     */
+    private static Command parseListCommand(String input, int start, int end) throws OracleException {
+        if (start == end) {
+            return new ListCommand();
+        }
+        int filterEnd = skipFilterWords(input, start, end);
+        PageRequest pageRequest = filterEnd == end ? null : parsePageRequest(input, filterEnd, end);
+        return new ListCommand(parseTypes(input, start, filterEnd), parseStatus(input, start, filterEnd), pageRequest);
+    }
+
+    /**
+     * Parses a count command, with optional type and status filters.
+     *
+     * @param input The user input string.
+     * @param start The index where the arguments start.
+     * @param end The index where the arguments end.
+     * @return A {@code CountCommand} counting the matching tasks.
+     * @throws OracleException If an argument is not a filter or a filter contradicts another.
+     */
+    private static Command parseCountCommand(String input, int start, int end) throws OracleException {
+        if (skipFilterWords(input, start, end) != end) {
+            throw new OracleException(FILTER_FORMAT_MESSAGE);
+        }
+        return new CountCommand(parseTypes(input, start, end), parseStatus(input, start, end));
+    }
+
+    /**
+     * Finds where the type and status filter words at the start of part of the input end.
+     *
+     * @return The index of the first word that is not a filter, or {@code end} if every word is one.
+     */
+    private static int skipFilterWords(String input, int start, int end) {
+        int wordStart = start;
+        while (wordStart < end) {
+            int wordEnd = wordEnd(input, wordStart, end);
+            boolean isFilter = parseFilterType(input, wordStart, wordEnd) != null
+                    || parseFilterStatus(input, wordStart, wordEnd) != null;
+            if (!isFilter) {
+                return wordStart;
+            }
+            wordStart = skipWhitespace(input, wordEnd, end);
+        }
+        return end;
+    }
+
+    /**
+     * Collects the task types named by the filter words in part of the input.
+     *
+     * @return The types, or an empty set if no type is named.
+     */
+    private static Set<TaskType> parseTypes(String input, int start, int end) {
+        Set<TaskType> types = EnumSet.noneOf(TaskType.class);
+        for (int wordStart = start; wordStart < end; ) {
+            int wordEnd = wordEnd(input, wordStart, end);
+            TaskType type = parseFilterType(input, wordStart, wordEnd);
+            if (type != null) {
+                types.add(type);
+            }
+            wordStart = skipWhitespace(input, wordEnd, end);
+        }
+        return types;
+    }
+
+    /**
+     * Finds the status named by the filter words in part of the input.
+     *
+     * @return Whether done or undone tasks are asked for, or {@code null} if no status is named.
+     * @throws OracleException If both done and undone tasks are asked for.
+     */
+    private static Boolean parseStatus(String input, int start, int end) throws OracleException {
+        Boolean isDone = null;
+        for (int wordStart = start; wordStart < end; ) {
+            int wordEnd = wordEnd(input, wordStart, end);
+            Boolean status = parseFilterStatus(input, wordStart, wordEnd);
+            if (status != null && isDone != null && !status.equals(isDone)) {
+                throw new OracleException("A task cannot be both done and undone. Please pick one of them.");
+            }
+            if (status != null) {
+                isDone = status;
+            }
+            wordStart = skipWhitespace(input, wordEnd, end);
+        }
+        return isDone;
+    }
+
+    /**
+     * Reads a filter word naming a task type, in the singular or plural.
+     */
+    private static TaskType parseFilterType(String input, int start, int end) {
+        int stemEnd = end > start && input.charAt(end - 1) == 's' ? end - 1 : end;
+        for (TaskType type : TaskType.values()) {
+            String name = type.name().toLowerCase(Locale.ROOT);
+            if (isWord(input, start, end, name) || isWord(input, start, stemEnd, name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a filter word naming a task status.
+     */
+    private static Boolean parseFilterStatus(String input, int start, int end) {
+        if (isWord(input, start, end, "done")) {
+            return Boolean.TRUE;
+        }
+        return isWord(input, start, end, "undone") ? Boolean.FALSE : null;
+    }
+
+    /**
+     * Finds a marker within part of the input.
+     *
+     * @return The index of the first occurrence of the marker that ends by {@code end}, or -1 if there is none.
+     */
+    private static int indexOf(String input, String marker, int start, int end) {
+        int index = input.indexOf(marker, start);
+        return index >= 0 && index + marker.length() <= end ? index : -1;
+    }
+
+    /**
+     * Retrieves part of the input without its surrounding whitespace.
+     */
+    private static String slice(String input, int start, int end) {
+        int sliceStart = skipWhitespace(input, start, end);
+        return input.substring(sliceStart, trimEnd(input, sliceStart, end));
+    }
+
+    private static int wordEnd(String input, int start, int end) {
+        while (start < end && !isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean isWord(String input, int start, int end, String word) {
+        return end - start == word.length() && input.startsWith(word, start);
+    }
+
+    private static int skipWhitespace(String input, int start, int end) {
+        while (start < end && isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String input, int start, int end) {
+        while (end > start && isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Checks for the characters {@link String#trim()} removes.
+     */
+    private static boolean isWhitespace(char c) {
+        return c <= ' ';
+    }
 }
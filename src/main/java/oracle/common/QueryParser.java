@@ -0,0 +1,236 @@
+package oracle.common;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import oracle.task.PageRequest;
+import oracle.task.TaskQuery;
+import oracle.task.TaskType;
+
+/**
+ * Parses the terms of a structured query, such as
+ * {@code type:deadline done:no due<2025-03-01 text:report sort:due limit:20}, into a {@link TaskQuery}.
+ * Terms are separated by spaces and may come in any order; a text containing spaces is quoted.
+ * Like {@link Parser}, the input is read in a single pass by index.
+ */
+class QueryParser {
+    private static final String FORMAT_MESSAGE = "The query terms are: type:[todo|deadline|event], "
+            + "done:[yes|no], due<[date], due<=[date], due>[date], due>=[date], due:[date], "
+            + "text:[text], sort:[due|list] and limit:[count]\n"
+            + "    Dates are written as 2025-03-01 or 1/3/2025.\n"
+            + "    For example: query type:deadline done:no due<2025-03-01 text:report sort:due limit:20";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
+
+    private final String input;
+    private final int end;
+    private final Set<TaskType> types = EnumSet.noneOf(TaskType.class);
+    private Boolean isDone;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueBefore;
+    private String text;
+    private TaskQuery.SortOrder sortOrder = TaskQuery.SortOrder.LIST;
+    private int limit = PageRequest.DEFAULT_LIMIT;
+    private int position;
+
+    private QueryParser(String input, int start, int end) {
+        this.input = input;
+        this.position = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses the terms of a query from part of the input.
+     *
+     * @param input The user input string.
+     * @param start The index where the terms start.
+     * @param end The index where the terms end.
+     * @return The query.
+     * @throws OracleException If a term is unknown or has an invalid value.
+     */
+    static TaskQuery parse(String input, int start, int end) throws OracleException {
+        return new QueryParser(input, start, end).parseTerms();
+    }
+
+    private TaskQuery parseTerms() throws OracleException {
+        skipWhitespace();
+        while (position < end) {
+            parseTerm();
+            skipWhitespace();
+        }
+        if (dueFrom != null && dueBefore != null && !dueFrom.isBefore(dueBefore)) {
+            throw new OracleException("No due date can satisfy both due date bounds of this query.");
+        }
+        return new TaskQuery(types, isDone, dueFrom, dueBefore, text, sortOrder, limit);
+    }
+
+    private void parseTerm() throws OracleException {
+        int nameStart = position;
+        while (position < end && Character.isLetter(input.charAt(position))) {
+            position++;
+        }
+        String name = input.substring(nameStart, position);
+        String operator = readOperator();
+        if (name.equals("text") && operator.equals(":")) {
+            text = readText();
+            return;
+        }
+        String value = readWord();
+        if (value.isEmpty()) {
+            throw new OracleException(FORMAT_MESSAGE);
+        }
+        switch (name + operator) {
+        case "type:":
+            for (String type : value.split(",")) {
+                types.add(parseType(type));
+            }
+            break;
+        case "done:":
+            isDone = parseDone(value);
+            break;
+        case "due:":
+            LocalDate day = parseDate(value);
+            raiseDueFrom(day.atStartOfDay());
+            lowerDueBefore(day.plusDays(1).atStartOfDay());
+            break;
+        case "due<":
+            lowerDueBefore(parseDate(value).atStartOfDay());
+            break;
+        case "due<=":
+            lowerDueBefore(parseDate(value).plusDays(1).atStartOfDay());
+            break;
+        case "due>":
+            raiseDueFrom(parseDate(value).plusDays(1).atStartOfDay());
+            break;
+        case "due>=":
+            raiseDueFrom(parseDate(value).atStartOfDay());
+            break;
+        case "sort:":
+            sortOrder = parseSortOrder(value);
+            break;
+        case "limit:":
+            limit = parseLimit(value);
+            break;
+        default:
+            throw new OracleException("I don't know the query term '" + name + operator + value + "'.\n"
+                    + "    " + FORMAT_MESSAGE);
+        }
+    }
+
+    private String readOperator() {
+        int operatorStart = position;
+        if (position < end && (input.charAt(position) == '<' || input.charAt(position) == '>')) {
+            position++;
+            if (position < end && input.charAt(position) == '=') {
+                position++;
+            }
+        } else if (position < end && input.charAt(position) == ':') {
+            position++;
+        }
+        return input.substring(operatorStart, position);
+    }
+
+    private String readWord() {
+        int wordStart = position;
+        while (position < end && input.charAt(position) > ' ') {
+            position++;
+        }
+        return input.substring(wordStart, position);
+    }
+
+    private String readText() throws OracleException {
+        if (position >= end || input.charAt(position) != '"') {
+            String word = readWord();
+            if (word.isEmpty()) {
+                throw new OracleException("Please give the text to search for, e.g. text:report or text:\"a b\".");
+            }
+            return word;
+        }
+        int closing = input.indexOf('"', position + 1);
+        if (closing < 0 || closing >= end || closing == position + 1) {
+            throw new OracleException("Please close the quoted text of the query, e.g. text:\"weekly report\".");
+        }
+        String quoted = input.substring(position + 1, closing);
+        position = closing + 1;
+        return quoted;
+    }
+
+    private void raiseDueFrom(LocalDateTime from) {
+        if (dueFrom == null || from.isAfter(dueFrom)) {
+            dueFrom = from;
+        }
+    }
+
+    private void lowerDueBefore(LocalDateTime before) {
+        if (dueBefore == null || before.isBefore(dueBefore)) {
+            dueBefore = before;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < end && input.charAt(position) <= ' ') {
+            position++;
+        }
+    }
+
+    private static TaskType parseType(String value) throws OracleException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "todo":
+            return TaskType.TODO;
+        case "deadline":
+            return TaskType.DEADLINE;
+        case "event":
+            return TaskType.EVENT;
+        default:
+            throw new OracleException("'" + value + "' is not a task type. Use todo, deadline or event.");
+        }
+    }
+
+    private static Boolean parseDone(String value) throws OracleException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "yes":
+        case "true":
+            return Boolean.TRUE;
+        case "no":
+        case "false":
+            return Boolean.FALSE;
+        default:
+            throw new OracleException("Please use done:yes or done:no.");
+        }
+    }
+
+    private static LocalDate parseDate(String value) throws OracleException {
+        try {
+            return value.indexOf('/') >= 0 ? LocalDate.parse(value, DATE_FORMATTER) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new OracleException("'" + value + "' is not a date. Write dates as 2025-03-01 or 1/3/2025.");
+        }
+    }
+
+    private static TaskQuery.SortOrder parseSortOrder(String value) throws OracleException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "due":
+            return TaskQuery.SortOrder.DUE;
+        case "list":
+            return TaskQuery.SortOrder.LIST;
+        default:
+            throw new OracleException("Please use sort:due or sort:list.");
+        }
+    }
+
+    private static int parseLimit(String value) throws OracleException {
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit > 0 && limit <= PageRequest.MAX_LIMIT) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below along with values out of range.
+        }
+        throw new OracleException("The limit should be a number from 1 to " + PageRequest.MAX_LIMIT + ".");
+    }
+}
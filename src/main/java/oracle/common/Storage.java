@@ -1,26 +1,63 @@
 package oracle.common;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import oracle.task.Deadline;
 import oracle.task.Event;
 import oracle.task.Task;
-import oracle.task.Todo;
+import oracle.task.TaskList;
 
 /**
  * Handles loading and saving of tasks to a file for persistent storage.
+ * In journal mode, each mutation is appended to a journal file instead of rewriting the whole
+ * task file, and the journal is periodically compacted into the task file in the background.
+ * In write-behind mode, writes happen on a background thread that coalesces bursts of saves,
+ * while sync mode forces every write to the storage device before returning.
+ * Saves may also be deferred while a batch of commands runs, and committed in one write afterwards.
+ * Tasks are stored either as text or in a compact binary format; switching formats migrates the
+ * existing file automatically.
+ * The task file also records the ID for the next new task, so that IDs of deleted tasks are not given out again.
+ * The task file is never rewritten in place: a new file is written next to it and then renamed over it,
+ * so a crash during a save leaves the last complete save behind. Only sync mode forces the new file and the
+ * rename to the storage device, which is what keeps this true after a power cut as well.
  */
 public class Storage {
-    private static final DateTimeFormatter STORAGE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final TextTaskCodec TEXT_CODEC = new TextTaskCodec();
+    private static final TaskCodec BINARY_CODEC = new BinaryTaskCodec();
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    private static final long COMPACTION_TIMEOUT_SECONDS = 30;
+
+    private final String textFilePath;
     private final Path filePath;
+    private final Path tempPath;
+    private final Path otherFormatPath;
+    private final TaskCodec codec;
+    private final Journal journal;
+    private final int compactionThreshold;
+    private ExecutorService compactor;
+    private volatile boolean isCompacting;
+    private long snapshotSequence;
+    private long nextId;
+    private WriteBehindWriter writeBehind;
+    private boolean isSyncWrites;
+    private boolean isDeferring;
+    private boolean hasDeferredChanges;
+    private MappedTaskList mappedTasks;
+    private final AtomicReference<byte[]> writtenSnapshot = new AtomicReference<>();
 
     /**
      * Constructs a Storage object to manage file operations.
@@ -28,7 +65,111 @@ public class Storage {
      * @param filePath The file path where tasks are stored.
      */
     public Storage(String filePath) {
-        this.filePath = Paths.get(filePath);
+        this(filePath, false, false, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Storage object that optionally records mutations in an append-only journal.
+     *
+     * @param filePath The file path where tasks are stored.
+     * @param isJournalMode Whether mutations are appended to a journal instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournalMode) {
+        this(filePath, isJournalMode, false, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Storage object that optionally keeps tasks in the binary format. The binary file
+     * sits next to the text file with a {@code .bin} extension, and whichever of the two files is not
+     * in use is migrated to the one that is when it is loaded.
+     *
+     * @param filePath The file path of the text task file.
+     * @param isJournalMode Whether mutations are appended to a journal instead of rewriting the file.
+     * @param isBinaryFormat Whether tasks are stored in the binary format.
+     */
+    public Storage(String filePath, boolean isJournalMode, boolean isBinaryFormat) {
+        this(filePath, isJournalMode, isBinaryFormat, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Storage object with a custom journal compaction threshold.
+     *
+     * @param filePath The file path of the text task file.
+     * @param isJournalMode Whether mutations are appended to a journal instead of rewriting the file.
+     * @param isBinaryFormat Whether tasks are stored in the binary format.
+     * @param compactionThreshold The number of journal records that triggers a compaction.
+     */
+    Storage(String filePath, boolean isJournalMode, boolean isBinaryFormat, int compactionThreshold) {
+        assert compactionThreshold > 0 : "Compaction threshold should be positive";
+        Path textPath = Paths.get(filePath);
+        Path binaryPath = Paths.get(filePath.replaceFirst("\\.txt$", "") + ".bin");
+        this.textFilePath = filePath;
+        this.filePath = isBinaryFormat ? binaryPath : textPath;
+        this.tempPath = Paths.get(this.filePath + ".tmp");
+        this.otherFormatPath = isBinaryFormat ? textPath : binaryPath;
+        this.codec = isBinaryFormat ? BINARY_CODEC : TEXT_CODEC;
+        this.journal = isJournalMode ? new Journal(this.filePath) : null;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Moves writes to a background thread that groups saves arriving within the given delay
+     * into a single write. Use {@link #flush()} to wait for outstanding writes.
+     *
+     * @param maxDelayMillis The maximum time in milliseconds a write is held back.
+     */
+    public void enableWriteBehind(long maxDelayMillis) {
+        if (!isSyncWrites) {
+            writeBehind = new WriteBehindWriter(maxDelayMillis);
+        }
+    }
+
+    /**
+     * Forces every write to the storage device before the saving command returns.
+     * This takes precedence over write-behind mode.
+     */
+    public void enableSyncWrites() {
+        isSyncWrites = true;
+        writeBehind = null;
+    }
+
+    /**
+     * Holds back the saving of changed tasks until {@link #commit(TaskList)} is called, so that a
+     * batch of changes is written out at once instead of one by one.
+     */
+    public void deferSaves() {
+        isDeferring = true;
+    }
+
+    /**
+     * Writes out the changes held back since saves were deferred, if there are any.
+     * In journal mode, the changes are written as a snapshot rather than as journal records.
+     *
+     * @param tasks The current task list.
+     * @return {@code true} if there were changes to write, otherwise {@code false}.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public boolean commit(TaskList tasks) throws OracleException {
+        if (!hasDeferredChanges) {
+            return false;
+        }
+        save(tasks);
+        hasDeferredChanges = false;
+        return true;
+    }
+
+    /**
+     * Commits any deferred changes and goes back to saving each change as it happens.
+     * Saves resume even if the commit fails; the changes it did not write are then written in full
+     * with the next save.
+     *
+     * @param tasks The current task list.
+     * @return {@code true} if there were changes to write, otherwise {@code false}.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public boolean resumeSaves(TaskList tasks) throws OracleException {
+        isDeferring = false;
+        return commit(tasks);
     }
 
     /**
@@ -41,15 +182,59 @@ public class Storage {
     public ArrayList<Task> load() throws OracleException {
         assert filePath != null : "File path should not be null";
         try {
+            migrateOtherFormat();
+            ensureFileExists();
+            ArrayList<Task> tasks = new ArrayList<>();
+            TaskCodec.Header header = codec.read(filePath, tasks);
+            nextId = Math.max(nextId, header.getNextId());
+            if (journal != null) {
+                replayJournal(tasks, header.getSequence());
+            }
+            return tasks;
+        } catch (IOException e) {
+            throw new OracleException("Error loading tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads tasks lazily from a memory-mapped binary task file, so that only the tasks in use are
+     * held on the heap. Falls back to {@link #load()} when the text format is in use.
+     *
+     * @return A list of tasks backed by the task file.
+     * @throws OracleException If an error occurs while reading the file.
+     */
+    public List<Task> loadMapped() throws OracleException {
+        if (codec != BINARY_CODEC) {
+            return load();
+        }
+        try {
+            migrateOtherFormat();
             ensureFileExists();
-            return (ArrayList<Task>) parseTasks(Files.readAllLines(filePath));
+            MappedTaskList tasks = MappedTaskList.open(filePath);
+            mappedTasks = tasks;
+            nextId = Math.max(nextId, tasks.getNextId());
+            if (journal != null) {
+                replayJournal(tasks, tasks.getSequence());
+            }
+            remapSnapshot();
+            return tasks;
         } catch (IOException e) {
             throw new OracleException("Error loading tasks: " + e.getMessage());
         }
     }
 
     /**
-     * Ensures that the storage file and its parent directory exist.
+     * Retrieves the ID for the next new task, as recorded in the loaded task file and journal.
+     *
+     * @return The next ID, or 0 if the task file does not record it, e.g. because an earlier version wrote it.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Ensures that the storage file and its parent directory exist, and removes the temporary
+     * file of a save that was interrupted.
      *
      * @throws IOException If an error occurs while creating directories or files.
      */
@@ -58,75 +243,126 @@ public class Storage {
         if (!Files.exists(parentDir)) {
             Files.createDirectories(parentDir);
         }
+        if (Files.deleteIfExists(tempPath)) {
+            System.err.println("Discarded an unfinished save; loading the last complete save of " + filePath);
+        }
         if (!Files.exists(filePath)) {
             Files.createFile(filePath);
         }
     }
 
     /**
-     * Parses task entries from a list of strings.
+     * Converts a task file in the other format to the format in use, if only the other one exists.
+     * Any journal of the other file is replayed first and then removed, and the converted file is
+     * kept with a {@code .bak} extension.
      *
-     * @param lines The list of task entries read from the storage file.
-     * @return A list of parsed tasks.
+     * @throws IOException If an error occurs while reading or writing the files.
+     * @throws OracleException If the other file cannot be loaded.
      */
-    private List<Task> parseTasks(List<String> lines) {
-        return lines.stream()
-                .map(line -> {
-                    try {
-                        return parseTask(line);
-                    } catch (Exception e) {
-                        System.err.println("Skipping corrupted entry: " + line);
-                        return null;
-                    }
-                })
-                .filter(task -> task != null)
-                .collect(Collectors.toList());
+    private void migrateOtherFormat() throws IOException, OracleException {
+        if (Files.exists(filePath) || !Files.exists(otherFormatPath)) {
+            return;
+        }
+        Storage otherFormat = new Storage(textFilePath, true, codec == TEXT_CODEC);
+        ArrayList<Task> tasks = otherFormat.load();
+        otherFormat.close();
+        nextId = Math.max(otherFormat.nextId, findNextId(tasks));
+        replaceFile(tasks, journal == null ? TaskCodec.NO_SEQUENCE : 0, nextId);
+        Files.move(otherFormatPath, Paths.get(otherFormatPath + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+        otherFormat.journal.delete();
     }
 
-
     /**
-     * Parses a single task entry from a string.
+     * Replays journal records written after the snapshot on top of the loaded tasks.
+     * A journal left behind by an interrupted compaction is folded into the snapshot straight away.
      *
-     * @param line A string representing a task in storage format.
-     * @return The parsed Task object, or null if the entry is invalid.
+     * @param tasks The tasks loaded from the snapshot file.
+     * @param baseSequence The sequence number already covered by the snapshot.
+     * @throws IOException If an error occurs while reading or compacting the journal.
      */
-    private Task parseTask(String line) {
-        String[] parts = line.split("\\|");
-        if (parts.length < 3) {
-            return null;
-        }
-
-        String type = parts[0].trim();
-        boolean isDone = parts[1].trim().equals("1");
-        String description = parts[2].trim();
-
-        Task task;
-        switch (type) {
-        case "T" -> task = new Todo(description);
-        case "D" -> task = (parts.length >= 4)
-                ? new Deadline(description, parseDate(parts[3]))
-                : null;
-        case "E" -> task = (parts.length >= 5)
-                ? new Event(description, parseDate(parts[3]), parseDate(parts[4]))
-                : null;
-        default -> task = null;
+    private void replayJournal(List<Task> tasks, long baseSequence) throws IOException {
+        long lastSequence = baseSequence;
+        int pendingRecords = 0;
+        List<String> records = journal.readRecords();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                String[] parts = records.get(i).split(" \\| ", 3);
+                long sequence = Long.parseLong(parts[0].trim());
+                if (sequence <= baseSequence) {
+                    continue;
+                }
+                applyRecord(tasks, parts[1].trim(), parts.length > 2 ? parts[2] : "");
+                lastSequence = Math.max(lastSequence, sequence);
+                pendingRecords++;
+            } catch (Exception e) {
+                // Later records refer to positions that assume this one was applied, so replay stops here.
+                System.err.println("Stopping at corrupted journal entry: " + records.get(i));
+                journal.discardFrom(i);
+                break;
+            }
         }
-        ;
-
-        if (task != null && isDone) {
-            task.markDone();
+        snapshotSequence = baseSequence;
+        journal.resume(lastSequence, pendingRecords);
+        if (journal.hasRotated()) {
+            nextId = Math.max(nextId, findNextId(tasks));
+            writeSnapshot(encodeSnapshot(tasks, lastSequence), lastSequence);
+            journal.rotate();
+            journal.discardRotated();
         }
-        return task;
     }
 
     /**
-     * Parses a date string into a LocalDateTime object.
+     * Applies a single journal record to the list of tasks.
      *
-     * @param dateString The date string in the expected storage format.
-     * @return A LocalDateTime object representing the parsed date.
+     * @param tasks The tasks to update.
+     * @param operation The operation code of the record.
+     * @param payload The operation-specific payload of the record.
+     * @throws OracleException If the record refers to a task that cannot be rescheduled.
      */
-    private LocalDateTime parseDate(String dateString) {
-        return LocalDateTime.parse(dateString.trim(), STORAGE_FORMATTER);
+    private void applyRecord(List<Task> tasks, String operation, String payload) throws OracleException {
+        switch (operation) {
+        case Journal.ADD -> {
+            Task task = TEXT_CODEC.parseTask(payload);
+            if (task == null) {
+                throw new IllegalArgumentException("Invalid task entry");
+            }
+            tasks.add(task);
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        case Journal.INSERT -> {
+            String[] parts = payload.split(" \\| ", 2);
+            Task task = TEXT_CODEC.parseTask(parts[1]);
+            if (task == null) {
+                throw new IllegalArgumentException("Invalid task entry");
+            }
+            tasks.add(Integer.parseInt(parts[0].trim()), task);
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        case Journal.DELETE -> tasks.remove(Integer.parseInt(payload.trim()));
+        case Journal.MARK, Journal.UNMARK -> {
+            int index = Integer.parseInt(payload.trim());
+            Task task = tasks.get(index);
+            if (operation.equals(Journal.MARK)) {
+                task.markDone();
+            } else {
+                task.markUndone();
+            }
+            tasks.set(index, task);
+        }
+        case Journal.RESCHEDULE -> {
+            String[] parts = payload.split(" \\| ", 2);
+            int index = Integer.parseInt(parts[0].trim());
+            Task task = tasks.get(index);
+            String[] dates = parts[1].split("\\|");
+            if (task instanceof Deadline deadline) {
+                deadline.reschedule(TEXT_CODEC.parseDate(dates[0]));
+            } else if (task instanceof Event event) {
+                event.reschedule(TEXT_CODEC.parseDate(dates[0]), TEXT_CODEC.parseDate(dates[1]));
+            }
+            tasks.set(index, task);
+        }
+        default -> throw new IllegalArgumentException("Unknown journal operation: " + operation);
+        }
     }
 
     /**
@@ -136,40 +372,376 @@ public class Storage {
      * @throws OracleException If an error occurs while writing to the file.
      */
     public void save(ArrayList<Task> tasks) throws OracleException {
+        nextId = Math.max(nextId, findNextId(tasks));
+        saveTasks(tasks);
+    }
+
+    /**
+     * Saves the tasks in a task list to the file for persistent storage.
+     * The tasks are written straight from the list, without copying it.
+     *
+     * @param tasks The task list to be saved.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public void save(TaskList tasks) throws OracleException {
+        nextId = Math.max(nextId, tasks.getNextId());
+        saveTasks(tasks.getTaskView());
+    }
+
+    /**
+     * Saves tasks, in the background in write-behind mode. The tasks are encoded on the caller's
+     * thread even then, since they may change as soon as this method returns.
+     *
+     * @param tasks The tasks to be saved.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    private void saveTasks(List<Task> tasks) throws OracleException {
         try {
             Path parentDir = filePath.getParent();
             if (!Files.exists(parentDir)) {
                 Files.createDirectories(parentDir);
             }
 
-            ArrayList<String> lines = new ArrayList<>();
-            for (Task task : tasks) {
-                String isDone = task.getStatusIcon().equals("X") ? "1" : "0";
+            if (journal != null) {
+                writeSnapshot(encodeSnapshot(tasks, journal.getSequence()), journal.getSequence());
+            } else if (writeBehind != null) {
+                byte[] contents = encodeSnapshot(tasks, TaskCodec.NO_SEQUENCE);
+                writeBehind.submit(() -> replaceFile(contents));
+            } else if (mappedTasks != null) {
+                replaceFile(encodeSnapshot(tasks, TaskCodec.NO_SEQUENCE));
+            } else {
+                replaceFile(tasks, TaskCodec.NO_SEQUENCE, nextId);
+            }
+            remapSnapshot();
+        } catch (IOException e) {
+            throw new OracleException("Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes tasks to a temporary file and then renames it over the task file in a single step.
+     *
+     * @param tasks The tasks to write.
+     * @param sequence The journal sequence number covered by the tasks, or {@code TaskCodec.NO_SEQUENCE}.
+     * @param nextId The ID for the next new task.
+     * @throws IOException If an error occurs while writing or renaming the file.
+     */
+    private void replaceFile(List<Task> tasks, long sequence, long nextId) throws IOException {
+        writeFile(tempPath, tasks, sequence, nextId);
+        moveIntoPlace();
+    }
 
-                String line;
-                switch (task.getType()) {
-                case TODO -> line = String.format("T | %s | %s", isDone,
-                        task.toString().substring(task.toString().indexOf("] ") + 2));
-                case DEADLINE -> {
-                    Deadline d = (Deadline) task;
-                    String desc = task.toString().substring(task.toString().indexOf("] ") + 2,
-                            task.toString().indexOf(" (by:"));
-                    line = String.format("D | %s | %s | %s", isDone, desc, d.toStorageString());
-                }
-                case EVENT -> {
-                    Event e = (Event) task;
-                    String desc = task.toString().substring(task.toString().indexOf("] ") + 2,
-                            task.toString().indexOf(" (from:"));
-                    line = String.format("E | %s | %s | %s", isDone, desc, e.toStorageString());
-                }
-                default -> line = " ";
+    /**
+     * Writes encoded tasks to a temporary file and then renames it over the task file in a single step.
+     *
+     * @param contents The encoded tasks.
+     * @throws IOException If an error occurs while writing or renaming the file.
+     */
+    private void replaceFile(byte[] contents) throws IOException {
+        try (FileOutputStream output = new FileOutputStream(tempPath.toFile())) {
+            output.write(contents);
+            if (isSyncWrites) {
+                output.getFD().sync();
+            }
+        }
+        moveIntoPlace();
+        if (mappedTasks != null) {
+            writtenSnapshot.set(contents);
+        }
+    }
+
+    /**
+     * Renames the temporary file over the task file, and in sync mode forces the rename to the storage device.
+     *
+     * @throws IOException If an error occurs while renaming the file.
+     */
+    private void moveIntoPlace() throws IOException {
+        Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (isSyncWrites) {
+            try (FileChannel directory = FileChannel.open(filePath.getParent(), StandardOpenOption.READ)) {
+                directory.force(true);
+            } catch (IOException e) {
+                // Some platforms cannot open directories; there the rename is as durable as the file system makes it.
+            }
+        }
+    }
+
+    /**
+     * Persists a newly added task.
+     *
+     * @param tasks The task list after the task was added.
+     * @param task The task that was added.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public void saveAdded(TaskList tasks, Task task) throws OracleException {
+        record(tasks, Journal.ADD, TEXT_CODEC.toLine(task));
+    }
+
+    /**
+     * Persists a task inserted in the middle of the list, e.g. a deleted task being restored.
+     *
+     * @param tasks The task list after the task was inserted.
+     * @param index The zero-based index of the inserted task.
+     * @param task The task that was inserted.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public void saveInserted(TaskList tasks, int index, Task task) throws OracleException {
+        record(tasks, Journal.INSERT, index + " | " + TEXT_CODEC.toLine(task));
+    }
+
+    /**
+     * Persists the deletion of a task.
+     *
+     * @param tasks The task list after the task was deleted.
+     * @param index The zero-based index the deleted task had.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public void saveDeleted(TaskList tasks, int index) throws OracleException {
+        record(tasks, Journal.DELETE, String.valueOf(index));
+    }
+
+    /**
+     * Persists a change to the completion status of a task.
+     *
+     * @param tasks The task list containing the task.
+     * @param index The zero-based index of the task.
+     * @param isDone Whether the task is now marked as done.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    public void saveMarked(TaskList tasks, int index, boolean isDone) throws OracleException {
+        record(tasks, isDone ? Journal.MARK : Journal.UNMARK, String.valueOf(index));
+    }
+
+    /**
+     * Persists the new date and time of a rescheduled deadline or event.
+     *
+     * @param tasks The task list containing the task.
+     * @param index The zero-based index of the task.
+     * @throws OracleException If the index is invalid or an error occurs while writing to the file.
+     */
+    public void saveRescheduled(TaskList tasks, int index) throws OracleException {
+        Task task = tasks.getTask(index);
+        String dates;
+        if (task instanceof Deadline deadline) {
+            dates = deadline.toStorageString();
+        } else if (task instanceof Event event) {
+            dates = event.toStorageString();
+        } else {
+            throw new OracleException("Only deadlines and events can be snoozed.");
+        }
+        record(tasks, Journal.RESCHEDULE, index + " | " + dates);
+    }
+
+    /**
+     * Appends a journal record in journal mode, or rewrites the whole file otherwise.
+     * Starts a background compaction once enough records have accumulated.
+     * While saves are deferred, only notes that there are changes to commit.
+     *
+     * @param tasks The current task list.
+     * @param operation The operation code of the record.
+     * @param payload The operation-specific payload of the record.
+     * @throws OracleException If an error occurs while writing to the file.
+     */
+    private void record(TaskList tasks, String operation, String payload) throws OracleException {
+        remapSnapshot();
+        if (isDeferring) {
+            hasDeferredChanges = true;
+            return;
+        }
+        if (hasDeferredChanges) {
+            // A failed commit is retried as a whole, since the journal does not hold its changes.
+            commit(tasks);
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.append(operation, payload);
+            if (writeBehind != null) {
+                writeBehind.submit(journal::flush);
+            } else if (isSyncWrites) {
+                journal.sync();
+            } else {
+                journal.flush();
+            }
+            if (journal.getRecordCount() >= compactionThreshold && !isCompacting) {
+                nextId = Math.max(nextId, tasks.getNextId());
+                compact(tasks.getTaskView());
+            }
+        } catch (IOException e) {
+            throw new OracleException("Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Folds the journal into the task file. The snapshot is taken on the caller's thread and the
+     * journal is rotated, so that writing the snapshot can proceed in the background while new
+     * records go to a fresh journal.
+     *
+     * @param tasks The current tasks.
+     * @throws IOException If an error occurs while rotating the journal.
+     */
+    private void compact(List<Task> tasks) throws IOException {
+        long sequence = journal.getSequence();
+        byte[] snapshot = encodeSnapshot(tasks, sequence);
+        journal.rotate();
+        isCompacting = true;
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "oracle-journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compactor.execute(() -> {
+            try {
+                writeSnapshot(snapshot, sequence);
+                journal.discardRotated();
+            } catch (IOException e) {
+                System.err.println("Error compacting journal: " + e.getMessage());
+            } finally {
+                isCompacting = false;
+            }
+        });
+    }
+
+    /**
+     * Encodes the tasks as a snapshot covering the journal up to the given sequence number.
+     *
+     * @param tasks The tasks to encode.
+     * @param sequence The last journal sequence number reflected in the tasks.
+     * @return The contents of the snapshot file.
+     * @throws IOException If an error occurs while encoding the tasks.
+     */
+    private byte[] encodeSnapshot(List<Task> tasks, long sequence) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        codec.write(tasks, sequence, nextId, output);
+        byte[] snapshot = output.toByteArray();
+        if (mappedTasks != null) {
+            // The mapped file is about to be replaced, which some platforms only allow once it is no longer mapped.
+            mappedTasks.rebase(snapshot, filePath);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Maps the task file again once a snapshot that the mapped list moved onto is in place. If the file
+     * cannot be mapped, the list keeps reading the snapshot from memory.
+     */
+    private void remapSnapshot() {
+        byte[] snapshot = writtenSnapshot.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            mappedTasks.remap(snapshot, filePath);
+        } catch (IOException e) {
+            System.err.println("Could not map the task file again, so tasks stay in memory: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Atomically replaces the task file with a snapshot, unless a newer snapshot was written already.
+     *
+     * @param snapshot The contents of the snapshot.
+     * @param sequence The journal sequence number covered by the snapshot.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    private synchronized void writeSnapshot(byte[] snapshot, long sequence) throws IOException {
+        if (sequence < snapshotSequence) {
+            return;
+        }
+        replaceFile(snapshot);
+        snapshotSequence = sequence;
+    }
+
+    /**
+     * Writes tasks to a file in the format in use, forcing them to the storage device in sync mode.
+     *
+     * @param path The file to write.
+     * @param tasks The tasks to write.
+     * @param sequence The journal sequence number covered by the tasks, or {@code TaskCodec.NO_SEQUENCE}.
+     * @param nextId The ID for the next new task.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    private void writeFile(Path path, List<Task> tasks, long sequence, long nextId) throws IOException {
+        try (FileOutputStream output = new FileOutputStream(path.toFile())) {
+            codec.write(tasks, sequence, nextId, output);
+            if (isSyncWrites) {
+                output.getFD().sync();
+            }
+        }
+    }
+
+    /**
+     * Finds the ID after the highest ID of some tasks.
+     *
+     * @param tasks The tasks.
+     * @return One more than the highest ID.
+     */
+    private static long findNextId(List<Task> tasks) {
+        long maxId = 0;
+        for (Task task : tasks) {
+            maxId = Math.max(maxId, task.getId());
+        }
+        return maxId + 1;
+    }
+
+    /**
+     * Waits for all pending writes and forces the task file and journal to the storage device.
+     *
+     * @throws OracleException If a pending write failed or the files cannot be synced.
+     */
+    public void flush() throws OracleException {
+        try {
+            if (writeBehind != null) {
+                writeBehind.flush();
+            }
+            if (journal != null) {
+                journal.sync();
+            }
+            if (Files.exists(filePath)) {
+                try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                    channel.force(true);
                 }
-                ;
-                lines.add(line);
             }
-            Files.write(filePath, lines);
         } catch (IOException e) {
             throw new OracleException("Error saving tasks: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OracleException("Interrupted while saving tasks.");
+        }
+    }
+
+    /**
+     * Writes all pending changes, waits for any background compaction to finish and closes the journal.
+     *
+     * @throws OracleException If the journal cannot be closed or compaction does not finish in time.
+     */
+    public void close() throws OracleException {
+        flush();
+        try {
+            if (writeBehind != null) {
+                writeBehind.close();
+            }
+            if (compactor != null) {
+                compactor.shutdown();
+                if (!compactor.awaitTermination(COMPACTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new OracleException("Timed out waiting for the journal to be compacted.");
+                }
+                compactor = null;
+            }
+            remapSnapshot();
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            throw new OracleException("Error closing storage: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OracleException("Interrupted while closing storage.");
         }
     }
 }
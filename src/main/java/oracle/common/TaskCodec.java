@@ -0,0 +1,71 @@
+package oracle.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import oracle.task.Task;
+
+/**
+ * Represents an on-disk format for a list of tasks.
+ */
+interface TaskCodec {
+    /** Sequence number passed to {@link #write} when the file is not a journal snapshot. */
+    long NO_SEQUENCE = -1;
+
+    /**
+     * Represents the numbers recorded at the start of a task file.
+     */
+    class Header {
+        /** The header of a file that records neither number, such as one written by an earlier version. */
+        static final Header EMPTY = new Header(0, 0);
+
+        private final long sequence;
+        private final long nextId;
+
+        Header(long sequence, long nextId) {
+            this.sequence = sequence;
+            this.nextId = nextId;
+        }
+
+        /**
+         * Retrieves the journal sequence number covered by the file.
+         *
+         * @return The sequence number, or 0 if there is none.
+         */
+        long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Retrieves the ID for the next new task.
+         *
+         * @return The next ID, or 0 if the file does not record it.
+         */
+        long getNextId() {
+            return nextId;
+        }
+    }
+
+    /**
+     * Reads the tasks stored in a file, skipping entries that cannot be decoded.
+     *
+     * @param path The file to read.
+     * @param tasks The list the decoded tasks are appended to.
+     * @return The numbers recorded at the start of the file.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    Header read(Path path, List<Task> tasks) throws IOException;
+
+    /**
+     * Writes tasks to an output stream, leaving the stream open.
+     *
+     * @param tasks The tasks to write.
+     * @param sequence The journal sequence number covered by the tasks, or {@link #NO_SEQUENCE}.
+     * @param nextId The ID for the next new task, or 0 if it is not known.
+     * @param output The stream to write to.
+     * @throws IOException If an error occurs while writing.
+     */
+    void write(List<Task> tasks, long sequence, long nextId, OutputStream output) throws IOException;
+}
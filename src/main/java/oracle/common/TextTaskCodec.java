@@ -0,0 +1,346 @@
+package oracle.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import oracle.task.Deadline;
+import oracle.task.Event;
+import oracle.task.Task;
+import oracle.task.Todo;
+
+/**
+ * Reads and writes tasks in the human-readable text format, one task per line, starting with the task's ID,
+ * e.g. {@code 7 | D | 1 | homework | 2025-02-21 2359}. A {@code |} or backslash in a description
+ * is preceded by a backslash, and line breaks are written as {@code \n} and {@code \r}.
+ * Each line ends with a CRC-32C checksum of the rest of the line, e.g. {@code | #1c291ca3}, so that
+ * damaged lines are skipped on load; the file is then kept as a {@code .corrupt} copy for inspection.
+ * The file starts with a {@code # format 2} header line, and in such a file a line without a valid
+ * checksum, such as one cut short, counts as damaged. Files without that header were written by earlier
+ * versions: their lines without a checksum are read as they were written, with backslashes kept as they are.
+ * Further header lines may give the journal sequence number the file covers, {@code # seq 12}, and the ID
+ * for the next new task, {@code # next-id 42}, so that IDs of deleted tasks are not given out again.
+ */
+class TextTaskCodec implements TaskCodec {
+    private static final DateTimeFormatter STORAGE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final String HEADER_PREFIX = "#";
+    private static final String FORMAT_HEADER = "# format ";
+    private static final int FORMAT_VERSION = 2;
+    private static final String SNAPSHOT_HEADER = "# seq ";
+    private static final String NEXT_ID_HEADER = "# next-id ";
+    private static final char SEPARATOR = '|';
+    private static final char ESCAPE = '\\';
+    private static final String FIELD_SEPARATOR = " | ";
+    private static final String CHECKSUM_PREFIX = FIELD_SEPARATOR + "#";
+    private static final int CHECKSUM_SUFFIX_LENGTH = CHECKSUM_PREFIX.length() + Checksums.HEX_LENGTH;
+
+    private final Function<Task, String> lineFormatter = this::formatTask;
+
+    @Override
+    public Header read(Path path, List<Task> tasks) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        long sequence = 0;
+        long nextId = 0;
+        boolean isChecked = false;
+        boolean isInHeader = true;
+        int skippedCount = 0;
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+            String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            isInHeader = isInHeader && line.startsWith(HEADER_PREFIX);
+            if (isInHeader && line.startsWith(FORMAT_HEADER)) {
+                isChecked = true;
+            } else if (isInHeader && line.startsWith(SNAPSHOT_HEADER)) {
+                sequence = readHeaderNumber(line, SNAPSHOT_HEADER);
+            } else if (isInHeader && line.startsWith(NEXT_ID_HEADER)) {
+                nextId = readHeaderNumber(line, NEXT_ID_HEADER);
+            } else if (!isInHeader && !line.isBlank()) {
+                Task task = readTask(line, bytes, start, end, isChecked);
+                if (task != null) {
+                    tasks.add(task);
+                } else {
+                    System.err.println("Skipping corrupted entry: " + line);
+                    skippedCount++;
+                }
+            }
+            start = next;
+        }
+        if (skippedCount > 0) {
+            keepDamagedFile(path, skippedCount, tasks.size());
+        }
+        return new Header(sequence, nextId);
+    }
+
+    /**
+     * Decodes a line of the task file, checking its checksum against the bytes it was decoded from.
+     *
+     * @param line The decoded line.
+     * @param bytes The contents of the task file.
+     * @param start The index in {@code bytes} where the line starts.
+     * @param end The index in {@code bytes} just after the line.
+     * @param isChecked Whether the file has a format header, so that every line must have a checksum.
+     * @return The task, or {@code null} if the line is malformed or fails its checksum.
+     */
+    private Task readTask(String line, byte[] bytes, int start, int end, boolean isChecked) {
+        try {
+            List<String> parts = splitFields(line, true);
+            if (hasChecksum(parts, line)) {
+                // The checksum suffix is ASCII, so it takes as many bytes as characters.
+                int checksum = Checksums.of(bytes, start, end - CHECKSUM_SUFFIX_LENGTH - start);
+                boolean isIntact = checksum == Checksums.parse(line, line.length() - Checksums.HEX_LENGTH);
+                return isIntact ? createTask(parts) : null;
+            }
+            return isChecked ? null : createTask(splitFields(line, false));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Keeps a copy of a task file that had damaged entries, since the next save replaces it with
+     * only the entries that could be recovered.
+     */
+    private static void keepDamagedFile(Path path, int skippedCount, int recoveredCount) throws IOException {
+        Path copy = Paths.get(path + ".corrupt");
+        Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+        System.err.println("Recovered " + recoveredCount + " tasks from " + path + " and skipped " + skippedCount
+                + " damaged entries. The original file was kept as " + copy);
+    }
+
+    @Override
+    public void write(List<Task> tasks, long sequence, long nextId, OutputStream output) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(FORMAT_HEADER + FORMAT_VERSION);
+        writer.newLine();
+        if (sequence != NO_SEQUENCE) {
+            writer.write(SNAPSHOT_HEADER + sequence);
+            writer.newLine();
+        }
+        if (nextId > 0) {
+            writer.write(NEXT_ID_HEADER + nextId);
+            writer.newLine();
+        }
+        for (Task task : tasks) {
+            writer.write(toLine(task));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads the number in a header line of the task file.
+     *
+     * @param header The header line.
+     * @param name The start of the header line, up to the number.
+     * @return The number, or 0 if it cannot be read.
+     */
+    private long readHeaderNumber(String header, String name) {
+        try {
+            return Long.parseLong(header.substring(name.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses a single task entry from a string, such as a journal record.
+     * An entry that ends with a checksum is only accepted if the checksum matches. An entry without
+     * one was written by an earlier version, before descriptions were escaped, and is read as written.
+     *
+     * @param line A string representing a task in storage format.
+     * @return The parsed Task object, or null if the entry is invalid.
+     */
+    Task parseTask(String line) {
+        List<String> parts = splitFields(line, true);
+        if (hasChecksum(parts, line)) {
+            int checksum = Checksums.of(line.substring(0, line.length() - CHECKSUM_SUFFIX_LENGTH));
+            boolean isIntact = checksum == Checksums.parse(line, line.length() - Checksums.HEX_LENGTH);
+            return isIntact ? createTask(parts) : null;
+        }
+        return createTask(splitFields(line, false));
+    }
+
+    /**
+     * Checks whether a line ends with a checksum field, i.e. it has one field more than its ID and type
+     * need and that field is a checksum. Lines written before checksums were added have none, and
+     * neither does a line cut short.
+     */
+    private static boolean hasChecksum(List<String> parts, String line) {
+        int idFields = isId(parts.get(0)) ? 1 : 0;
+        String type = parts.size() > idFields ? parts.get(idFields) : "";
+        int fieldCount = switch (type) {
+        case "T" -> 3;
+        case "D" -> 4;
+        case "E" -> 5;
+        default -> -1;
+        };
+        return fieldCount > 0 && parts.size() == idFields + fieldCount + 1 && line.length() >= CHECKSUM_SUFFIX_LENGTH
+                && line.startsWith(CHECKSUM_PREFIX, line.length() - CHECKSUM_SUFFIX_LENGTH);
+    }
+
+    private Task createTask(List<String> parts) {
+        long id = 0;
+        if (!parts.isEmpty() && isId(parts.get(0))) {
+            id = Long.parseLong(parts.remove(0));
+        }
+        if (parts.size() < 3) {
+            return null;
+        }
+
+        String type = parts.get(0);
+        boolean isDone = parts.get(1).equals("1");
+        String description = parts.get(2);
+
+        Task task;
+        switch (type) {
+        case "T" -> task = new Todo(description);
+        case "D" -> task = (parts.size() >= 4)
+                ? new Deadline(description, parseDate(parts.get(3)))
+                : null;
+        case "E" -> task = (parts.size() >= 5)
+                ? new Event(description, parseDate(parts.get(3)), parseDate(parts.get(4)))
+                : null;
+        default -> task = null;
+        }
+        ;
+
+        if (task != null && isDone) {
+            task.markDone();
+        }
+        if (task != null && id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Checks whether the first field of a line is a task ID, which lines written by earlier versions lack.
+     */
+    private static boolean isId(String field) {
+        if (field.isEmpty() || field.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) < '0' || field.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a line into its trimmed fields at each separator that is not escaped, and undoes
+     * the escaping of the descriptions if the line was written with escapes.
+     *
+     * @param line A string representing a task in storage format.
+     * @param isEscaped Whether backslashes start escapes, which lines written before escaping was added lack.
+     * @return The fields of the line.
+     */
+    private static List<String> splitFields(String line, boolean isEscaped) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            char next = i + 1 < line.length() ? line.charAt(i + 1) : 0;
+            if (isEscaped && c == ESCAPE && (next == ESCAPE || next == SEPARATOR || next == 'n' || next == 'r')) {
+                field.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+                i++;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Parses a date string into a LocalDateTime object.
+     *
+     * @param dateString The date string in the expected storage format.
+     * @return A LocalDateTime object representing the parsed date.
+     */
+    LocalDateTime parseDate(String dateString) {
+        return LocalDateTime.parse(dateString.trim(), STORAGE_FORMATTER);
+    }
+
+    /**
+     * Retrieves a task as a line in storage format, reusing the line formatted earlier unless the
+     * task has changed since.
+     *
+     * @param task The task to format.
+     * @return The storage line representing the task.
+     */
+    String toLine(Task task) {
+        return task.getStorageLine(lineFormatter);
+    }
+
+    /**
+     * Formats a single task as a line in storage format, straight from its ID and fields, followed by the
+     * checksum of the line. Separators, backslashes and line breaks in the description are escaped
+     * with a backslash.
+     *
+     * @param task The task to format.
+     * @return The storage line representing the task.
+     */
+    String formatTask(Task task) {
+        StringBuilder line = new StringBuilder(task.getDescription().length() + 64);
+        if (task.getId() > 0) {
+            line.append(task.getId()).append(FIELD_SEPARATOR);
+        }
+        switch (task.getType()) {
+        case TODO -> line.append('T');
+        case DEADLINE -> line.append('D');
+        case EVENT -> line.append('E');
+        default -> line.append(' ');
+        }
+        line.append(FIELD_SEPARATOR).append(task.isDone() ? '1' : '0').append(FIELD_SEPARATOR);
+        appendEscaped(line, task.getDescription());
+        if (task instanceof Deadline deadline) {
+            line.append(FIELD_SEPARATOR);
+            STORAGE_FORMATTER.formatTo(deadline.getDateTime(), line);
+        } else if (task instanceof Event event) {
+            line.append(FIELD_SEPARATOR);
+            STORAGE_FORMATTER.formatTo(event.getStartDateTime(), line);
+            line.append(SEPARATOR);
+            STORAGE_FORMATTER.formatTo(event.getEndDateTime(), line);
+        }
+        int checksum = Checksums.of(line.toString());
+        line.append(CHECKSUM_PREFIX);
+        Checksums.append(line, checksum);
+        return line.toString();
+    }
+
+    private static void appendEscaped(StringBuilder line, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case ESCAPE, SEPARATOR -> line.append(ESCAPE).append(c);
+            case '\n' -> line.append(ESCAPE).append('n');
+            case '\r' -> line.append(ESCAPE).append('r');
+            default -> line.append(c);
+            }
+        }
+    }
+}
@@ -1,21 +1,52 @@
 package oracle.common;
 
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.IntUnaryOperator;
 
+import oracle.command.Change;
+import oracle.task.QueryPlan;
 import oracle.task.Task;
+import oracle.task.TaskPage;
 
 /**
  * Handles user interactions by displaying messages and reading user input.
+ * Output is buffered and flushed once at the end of each response, so a long list is written to
+ * the console in large chunks rather than one line at a time.
  */
 public class Ui {
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
     private final Scanner scanner;
+    private final PrintWriter out;
+    private final int pageSize;
 
     /**
-     * Constructs a Ui object with a scanner to read user input.
+     * Constructs a Ui object that reads from standard input and writes to standard output without paging.
      */
     public Ui() {
-        scanner = new Scanner(System.in);
+        this(System.in, System.out, 0);
+    }
+
+    /**
+     * Constructs a Ui object that reads user input from and writes responses to the given streams.
+     * With a positive page size, lists of tasks pause after every page until the user presses Enter.
+     *
+     * @param in The stream to read user input from.
+     * @param out The stream to write responses to.
+     * @param pageSize The number of tasks shown before pausing, or 0 to show lists without pausing.
+     */
+    public Ui(InputStream in, OutputStream out, int pageSize) {
+        assert pageSize >= 0 : "Page size should not be negative";
+        scanner = new Scanner(in);
+        this.out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out), OUTPUT_BUFFER_SIZE));
+        this.pageSize = pageSize;
     }
 
     /**
@@ -23,16 +54,17 @@ public class Ui {
      */
     public void showWelcome() {
         showLine();
-        System.out.println("    Greetings, traveler! I am Oracle, your cosmic guide.");
-        System.out.println("    How may I chart your course today?");
+        out.println("    Greetings, traveler! I am Oracle, your cosmic guide.");
+        out.println("    How may I chart your course today?");
         showLine();
+        out.flush();
     }
 
     /**
      * Displays a horizontal line for formatting purposes.
      */
     public void showLine() {
-        System.out.println("    ____________________________________________________________");
+        out.println("    ____________________________________________________________");
     }
 
     /**
@@ -51,8 +83,9 @@ public class Ui {
      */
     public void showError(String message) {
         showLine();
-        System.out.println("    " + message);
+        out.println("    " + message);
         showLine();
+        out.flush();
     }
 
     /**
@@ -70,14 +103,27 @@ public class Ui {
     public void showTasks(List<Task> tasks) {
         showLine();
         if (tasks.isEmpty()) {
-            System.out.println("    There are no tasks in your list yet.");
+            out.println("    There are no tasks in your list yet.");
         } else {
-            System.out.println("    Here are the tasks in your list:");
-            tasks.stream()
-                    .map(task -> (tasks.indexOf(task) + 1) + ". " + task)
-                    .forEach(System.out::println);
+            out.println("    Here are the tasks in your list:");
+            showNumberedTasks(tasks, index -> index + 1, true);
         }
         showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays one page of the tasks currently stored, numbered by their position in the list.
+     *
+     * @param page The page of tasks to display.
+     * @param command The command that lists the tasks, used to suggest how to see the next page.
+     */
+    public void showTaskPage(TaskPage page, String command) {
+        showLine();
+        out.println("    Here are the tasks in your list:");
+        showPage(page, command);
+        showLine();
+        out.flush();
     }
 
     /**
@@ -86,16 +132,7 @@ public class Ui {
      * @param tasks The list of tasks to display.
      */
     public void showTasks(Task... tasks) {
-        showLine();
-        if (tasks.length == 0) {
-            System.out.println("    There are no tasks in your list yet.");
-        } else {
-            System.out.println("    Here are the tasks in your list:");
-            for (int i = 0; i < tasks.length; i++) {
-                System.out.println("    " + (i + 1) + ". " + tasks[i]);
-            }
-        }
-        showLine();
+        showTasks(Arrays.asList(tasks));
     }
 
     /**
@@ -106,10 +143,11 @@ public class Ui {
      */
     public void showAddedTask(Task task, int totalTasks) {
         showLine();
-        System.out.println("    Got it. I've added this task to the list:");
-        System.out.println("    " + task);
-        System.out.println("    Now you have " + totalTasks + " tasks in the list.");
+        out.println("    Got it. I've added this task to the list as #" + task.getId() + ":");
+        out.println("    " + task);
+        out.println("    Now you have " + totalTasks + " tasks in the list.");
         showLine();
+        out.flush();
     }
 
     /**
@@ -120,10 +158,11 @@ public class Ui {
      */
     public void showDeletedTask(Task task, int totalTasks) {
         showLine();
-        System.out.println("    Noted. I've removed this task:");
-        System.out.println("      " + task);
-        System.out.println("    Now you have " + totalTasks + " tasks in the list.");
+        out.println("    Noted. I've removed this task:");
+        out.println("      " + task);
+        out.println("    Now you have " + totalTasks + " tasks in the list.");
         showLine();
+        out.flush();
     }
 
     /**
@@ -133,9 +172,10 @@ public class Ui {
      */
     public void showMarkedTask(Task task) {
         showLine();
-        System.out.println("    Great! I've marked this task as done:");
-        System.out.println("    " + task);
+        out.println("    Great! I've marked this task as done:");
+        out.println("    " + task);
         showLine();
+        out.flush();
     }
 
     /**
@@ -145,9 +185,10 @@ public class Ui {
      */
     public void showUnmarkedTask(Task task) {
         showLine();
-        System.out.println("    Alright! I've marked this task as not done yet:");
-        System.out.println("    " + task);
+        out.println("    Alright! I've marked this task as not done yet:");
+        out.println("    " + task);
         showLine();
+        out.flush();
     }
 
     /**
@@ -158,15 +199,122 @@ public class Ui {
     public void showMatchingTasks(List<Task> tasks) {
         showLine();
         if (tasks.isEmpty()) {
-            System.out.println("OOPS! There are no tasks in the list. "
+            out.println("OOPS! There are no tasks in the list. "
                                + "Please add some tasks before trying to find them.");
         } else {
-            System.out.println("    Here are the matching tasks in your list:");
-            for (int i = 0; i < tasks.size(); i++) {
-                System.out.println("    " + (i + 1) + ". " + tasks.get(i));
-            }
+            out.println("    Here are the matching tasks in your list:");
+            showNumberedTasks(tasks, index -> index + 1, true);
+        }
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays one page of the tasks that match a search keyword.
+     *
+     * @param page The page of matching tasks.
+     * @param command The command that found the tasks, used to suggest how to see the next page.
+     */
+    public void showMatchingTaskPage(TaskPage page, String command) {
+        showLine();
+        out.println("    Here are the matching tasks in your list:");
+        showPage(page, command);
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays one page of the tasks of some types or status, numbered by their position in the list.
+     *
+     * @param page The page of matching tasks.
+     * @param command The command that lists the tasks, used to suggest how to see the next page.
+     * @param filter The filter in words, e.g. {@code undone deadlines}.
+     */
+    public void showFilteredTaskPage(TaskPage page, String command, String filter) {
+        showLine();
+        if (page.getTotal() == 0) {
+            out.println("    There are no " + filter + " in your list.");
+        } else {
+            out.println("    Here are the " + filter + " in your list (" + page.getTotal() + "):");
+            showPage(page, command);
+        }
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays how many tasks there are, or how many match a filter.
+     *
+     * @param message The counts in words.
+     */
+    public void showTaskCount(String message) {
+        showLine();
+        out.println("    " + message);
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays the events and deadlines within a requested time range.
+     *
+     * @param tasks The list of scheduled tasks.
+     */
+    public void showScheduledTasks(List<Task> tasks) {
+        showLine();
+        if (tasks.isEmpty()) {
+            out.println("    Nothing is scheduled in that period.");
+        } else {
+            out.println("    Here is what is scheduled in that period:");
+            showNumberedTasks(tasks, index -> index + 1, false);
+        }
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays the deadlines and events that are not done yet and fall due first.
+     *
+     * @param tasks The list of upcoming tasks.
+     */
+    public void showUpcomingTasks(List<Task> tasks) {
+        showLine();
+        if (tasks.isEmpty()) {
+            out.println("    You have no pending deadlines or events.");
+        } else {
+            out.println("    Here is what is coming up next:");
+            showNumberedTasks(tasks, index -> index + 1, false);
         }
         showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays the tasks that match a structured query.
+     *
+     * @param tasks The matching tasks, in the order the query asks for.
+     */
+    public void showQueryResults(List<Task> tasks) {
+        showLine();
+        if (tasks.isEmpty()) {
+            out.println("    No tasks match your query.");
+        } else {
+            out.println("    Here are the tasks that match your query:");
+            showNumberedTasks(tasks, index -> index + 1, false);
+        }
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays how a structured query would be answered.
+     *
+     * @param plan The plan chosen for the query.
+     */
+    public void showQueryPlan(QueryPlan plan) {
+        showLine();
+        out.println("    " + plan.describe().replace("\n", "\n    "));
+        showLine();
+        out.flush();
     }
 
     /**
@@ -174,17 +322,20 @@ public class Ui {
      */
     public void showGoodbye() {
         showLine();
-        System.out.println("    Goodbye! Your journey doesn’t end here, star seeker.\n"
+        out.println("    Goodbye! Your journey doesn’t end here, star seeker.\n"
                 + "Aim for the stars, and may the cosmos guide your way!");
         showLine();
+        out.flush();
     }
 
     /**
-     * Closes the scanner used for user input.
+     * Closes the scanner used for user input and writes out any remaining output.
      */
     public void close() {
         scanner.close();
+        out.flush();
     }
+
     /**
      * Displays a message when a task is successfully snoozed.
      *
@@ -192,10 +343,12 @@ public class Ui {
      */
     public void showSnoozedTask(Task task) {
         showLine();
-        System.out.println("    Got it! The task has been postponed:");
-        System.out.println("    " + task);
+        out.println("    Got it! The task has been postponed:");
+        out.println("    " + task);
         showLine();
+        out.flush();
     }
+
     /**
      * Displays the help message containing available commands.
      *
@@ -203,7 +356,112 @@ public class Ui {
      */
     public void showHelpMessage(String message) {
         showLine();
-        System.out.println("    " + message.replace("\n", "\n    "));
+        out.println("    " + message.replace("\n", "\n    "));
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays the outcome of a batch of commands, including the first failed commands.
+     *
+     * @param summary The summary of the batch.
+     */
+    public void showBatchSummary(BatchSummary summary) {
+        showLine();
+        out.printf("    Ran %d commands in %d ms (%.0f commands/s) with %d commits.%n",
+                summary.getCommandCount(), summary.getElapsedMillis(), summary.getCommandsPerSecond(),
+                summary.getCommitCount());
+        if (summary.getFailureCount() == 0) {
+            out.println("    All commands succeeded.");
+        } else {
+            out.println("    " + summary.getFailureCount() + " commands failed:");
+            summary.getFailures().forEach(failure -> out.println("    " + failure));
+            int unreported = summary.getFailureCount() - summary.getFailures().size();
+            if (unreported > 0) {
+                out.println("    ... and " + unreported + " more.");
+            }
+        }
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays a message when a change to a task is undone.
+     *
+     * @param change The change that was undone.
+     */
+    public void showUndoneChange(Change change) {
+        showLine();
+        out.println("    Undone! Reversed " + change.getName() + " of:");
+        out.println("    " + change.getTask());
+        showLine();
+        out.flush();
+    }
+
+    /**
+     * Displays a message when an undone change to a task is made again.
+     *
+     * @param change The change that was redone.
+     */
+    public void showRedoneChange(Change change) {
+        showLine();
+        out.println("    Redone! Repeated " + change.getName() + " of:");
+        out.println("    " + change.getTask());
         showLine();
+        out.flush();
+    }
+
+    /**
+     * Writes a numbered line for each task in a single pass over the list. With paging enabled, asks
+     * the user whether to go on after every page and stops early if they decline.
+     *
+     * @param tasks The tasks to number and write.
+     * @param numberOf Gives the number to show for the task at each index of the list.
+     * @param isIdShown Whether each task's ID is shown after its number, as in the task list.
+     */
+    private void showNumberedTasks(List<Task> tasks, IntUnaryOperator numberOf, boolean isIdShown) {
+        int shown = 0;
+        for (Task task : tasks) {
+            if (pageSize > 0 && shown > 0 && shown % pageSize == 0 && !continuePaging(tasks.size() - shown)) {
+                return;
+            }
+            int number = numberOf.applyAsInt(shown);
+            shown++;
+            out.print("    ");
+            out.print(number);
+            out.print(". ");
+            if (isIdShown) {
+                out.print("#");
+                out.print(task.getId());
+                out.print(" ");
+            }
+            out.println(task);
+        }
+    }
+
+    /**
+     * Writes the numbered tasks of a page, followed by a summary of the page unless it holds the whole list.
+     */
+    private void showPage(TaskPage page, String command) {
+        showNumberedTasks(page.getTasks(), page::getNumber, true);
+        if (!page.isWholeList()) {
+            out.println("    " + page.describe(command));
+        }
+    }
+
+    /**
+     * Shows the page written so far and waits for the user to ask for the next one.
+     *
+     * @param remaining The number of tasks not shown yet.
+     * @return {@code true} if the user pressed Enter, {@code false} if they typed {@code q} or input ended.
+     */
+    private boolean continuePaging(int remaining) {
+        out.print("    -- " + remaining + " more: press Enter to continue, or q to stop -- ");
+        out.flush();
+        if (scanner.hasNextLine() && !scanner.nextLine().trim().equalsIgnoreCase("q")) {
+            return true;
+        }
+        out.println("    ... " + remaining + " more tasks not shown.");
+        return false;
     }
 }
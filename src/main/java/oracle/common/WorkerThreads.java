@@ -0,0 +1,37 @@
+package oracle.common;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads that run commands in the background.
+ */
+public final class WorkerThreads {
+    private WorkerThreads() {
+    }
+
+    /**
+     * Creates a factory for virtual threads if the running Java version supports them,
+     * or for daemon platform threads otherwise. Virtual threads are looked up reflectively
+     * so that Oracle still runs on Java versions without them.
+     *
+     * @param name The name given to the threads.
+     * @return The thread factory.
+     */
+    public static ThreadFactory newFactory(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class).invoke(builder, name);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            ThreadFactory platformFactory = Executors.defaultThreadFactory();
+            return runnable -> {
+                Thread thread = platformFactory.newThread(runnable);
+                thread.setName(name);
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
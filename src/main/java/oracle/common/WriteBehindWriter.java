@@ -0,0 +1,144 @@
+package oracle.common;
+
+import java.io.IOException;
+
+/**
+ * Performs storage writes on a single background thread, coalescing bursts of writes.
+ * Only the most recently submitted write is kept, since each write supersedes the ones
+ * before it, and a write is held back for up to the configured delay to collect more.
+ * A write that fails is reported on the error stream straight away, and to the caller of the next
+ * submit or flush, whose own write is still scheduled and replaces the failed one.
+ */
+class WriteBehindWriter {
+    private final long maxDelayMillis;
+    private final Object lock = new Object();
+    private Thread thread;
+    private IoAction pending;
+    private long submittedCount;
+    private long completedCount;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+    private IOException failure;
+
+    /**
+     * Represents a write that may fail with an {@code IOException}.
+     */
+    interface IoAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Constructs a WriteBehindWriter that waits at most the given delay before writing.
+     *
+     * @param maxDelayMillis The maximum time in milliseconds a write is held back to coalesce it with later ones.
+     */
+    WriteBehindWriter(long maxDelayMillis) {
+        assert maxDelayMillis >= 0 : "Delay should not be negative";
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Schedules a write, replacing any write that has not started yet.
+     *
+     * @param write The write to perform.
+     * @throws IOException If a previous background write failed. The given write is scheduled regardless.
+     */
+    void submit(IoAction write) throws IOException {
+        synchronized (lock) {
+            pending = write;
+            submittedCount++;
+            if (thread == null) {
+                thread = new Thread(this::runWrites, "oracle-write-behind");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            lock.notifyAll();
+            throwFailure();
+        }
+    }
+
+    /**
+     * Waits until every write submitted so far has been performed.
+     *
+     * @throws IOException If a background write failed.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    void flush() throws IOException, InterruptedException {
+        synchronized (lock) {
+            long target = submittedCount;
+            isFlushRequested = true;
+            lock.notifyAll();
+            while (completedCount < target) {
+                lock.wait();
+            }
+            isFlushRequested = false;
+            throwFailure();
+        }
+    }
+
+    /**
+     * Performs all outstanding writes and stops the background thread.
+     *
+     * @throws IOException If a background write failed.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    void close() throws IOException, InterruptedException {
+        flush();
+        synchronized (lock) {
+            isClosed = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void runWrites() {
+        while (true) {
+            IoAction write;
+            long target;
+            synchronized (lock) {
+                try {
+                    while (pending == null && !isClosed) {
+                        lock.wait();
+                    }
+                    if (isClosed) {
+                        thread = null;
+                        return;
+                    }
+                    long deadline = System.currentTimeMillis() + maxDelayMillis;
+                    long remaining = maxDelayMillis;
+                    while (remaining > 0 && !isFlushRequested && !isClosed) {
+                        lock.wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                } catch (InterruptedException e) {
+                    thread = null;
+                    return;
+                }
+                write = pending;
+                pending = null;
+                target = submittedCount;
+            }
+            IOException writeFailure = null;
+            try {
+                write.run();
+            } catch (IOException e) {
+                System.err.println("Error saving tasks in the background: " + e.getMessage());
+                writeFailure = e;
+            }
+            synchronized (lock) {
+                if (writeFailure != null) {
+                    failure = writeFailure;
+                }
+                completedCount = target;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void throwFailure() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw new IOException("an earlier save in the background failed (" + e.getMessage() + ")", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package oracle.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import oracle.Oracle;
+import oracle.common.OracleException;
+import oracle.common.WorkerThreads;
+
+/**
+ * Represents a headless HTTP server that lets several local clients share one Oracle instance.
+ * The server only listens on the loopback address. Each request is handled on its own worker
+ * (a virtual thread when the running Java version supports them) and carries one command as its
+ * body, e.g. {@code curl -d "todo read book" http://127.0.0.1:8642/command}; commands run one at
+ * a time against the shared task list.
+ * Small responses are sent sooner with Nagle's algorithm off. The JDK server only reads that setting
+ * from the JVM-wide {@code sun.net.httpserver.nodelay} property, so it is left to the launcher to call
+ * {@link #enableNoDelay()} rather than being changed by every server that is constructed.
+ */
+public class OracleServer {
+    /** Port the server listens on when no other port is given. */
+    public static final int DEFAULT_PORT = 8642;
+
+    private static final String COMMAND_PATH = "/command";
+    private static final int MAX_COMMAND_BYTES = 64 * 1024;
+    private static final int BACKLOG = 128;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final Oracle oracle;
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    /**
+     * Constructs an OracleServer serving the given Oracle instance on a loopback port.
+     *
+     * @param oracle The Oracle instance that runs the commands.
+     * @param port The port to listen on, or 0 to pick a free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public OracleServer(Oracle oracle, int port) throws IOException {
+        this.oracle = oracle;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.workers = Executors.newCachedThreadPool(WorkerThreads.newFactory("oracle-server"));
+        server.createContext(COMMAND_PATH, this::handle);
+        server.setExecutor(workers);
+    }
+
+    /**
+     * Turns off Nagle's algorithm for HTTP servers created afterwards in this JVM, unless the
+     * {@code sun.net.httpserver.nodelay} property has been set already, e.g. on the command line.
+     * Small responses would otherwise wait for delayed acknowledgements from the client.
+     */
+    public static void enableNoDelay() {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return The port number.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for requests in progress and writes out pending changes.
+     *
+     * @throws OracleException If pending changes cannot be written.
+     */
+    public void stop() throws OracleException {
+        server.stop(1);
+        workers.shutdown();
+        oracle.close();
+    }
+
+    /**
+     * Runs the command in the body of a request and sends back the response as plain text.
+     * Invalid commands are answered with status 422 and the error message.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "Send commands as the body of a POST request.");
+                return;
+            }
+            String input = readCommand(exchange.getRequestBody());
+            if (input == null) {
+                send(exchange, 413, "Commands are limited to " + MAX_COMMAND_BYTES + " bytes.");
+            } else if (input.isBlank()) {
+                send(exchange, 400, "Please enter a command. Type 'help' to see the list of commands.");
+            } else {
+                respond(exchange, input.trim());
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, String input) throws IOException {
+        try {
+            send(exchange, 200, oracle.execute(input));
+        } catch (OracleException e) {
+            send(exchange, 422, "Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            send(exchange, 500, "Error: " + e.getMessage());
+        }
+    }
+
+    private static String readCommand(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(MAX_COMMAND_BYTES + 1);
+        return bytes.length > MAX_COMMAND_BYTES ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts a server for the default task file and keeps it running until the process is stopped.
+     *
+     * @param args The port to listen on, optionally.
+     * @throws IOException If the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        enableNoDelay();
+        OracleServer server = new OracleServer(new Oracle("data/oracle.txt"), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.stop();
+            } catch (OracleException e) {
+                System.err.println(e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("Oracle is listening on http://127.0.0.1:" + server.getPort() + COMMAND_PATH);
+    }
+}
@@ -59,13 +59,13 @@ public class Deadline extends Task {
     }
 
     /**
-     * Returns a string representation of the Deadline task for user display.
+     * Formats a string representation of the Deadline task for user display.
      *
      * @return A formatted string containing the task description and due date.
      */
     @Override
-    public String toString() {
-        return super.toString() + " (by: " + by.format(OUTPUT_FORMATTER) + ")";
+    protected String render() {
+        return super.render() + " (by: " + by.format(OUTPUT_FORMATTER) + ")";
     }
 
     /**
@@ -84,6 +84,7 @@ public class Deadline extends Task {
      */
     public void reschedule(LocalDateTime newDateTime) {
         this.by = newDateTime;
+        invalidate();
     }
 
 }
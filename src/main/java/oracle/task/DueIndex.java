@@ -0,0 +1,217 @@
+package oracle.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Represents an indexed binary min-heap of the deadlines and events that are not done yet,
+ * ordered by due date or start time. Each entry knows its position in the heap, so a task can be
+ * removed or moved after a change in O(log n) time, and the first k tasks are read in O(k log k)
+ * time without disturbing the heap. Tasks due at the same time come in the order they were added,
+ * which is list order; deadlines and events that are done keep their place in that order while out
+ * of the heap, so that unmarking one puts it back where a scan of the list would find it.
+ */
+class DueIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Task, Entry> entries = new IdentityHashMap<>();
+    private Entry[] heap = new Entry[INITIAL_CAPACITY];
+    private int size;
+    private long nextSequence;
+
+    /**
+     * Represents an indexed task along with its due time and position in the heap, or -1 while it is done.
+     */
+    private static class Entry {
+        private final Task task;
+        private final long sequence;
+        private LocalDateTime due;
+        private int position = -1;
+
+        Entry(Task task, long sequence, LocalDateTime due) {
+            this.task = task;
+            this.sequence = sequence;
+            this.due = due;
+        }
+
+        boolean isBefore(Entry other) {
+            int result = due.compareTo(other.due);
+            return result != 0 ? result < 0 : sequence < other.sequence;
+        }
+    }
+
+    /**
+     * Adds a task to the index if it is a deadline or event, placing it in the heap unless it is done.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        if (!(task instanceof Deadline) && !(task instanceof Event)) {
+            return;
+        }
+        Entry entry = new Entry(task, nextSequence++, dueOf(task));
+        entries.put(task, entry);
+        if (entry.due != null) {
+            insert(entry);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        Entry entry = entries.remove(task);
+        if (entry != null && entry.position >= 0) {
+            removeFromHeap(entry);
+        }
+    }
+
+    /**
+     * Brings a task up to date after it was marked, unmarked or rescheduled.
+     *
+     * @param task The task that changed.
+     */
+    void update(Task task) {
+        Entry entry = entries.get(task);
+        if (entry == null) {
+            add(task);
+            return;
+        }
+        LocalDateTime due = dueOf(task);
+        if (due == null) {
+            if (entry.position >= 0) {
+                removeFromHeap(entry);
+            }
+            entry.due = null;
+        } else if (entry.position < 0) {
+            entry.due = due;
+            insert(entry);
+        } else if (!due.equals(entry.due)) {
+            entry.due = due;
+            siftUp(entry.position);
+            siftDown(entry.position);
+        }
+    }
+
+    private void insert(Entry entry) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        place(entry, size++);
+        siftUp(entry.position);
+    }
+
+    private void removeFromHeap(Entry entry) {
+        int position = entry.position;
+        entry.position = -1;
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (position < size) {
+            place(last, position);
+            siftDown(position);
+            siftUp(last.position);
+        }
+    }
+
+    /**
+     * Retrieves the tasks that fall due first.
+     *
+     * @param count The maximum number of tasks to retrieve.
+     * @return Up to {@code count} tasks, ordered by due date or start time.
+     */
+    List<Task> first(int count) {
+        List<Task> result = new ArrayList<>(Math.min(count, size));
+        if (count > 0) {
+            visitInOrder(task -> {
+                result.add(task);
+                return result.size() < count;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Visits the tasks in order of due date or start time, reading the first k tasks in O(k log k) time.
+     *
+     * @param visitor Called with each task in turn; returns {@code false} to stop the visit.
+     */
+    void visitInOrder(Predicate<Task> visitor) {
+        PriorityQueue<Entry> frontier = new PriorityQueue<>((a, b) -> a.isBefore(b) ? -1 : 1);
+        if (size > 0) {
+            frontier.add(heap[0]);
+        }
+        while (!frontier.isEmpty()) {
+            Entry entry = frontier.poll();
+            if (!visitor.test(entry.task)) {
+                return;
+            }
+            for (int child = 2 * entry.position + 1; child <= 2 * entry.position + 2 && child < size; child++) {
+                frontier.add(heap[child]);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of indexed tasks.
+     *
+     * @return The number of deadlines and events that are not done.
+     */
+    int size() {
+        return size;
+    }
+
+    private static LocalDateTime dueOf(Task task) {
+        if (task.isDone()) {
+            return null;
+        }
+        if (task instanceof Deadline deadline) {
+            return deadline.getDateTime();
+        }
+        if (task instanceof Event event) {
+            return event.getStartDateTime();
+        }
+        return null;
+    }
+
+    private void siftUp(int position) {
+        Entry entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!entry.isBefore(heap[parent])) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(entry, position);
+    }
+
+    private void siftDown(int position) {
+        Entry entry = heap[position];
+        while (2 * position + 1 < size) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && heap[child + 1].isBefore(heap[child])) {
+                child++;
+            }
+            if (!heap[child].isBefore(entry)) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(entry, position);
+    }
+
+    private void place(Entry entry, int position) {
+        heap[position] = entry;
+        entry.position = position;
+    }
+}
@@ -79,13 +79,13 @@ public class Event extends Task {
     }
 
     /**
-     * Returns a string representation of the Event task for user display.
+     * Formats a string representation of the Event task for user display.
      *
      * @return A formatted string containing the task description, start time, and end time.
      */
     @Override
-    public String toString() {
-        return super.toString() + " (from: " + from.format(OUTPUT_FORMATTER)
+    protected String render() {
+        return super.render() + " (from: " + from.format(OUTPUT_FORMATTER)
                 + " to: " + to.format(OUTPUT_FORMATTER) + ")";
     }
 
@@ -111,6 +111,7 @@ public class Event extends Task {
         }
         this.from = newFrom;
         this.to = newTo;
+        invalidate();
     }
 
 
@@ -0,0 +1,228 @@
+package oracle.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Represents a list stored as a balanced tree ordered by position, in which each node knows the size
+ * of its subtree. Getting, inserting and removing an element at any position takes O(log n) time,
+ * unlike an {@code ArrayList}, which shifts every later element on insertion and removal.
+ * The tree is a treap: nodes are kept in heap order of random priorities, which keeps it balanced
+ * with high probability.
+ *
+ * @param <E> The type of the elements in the list.
+ */
+public class IndexedTreeList<E> extends AbstractList<E> {
+    private final Random random = new Random();
+    private Node<E> root;
+
+    /**
+     * Represents a node of the tree.
+     */
+    private static class Node<E> {
+        private E value;
+        private final int priority;
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Constructs an empty IndexedTreeList.
+     */
+    public IndexedTreeList() {
+    }
+
+    /**
+     * Constructs an IndexedTreeList holding the given elements in the same order, in O(n) time.
+     *
+     * @param elements The elements to initialize the list with.
+     */
+    @SuppressWarnings("unchecked")
+    public IndexedTreeList(Collection<? extends E> elements) {
+        Object[] values = elements.toArray();
+        int height = 32 - Integer.numberOfLeadingZeros(values.length);
+        root = build((E[]) values, 0, values.length, 0, height);
+    }
+
+    /**
+     * Builds a perfectly balanced subtree whose priorities decrease level by level, so that the
+     * heap order of the priorities holds.
+     */
+    private Node<E> build(E[] values, int from, int to, int depth, int height) {
+        if (from >= to) {
+            return null;
+        }
+        int band = Integer.MAX_VALUE / (height + 1);
+        int middle = (from + to) >>> 1;
+        Node<E> node = new Node<>(values[middle], (height - depth) * band + random.nextInt(band));
+        node.left = build(values, from, middle, depth + 1, height);
+        node.right = build(values, middle + 1, to, depth + 1, height);
+        update(node);
+        return node;
+    }
+
+    @Override
+    public E get(int index) {
+        return nodeAt(index).value;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Node<E> node = nodeAt(index);
+        E previous = node.value;
+        node.value = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<E>[] parts = split(root, index);
+        root = merge(merge(parts[0], new Node<>(element, random.nextInt())), parts[1]);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        Node<E>[] parts = split(root, index);
+        Node<E>[] rest = split(parts[1], 1);
+        root = merge(parts[0], rest[1]);
+        modCount++;
+        return rest[0].value;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns an iterator that walks the tree in order, taking O(n) time for the whole list.
+     *
+     * @return An iterator over the elements in order.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+            private final int expectedModCount = modCount;
+            private Node<E> next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                next = node.right;
+                return node.value;
+            }
+        };
+    }
+
+    private Node<E> nodeAt(int index) {
+        checkIndex(index);
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Splits a subtree into the first {@code count} elements and the rest.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, int count) {
+        if (node == null) {
+            return (Node<E>[]) new Node<?>[] {null, null};
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Node<E>[] parts = split(node.left, count);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+        Node<E>[] parts = split(node.right, count - leftSize - 1);
+        node.right = parts[0];
+        update(node);
+        parts[0] = node;
+        return parts;
+    }
+
+    /**
+     * Joins two subtrees, all of whose elements in {@code left} come before those in {@code right}.
+     */
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package oracle.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an inverted trigram index over the lower-cased display strings of tasks.
+ * A keyword query looks up the rarest trigram of the keyword and only verifies the tasks
+ * in that posting set, so the cost of a query follows the number of candidates rather than
+ * the size of the task list.
+ */
+class KeywordIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private final Map<Task, Entry> entries = new IdentityHashMap<>();
+    private long nextSequence;
+
+    /**
+     * Represents the indexed text of a task along with its insertion order.
+     */
+    private static class Entry {
+        private final long sequence;
+        private final String text;
+
+        Entry(long sequence, String text) {
+            this.sequence = sequence;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Adds a task to the index.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        index(task, nextSequence++);
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        Entry entry = entries.remove(task);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : grams(entry.text)) {
+            Set<Task> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(task);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-indexes a task whose display string has changed, keeping its position in the results.
+     *
+     * @param task The task that changed.
+     */
+    void update(Task task) {
+        Entry entry = entries.get(task);
+        if (entry == null) {
+            return;
+        }
+        remove(task);
+        index(task, entry.sequence);
+    }
+
+    /**
+     * Finds the tasks whose display string contains the keyword, ignoring case.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks in the order they were added, which is list order for a list that only
+     *     ever grows at the end.
+     */
+    List<Task> find(String keyword) {
+        String query = keyword.toLowerCase(Locale.ROOT);
+        List<Map.Entry<Task, Entry>> matches = new ArrayList<>();
+        if (query.length() < GRAM_LENGTH) {
+            for (Map.Entry<Task, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().text.contains(query)) {
+                    matches.add(entry);
+                }
+            }
+        } else {
+            for (Task task : rarestPosting(query)) {
+                Entry entry = entries.get(task);
+                if (entry.text.contains(query)) {
+                    matches.add(Map.entry(task, entry));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingLong(match -> match.getValue().sequence));
+        List<Task> result = new ArrayList<>(matches.size());
+        for (Map.Entry<Task, Entry> match : matches) {
+            result.add(match.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Counts the tasks that a search for the keyword would verify, without verifying them.
+     *
+     * @param keyword The keyword to search for.
+     * @return The number of candidate tasks.
+     */
+    int countCandidates(String keyword) {
+        String query = keyword.toLowerCase(Locale.ROOT);
+        return query.length() < GRAM_LENGTH ? entries.size() : rarestPosting(query).size();
+    }
+
+    private Set<Task> rarestPosting(String query) {
+        Set<Task> rarest = null;
+        for (String gram : grams(query)) {
+            Set<Task> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            if (rarest == null || posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private void index(Task task, long sequence) {
+        String text = task.toString().toLowerCase(Locale.ROOT);
+        entries.put(task, new Entry(sequence, text));
+        for (String gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(task);
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
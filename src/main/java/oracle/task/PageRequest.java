@@ -0,0 +1,92 @@
+package oracle.task;
+
+import java.util.List;
+
+import oracle.common.OracleException;
+
+/**
+ * Represents which part of a long list of tasks to show: either a numbered page, or the tasks
+ * that follow a cursor handed out with an earlier page.
+ */
+public class PageRequest {
+    /** Number of tasks on a page when no limit is given. */
+    public static final int DEFAULT_LIMIT = 50;
+    /** Largest number of tasks that can be shown on one page. */
+    public static final int MAX_LIMIT = 1000;
+
+    private final int pageNumber;
+    private final int limit;
+    private final String cursor;
+
+    /**
+     * Constructs a request for a numbered page.
+     *
+     * @param pageNumber The number of the page, starting from 1.
+     * @param limit The number of tasks on each page.
+     */
+    public PageRequest(int pageNumber, int limit) {
+        this(pageNumber, limit, null);
+    }
+
+    /**
+     * Constructs a request for the tasks that follow a cursor.
+     *
+     * @param cursor The cursor from the end of the previous page.
+     * @param limit The maximum number of tasks to show.
+     */
+    public PageRequest(String cursor, int limit) {
+        this(0, limit, cursor);
+    }
+
+    private PageRequest(int pageNumber, int limit, String cursor) {
+        assert limit > 0 : "Page limit should be positive";
+        this.pageNumber = pageNumber;
+        this.limit = limit;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Creates a request for the first page of the default size.
+     *
+     * @return The request.
+     */
+    public static PageRequest firstPage() {
+        return new PageRequest(1, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates a request for every task on a single page, for the console, which streams long lists.
+     *
+     * @return The request.
+     */
+    public static PageRequest all() {
+        return new PageRequest(1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Selects the requested part of a list of tasks.
+     *
+     * @param tasks The whole list of tasks.
+     * @return The requested page.
+     * @throws OracleException If the cursor is not one handed out by {@link TaskPage}.
+     */
+    public TaskPage apply(List<Task> tasks) throws OracleException {
+        return apply(tasks, null);
+    }
+
+    /**
+     * Selects the requested part of some of the tasks in the task list, keeping their task numbers.
+     *
+     * @param tasks The tasks to page through.
+     * @param positions The zero-based position of each of these tasks in the task list,
+     *                  or {@code null} if the tasks are the whole task list.
+     * @return The requested page.
+     * @throws OracleException If the cursor is not one handed out by {@link TaskPage}.
+     */
+    public TaskPage apply(List<Task> tasks, int[] positions) throws OracleException {
+        int start = cursor == null
+                ? (int) Math.min((long) (pageNumber - 1) * limit, tasks.size())
+                : TaskPage.resolveCursor(tasks, cursor);
+        return TaskPage.of(tasks, positions, start, limit);
+    }
+}
@@ -0,0 +1,120 @@
+package oracle.task;
+
+import java.util.Map;
+
+/**
+ * Represents how a {@link TaskQuery} is answered: the access path that produces candidate tasks,
+ * the estimated number of tasks it examines, and whether the matches still need sorting.
+ * Every candidate is checked against all filters of the query, so the access path only
+ * decides how much of the task list is looked at, never which tasks match.
+ */
+public class QueryPlan {
+    /**
+     * Represents a way of producing the candidate tasks for a query.
+     */
+    public enum AccessPath {
+        /** Looks up the tasks containing the query text in the keyword index. */
+        KEYWORD_INDEX("keyword index"),
+
+        /** Looks up the deadlines and events falling due in the query's date range in the schedule tree. */
+        SCHEDULE_INDEX("schedule index"),
+
+        /** Visits the tasks of the query's types and status through the partition bitsets, in list order. */
+        TYPE_PARTITION("type and status partitions"),
+
+        /** Walks the deadlines and events that are not done in order of due date. */
+        DUE_ORDER("due date heap"),
+
+        /** Checks every task in list order. */
+        FULL_SCAN("full scan");
+
+        private final String label;
+
+        AccessPath(String label) {
+            this.label = label;
+        }
+    }
+
+    private final TaskQuery query;
+    private final AccessPath accessPath;
+    private final long estimatedCost;
+    private final int taskCount;
+    private final boolean needsSort;
+    private final Map<AccessPath, Long> alternatives;
+
+    /**
+     * Constructs a QueryPlan.
+     *
+     * @param query The query the plan answers.
+     * @param accessPath The chosen access path.
+     * @param estimatedCost The estimated number of tasks the access path examines.
+     * @param taskCount The number of tasks in the list.
+     * @param needsSort Whether the matches must be sorted after they are collected.
+     * @param alternatives The other applicable access paths and their estimated costs.
+     */
+    QueryPlan(TaskQuery query, AccessPath accessPath, long estimatedCost, int taskCount, boolean needsSort,
+            Map<AccessPath, Long> alternatives) {
+        this.query = query;
+        this.accessPath = accessPath;
+        this.estimatedCost = estimatedCost;
+        this.taskCount = taskCount;
+        this.needsSort = needsSort;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Retrieves the chosen access path.
+     *
+     * @return The access path.
+     */
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Retrieves the estimated number of tasks the plan examines.
+     *
+     * @return The estimated cost.
+     */
+    public long getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    /**
+     * Checks whether the matches are sorted after they are all collected, in which case
+     * the plan cannot stop at the limit.
+     *
+     * @return {@code true} if the access path does not produce the requested order.
+     */
+    public boolean needsSort() {
+        return needsSort;
+    }
+
+    /**
+     * Describes the plan, the steps it takes and the alternatives it was chosen over.
+     *
+     * @return A description of the plan over several lines.
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder("Plan: ").append(accessPath.label);
+        if (accessPath == AccessPath.KEYWORD_INDEX) {
+            description.append(" on \"").append(query.getText()).append('"');
+        }
+        description.append("\nFilter: ").append(query.describeFilters());
+        if (needsSort) {
+            description.append("\nThen: sort all matches by due date and keep the first ").append(query.getLimit());
+        } else {
+            description.append("\nThen: stop after ").append(query.getLimit()).append(" matches");
+            if (query.getSortOrder() == TaskQuery.SortOrder.DUE) {
+                description.append(", already in due date order");
+            }
+        }
+        description.append("\nEstimated tasks examined: ").append(estimatedCost).append(" of ").append(taskCount);
+        if (!alternatives.isEmpty()) {
+            description.append("\nAlso considered:");
+            alternatives.forEach((path, cost) -> description.append(' ').append(path.label)
+                    .append(" (").append(cost).append(')'));
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package oracle.task;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Chooses the cheapest way to answer a {@link TaskQuery}. The cost of an access path is the number
+ * of tasks it is expected to examine. Index sizes are known exactly, while the share of tasks that
+ * a filter lets through is estimated with fixed selectivities, as simple database planners do.
+ * A path that produces tasks in the requested order can stop once the limit is reached, which
+ * lowers its cost to the number of tasks needed to find that many matches. The partitions count
+ * their tasks exactly, but also read one word of each bitset for every 64 tasks in the list.
+ */
+class QueryPlanner {
+    /** Estimated share of tasks before or after a given due date. */
+    private static final double RANGE_SELECTIVITY = 1.0 / 3;
+    /** Estimated share of tasks that are done, or not done. */
+    private static final double STATUS_SELECTIVITY = 0.5;
+    /** Estimated share of tasks containing a text when no keyword index can count them. */
+    private static final double TEXT_SELECTIVITY = 0.1;
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Plans a query over the task list using whichever of the given indexes apply.
+     *
+     * @param query The query to plan.
+     * @param taskCount The number of tasks in the list.
+     * @param keywordIndex The keyword index, or {@code null} if keyword searches scan the list.
+     * @param scheduleIndex The schedule index, or {@code null} if it has not been built.
+     * @param dueIndex The index of pending tasks by due date, or {@code null} if it has not been built.
+     * @param partitions The partitions by type and status, or {@code null} if they have not been built.
+     * @return The cheapest plan.
+     */
+    static QueryPlan plan(TaskQuery query, int taskCount, KeywordIndex keywordIndex, ScheduleIndex scheduleIndex,
+            DueIndex dueIndex, TaskPartitions partitions) {
+        boolean isSortedByDue = query.getSortOrder() == TaskQuery.SortOrder.DUE;
+        double textSelectivity = TEXT_SELECTIVITY;
+        Map<QueryPlan.AccessPath, Long> costs = new EnumMap<>(QueryPlan.AccessPath.class);
+
+        if (query.getText() != null && keywordIndex != null) {
+            int candidates = keywordIndex.countCandidates(query.getText());
+            textSelectivity = taskCount == 0 ? 0 : (double) candidates / taskCount;
+            costs.put(QueryPlan.AccessPath.KEYWORD_INDEX, (long) candidates);
+        }
+        double rangeSelectivity = rangeSelectivity(query);
+        if (query.hasDueRange() && scheduleIndex != null) {
+            costs.put(QueryPlan.AccessPath.SCHEDULE_INDEX, Math.round(scheduleIndex.size() * rangeSelectivity));
+        }
+        double otherSelectivity = typeSelectivity(query) * textSelectivity(query, textSelectivity);
+        if (isSortedByDue && Boolean.FALSE.equals(query.getIsDone()) && query.needsDueDate() && dueIndex != null) {
+            double walked = query.getDueBefore() == null ? dueIndex.size() : dueIndex.size() * RANGE_SELECTIVITY;
+            if (query.getDueFrom() == null) {
+                walked = Math.min(walked, query.getLimit() / Math.max(otherSelectivity, Double.MIN_VALUE));
+            }
+            costs.put(QueryPlan.AccessPath.DUE_ORDER, Math.round(walked));
+        }
+        boolean isPartitioned = query.getTypes().size() < TaskType.values().length || query.getIsDone() != null;
+        if (isPartitioned && partitions != null) {
+            double visited = partitions.count(query.getTypes(), query.getIsDone());
+            double remainingSelectivity = rangeSelectivity * textSelectivity(query, textSelectivity);
+            if (!isSortedByDue && remainingSelectivity > 0) {
+                visited = Math.min(visited, Math.ceil(query.getLimit() / remainingSelectivity));
+            }
+            long wordsRead = taskCount / Long.SIZE;
+            costs.put(QueryPlan.AccessPath.TYPE_PARTITION, Math.round(visited) + wordsRead);
+        }
+        double selectivity = otherSelectivity * rangeSelectivity * statusSelectivity(query);
+        long scanCost = taskCount;
+        if (!isSortedByDue && selectivity > 0) {
+            scanCost = Math.min(taskCount, (long) Math.ceil(query.getLimit() / selectivity));
+        }
+        costs.put(QueryPlan.AccessPath.FULL_SCAN, scanCost);
+
+        QueryPlan.AccessPath best = QueryPlan.AccessPath.FULL_SCAN;
+        for (Map.Entry<QueryPlan.AccessPath, Long> cost : costs.entrySet()) {
+            if (cost.getValue() < costs.get(best)) {
+                best = cost.getKey();
+            }
+        }
+        long bestCost = costs.remove(best);
+        boolean needsSort = isSortedByDue && (best == QueryPlan.AccessPath.KEYWORD_INDEX
+                || best == QueryPlan.AccessPath.TYPE_PARTITION || best == QueryPlan.AccessPath.FULL_SCAN);
+        return new QueryPlan(query, best, bestCost, taskCount, needsSort, costs);
+    }
+
+    private static double rangeSelectivity(TaskQuery query) {
+        double selectivity = 1;
+        if (query.getDueFrom() != null) {
+            selectivity *= RANGE_SELECTIVITY;
+        }
+        if (query.getDueBefore() != null) {
+            selectivity *= RANGE_SELECTIVITY;
+        }
+        return selectivity;
+    }
+
+    private static double typeSelectivity(TaskQuery query) {
+        return (double) query.getTypes().size() / TaskType.values().length;
+    }
+
+    private static double statusSelectivity(TaskQuery query) {
+        return query.getIsDone() == null ? 1 : STATUS_SELECTIVITY;
+    }
+
+    private static double textSelectivity(TaskQuery query, double selectivity) {
+        return query.getText() == null ? 1 : selectivity;
+    }
+}
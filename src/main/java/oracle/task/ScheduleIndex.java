@@ -0,0 +1,275 @@
+package oracle.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Represents an interval tree over the time spans of events and the due dates of deadlines.
+ * The tree is a treap ordered by start time in which each node also records the latest end time
+ * in its subtree, so a time range query skips every subtree that ends before the range or starts
+ * after it. Deadlines are indexed as intervals that start and end at their due date.
+ */
+class ScheduleIndex {
+    private final Map<Task, Node> nodes = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * Represents an indexed task along with its interval and the latest end time in its subtree.
+     */
+    private static class Node {
+        private final Task task;
+        private final long sequence;
+        private final int priority;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Task task, long sequence, int priority, LocalDateTime start, LocalDateTime end) {
+            this.task = task;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        int compareTo(LocalDateTime otherStart, long otherSequence) {
+            int result = start.compareTo(otherStart);
+            return result != 0 ? result : Long.compare(sequence, otherSequence);
+        }
+    }
+
+    /**
+     * Adds a task to the index. Tasks without a date are ignored.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        LocalDateTime[] interval = intervalOf(task);
+        if (interval == null) {
+            return;
+        }
+        Node node = new Node(task, nextSequence++, random.nextInt(), interval[0], interval[1]);
+        nodes.put(task, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        Node node = nodes.remove(task);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Moves a task to its current interval after it was rescheduled.
+     *
+     * @param task The task that changed.
+     */
+    void update(Task task) {
+        Node node = nodes.get(task);
+        LocalDateTime[] interval = intervalOf(task);
+        if (node == null || interval == null
+                || (node.start.equals(interval[0]) && node.end.equals(interval[1]))) {
+            return;
+        }
+        root = delete(root, node);
+        node.start = interval[0];
+        node.end = interval[1];
+        node.maxEnd = node.end;
+        node.left = null;
+        node.right = null;
+        root = insert(root, node);
+    }
+
+    /**
+     * Finds the tasks whose interval overlaps the given time range, including its end points.
+     *
+     * @param from The start of the time range.
+     * @param to The end of the time range.
+     * @return The overlapping tasks, ordered by start time and then by insertion order.
+     */
+    List<Task> find(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    /**
+     * Finds the tasks that start within a time range, i.e. the events starting and the deadlines
+     * falling due in it. Only the start times are compared, so every subtree outside the range is skipped.
+     *
+     * @param from The earliest start time, or {@code null} if there is no lower bound.
+     * @param before The time that tasks start before, or {@code null} if there is no upper bound.
+     * @param isInAddedOrder Whether to return the tasks in the order they were added instead of by start time.
+     * @return The tasks starting within the range.
+     */
+    List<Task> findStarting(LocalDateTime from, LocalDateTime before, boolean isInAddedOrder) {
+        List<Node> found = new ArrayList<>();
+        collectStarting(root, from, before, found);
+        if (isInAddedOrder) {
+            found.sort(Comparator.comparingLong(node -> node.sequence));
+        }
+        List<Task> result = new ArrayList<>(found.size());
+        for (Node node : found) {
+            result.add(node.task);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the number of indexed tasks.
+     *
+     * @return The number of events and deadlines in the index.
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    private void collectStarting(Node node, LocalDateTime from, LocalDateTime before, List<Node> result) {
+        if (node == null) {
+            return;
+        }
+        boolean isAfterFrom = from == null || !node.start.isBefore(from);
+        boolean isBeforeEnd = before == null || node.start.isBefore(before);
+        if (isAfterFrom) {
+            collectStarting(node.left, from, before, result);
+        }
+        if (isAfterFrom && isBeforeEnd) {
+            result.add(node);
+        }
+        if (isBeforeEnd) {
+            collectStarting(node.right, from, before, result);
+        }
+    }
+
+    private void collect(Node node, LocalDateTime from, LocalDateTime to, List<Task> result) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.end.isBefore(from)) {
+            result.add(node.task);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    /**
+     * Retrieves the interval a task occupies: from the start to the end of an event, or the due date of a
+     * deadline.
+     *
+     * @param task The task.
+     * @return The start and end of the interval, or {@code null} if the task has no date.
+     */
+    static LocalDateTime[] intervalOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return new LocalDateTime[] {deadline.getDateTime(), deadline.getDateTime()};
+        }
+        if (task instanceof Event event) {
+            return new LocalDateTime[] {event.getStartDateTime(), event.getEndDateTime()};
+        }
+        return null;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added);
+            added.left = parts[0];
+            added.right = parts[1];
+            update(added);
+            return added;
+        }
+        if (added.compareTo(node.start, node.sequence) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (removed.compareTo(node.start, node.sequence) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the given node and the rest.
+     */
+    private Node[] split(Node node, Node pivot) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.compareTo(pivot.start, pivot.sequence) < 0) {
+            Node[] parts = split(node.right, pivot);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, pivot);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+}
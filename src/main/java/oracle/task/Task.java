@@ -1,13 +1,38 @@
 package oracle.task;
 
+import java.util.function.Function;
+
 /**
  * Represents a generic task with a description, completion status, and type.
  * This class is extended by specific task types such as {@code Todo}, {@code Deadline}, and {@code Event}.
+ * The string shown to the user and the line stored in the task file are formatted once and kept
+ * until the task changes, since listing, searching and saving would otherwise format every task each time.
+ * Each task also carries an ID that a {@link TaskList} assigns when the task is first added and that
+ * stays with the task wherever it moves in the list, so that it can be referred to as {@code #id}.
  */
 public class Task {
     private final String description;
     private final TaskType type;
     private boolean isDone;
+    private long id;
+    // Only one thread changes a task at a time, but others may format it meanwhile. A formatted string is
+    // cached with the version it was formatted from, so a string formatted while the task changed is never reused.
+    private volatile long version;
+    private volatile CachedString displayString;
+    private volatile CachedString storageLine;
+
+    /**
+     * Represents a formatted string together with the version of the task it was formatted from.
+     */
+    private static final class CachedString {
+        private final String value;
+        private final long version;
+
+        private CachedString(String value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
 
     /**
      * Constructs a new Task with a description and type.
@@ -36,11 +61,30 @@ public class Task {
         return (isDone ? "X" : " ");
     }
 
+    /**
+     * Retrieves the description of the task.
+     *
+     * @return The description of the task.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks whether the task is completed.
+     *
+     * @return {@code true} if the task is marked as done, otherwise {@code false}.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Marks the task as completed.
      */
     public void markDone() {
         this.isDone = true;
+        invalidate();
     }
 
     /**
@@ -48,6 +92,27 @@ public class Task {
      */
     public void markUndone() {
         this.isDone = false;
+        invalidate();
+    }
+
+    /**
+     * Retrieves the ID of the task.
+     *
+     * @return The ID, or 0 if the task has not been given one yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gives the task its ID, when it is loaded from storage or first added to a task list.
+     *
+     * @param id The positive ID of the task.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task ID should be positive";
+        this.id = id;
+        invalidate();
     }
 
     /**
@@ -61,11 +126,46 @@ public class Task {
 
     /**
      * Returns a string representation of the task, including its type, status, and description.
+     * The string is formatted on first use and reused until the task changes.
      *
      * @return A formatted string representing the task.
      */
     @Override
     public String toString() {
+        long currentVersion = version;
+        CachedString cached = displayString;
+        if (cached != null && cached.version == currentVersion) {
+            return cached.value;
+        }
+        String rendered = render();
+        displayString = new CachedString(rendered, currentVersion);
+        return rendered;
+    }
+
+    /**
+     * Retrieves the line representing the task in a task file, formatting it only if the task
+     * has changed since the line was last formatted.
+     *
+     * @param formatter The function that formats the task as a line.
+     * @return The formatted line.
+     */
+    public String getStorageLine(Function<Task, String> formatter) {
+        long currentVersion = version;
+        CachedString cached = storageLine;
+        if (cached != null && cached.version == currentVersion) {
+            return cached.value;
+        }
+        String line = formatter.apply(this);
+        storageLine = new CachedString(line, currentVersion);
+        return line;
+    }
+
+    /**
+     * Formats the string representation of the task. Subclasses add their dates to it.
+     *
+     * @return A formatted string representing the task.
+     */
+    protected String render() {
         String typeIcon;
         switch (type) {
         case TODO -> typeIcon = "[T]";
@@ -76,4 +176,13 @@ public class Task {
         ;
         return typeIcon + "[" + getStatusIcon() + "] " + description;
     }
+
+    /**
+     * Discards the formatted strings of the task after it has changed.
+     */
+    protected void invalidate() {
+        version++;
+        displayString = null;
+        storageLine = null;
+    }
 }
@@ -0,0 +1,127 @@
+package oracle.task;
+
+/**
+ * Represents a map from task IDs to tasks that stores the IDs as primitive longs, so that lookups
+ * neither box the key nor follow a chain of entries. Keys live in an open-addressing table with
+ * linear probing, kept at most half full, and removals shift later entries of the same probe run back
+ * instead of leaving tombstones, so lookups stay O(1) however many tasks come and go.
+ * ID 0 marks an empty slot, which is why task IDs start at 1.
+ */
+class TaskIdMap {
+    private static final int INITIAL_CAPACITY = 16;
+    /** Fibonacci hashing constant, 2^64 divided by the golden ratio, which spreads sequential IDs. */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Task[] values = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a task under its ID, replacing any task stored under the same ID.
+     *
+     * @param task The task, which must have an ID.
+     */
+    void put(Task task) {
+        long id = task.getId();
+        assert id > 0 : "Only tasks with an ID can be stored";
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int slot = slotOf(id);
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = next(slot);
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = id;
+            size++;
+        }
+        values[slot] = task;
+    }
+
+    /**
+     * Retrieves the task with an ID.
+     *
+     * @param id The ID.
+     * @return The task, or {@code null} if no task has that ID.
+     */
+    Task get(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        for (int slot = slotOf(id); keys[slot] != 0; slot = next(slot)) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the task with an ID, if there is one.
+     *
+     * @param id The ID.
+     */
+    void remove(long id) {
+        if (id <= 0) {
+            return;
+        }
+        int slot = slotOf(id);
+        while (keys[slot] != id) {
+            if (keys[slot] == 0) {
+                return;
+            }
+            slot = next(slot);
+        }
+        size--;
+        // Moves back each later entry of the probe run that can no longer be reached past the gap.
+        int gap = slot;
+        for (int candidate = next(gap); keys[candidate] != 0; candidate = next(candidate)) {
+            int home = slotOf(keys[candidate]);
+            if ((candidate - home & mask()) >= (candidate - gap & mask())) {
+                keys[gap] = keys[candidate];
+                values[gap] = values[candidate];
+                gap = candidate;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    /**
+     * Retrieves the number of tasks in the map.
+     *
+     * @return The number of tasks.
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Task[] oldValues = values;
+        keys = new long[capacity];
+        values = new Task[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                int newSlot = slotOf(oldKeys[slot]);
+                while (keys[newSlot] != 0) {
+                    newSlot = next(newSlot);
+                }
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+
+    private int slotOf(long id) {
+        return (int) ((id * HASH_MULTIPLIER) >>> (Long.SIZE - Integer.numberOfTrailingZeros(keys.length)));
+    }
+
+    private int next(int slot) {
+        return slot + 1 & mask();
+    }
+
+    private int mask() {
+        return keys.length - 1;
+    }
+}
@@ -1,22 +1,64 @@
 package oracle.task;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import oracle.common.OracleException;
 
 /**
  * Represents a list of tasks. Provides methods to add, remove, retrieve, and check tasks.
+ * Keyword searches are answered from an inverted index that is built on the first search
+ * and kept up to date by the methods that change tasks. Time range queries are answered from an
+ * interval tree over events and deadlines that is likewise built on the first query, and the
+ * deadlines and events that are not done are kept in a heap ordered by due time once first asked for.
+ * Filters and counts by type and status are answered from bitsets over task positions, which are
+ * built on first use and shifted along with the tasks when one is inserted or deleted.
+ * Structured queries are answered through whichever of these indexes a {@link QueryPlanner} expects
+ * to examine the fewest tasks, or by scanning the list.
+ * The indexes list tasks that tie in the order the tasks were added, which is list order as long as new
+ * tasks go at the end. A task inserted between others therefore drops those indexes, and they are rebuilt
+ * in list order when next used, so that an index always gives the same results as scanning the list.
+ * Every task gets an ID when it is added, one higher than any given out before, and tasks are found by
+ * ID through a {@link TaskIdMap} that is built on the first lookup by ID. Tasks loaded without an ID,
+ * such as those saved by earlier versions, are given one when the map is built.
+ * Changed tasks are written back to the backing list, so that lazily loaded lists keep the change.
+ * Since every index but the bitsets holds the tasks it lists, a lazily loaded list builds none of them:
+ * tasks are then found by a binary search on IDs, and searches and time range queries scan the list,
+ * so that a task is only decoded while it is looked at.
+ * A task list may be shared between threads: any number of threads may read it at the same time,
+ * while changes take turns and wait for reads in progress to finish.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private final List<Task> tasks;
+    private final List<Task> taskView;
+    private final boolean isIndexed;
+    private final boolean isLazilyLoaded;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private KeywordIndex keywordIndex;
+    private ScheduleIndex scheduleIndex;
+    private DueIndex dueIndex;
+    private TaskPartitions partitions;
+    private TaskIdMap idMap;
+    private long nextId;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -24,8 +66,50 @@ public class TaskList {
      *
      * @param tasks The list of tasks to initialize the TaskList with.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
+        this(tasks, true);
+    }
+
+    /**
+     * Constructs a TaskList with an existing list of tasks, optionally searching by linear scan.
+     *
+     * @param tasks The list of tasks to initialize the TaskList with.
+     * @param isIndexed Whether keyword searches use the inverted index instead of scanning every task.
+     */
+    public TaskList(List<Task> tasks, boolean isIndexed) {
+        this(tasks, isIndexed, 0);
+    }
+
+    /**
+     * Constructs a TaskList with an existing list of tasks and the ID that the next new task should get.
+     *
+     * @param tasks The list of tasks to initialize the TaskList with.
+     * @param isIndexed Whether keyword searches use the inverted index instead of scanning every task.
+     * @param nextId The ID for the next new task as recorded in storage, or 0 if it is not known,
+     *               in which case it is found from the IDs of the tasks when first needed.
+     */
+    public TaskList(List<Task> tasks, boolean isIndexed, long nextId) {
+        this(tasks, isIndexed, nextId, false);
+    }
+
+    /**
+     * Constructs a TaskList over a list whose tasks may be decoded on access, such as a memory-mapped file.
+     * Such a list builds no index that would hold its tasks.
+     *
+     * @param tasks The list of tasks to initialize the TaskList with.
+     * @param isIndexed Whether keyword searches use the inverted index instead of scanning every task.
+     *                  Ignored for lazily loaded lists, which always scan.
+     * @param nextId The ID for the next new task as recorded in storage, or 0 if it is not known,
+     *               in which case it is found from the IDs of the tasks when first needed.
+     * @param isLazilyLoaded Whether the tasks are decoded on access, so that indexes would keep every
+     *                       task in memory.
+     */
+    public TaskList(List<Task> tasks, boolean isIndexed, long nextId, boolean isLazilyLoaded) {
         this.tasks = tasks;
+        this.taskView = Collections.unmodifiableList(tasks);
+        this.isIndexed = isIndexed && !isLazilyLoaded;
+        this.isLazilyLoaded = isLazilyLoaded;
+        this.nextId = nextId;
     }
 
     /**
@@ -34,7 +118,41 @@ public class TaskList {
      * @param task The task to be added.
      */
     public void addTask(Task task) {
-        tasks.add(task);
+        lock.writeLock().lock();
+        try {
+            assignId(task);
+            tasks.add(task);
+            taskAdded(tasks.size() - 1, task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts a task at a position in the task list, moving the task there and all later tasks back by one.
+     *
+     * @param index The zero-based index the task should have.
+     * @param task The task to be inserted.
+     * @throws OracleException If the index is out of bounds.
+     */
+    public void insertTask(int index, Task task) throws OracleException {
+        lock.writeLock().lock();
+        try {
+            if (index < 0 || index > tasks.size()) {
+                throw new OracleException("Invalid task number. Please enter a number between 1 and "
+                        + (tasks.size() + 1));
+            }
+            assignId(task);
+            tasks.add(index, task);
+            if (index < tasks.size() - 1) {
+                keywordIndex = null;
+                scheduleIndex = null;
+                dueIndex = null;
+            }
+            taskAdded(index, task);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -46,13 +164,31 @@ public class TaskList {
      */
     public Task deleteTask(int index) throws OracleException {
         assert tasks != null : "Task list should not be null";
-        if (tasks.isEmpty()) {
-            throw new OracleException("There are no tasks to delete.");
-        }
-        if (index < 0 || index >= tasks.size()) {
-            throw new OracleException("Invalid task number. Please enter a number between 1 and " + tasks.size());
+        lock.writeLock().lock();
+        try {
+            if (tasks.isEmpty()) {
+                throw new OracleException("There are no tasks to delete.");
+            }
+            Task removedTask = tasks.remove(checkIndex(index));
+            if (keywordIndex != null) {
+                keywordIndex.remove(removedTask);
+            }
+            if (scheduleIndex != null) {
+                scheduleIndex.remove(removedTask);
+            }
+            if (dueIndex != null) {
+                dueIndex.remove(removedTask);
+            }
+            if (partitions != null) {
+                partitions.remove(index);
+            }
+            if (idMap != null) {
+                idMap.remove(removedTask.getId());
+            }
+            return removedTask;
+        } finally {
+            lock.writeLock().unlock();
         }
-        return tasks.remove(index);
     }
 
     /**
@@ -64,10 +200,229 @@ public class TaskList {
      */
     public Task getTask(int index) throws OracleException {
         assert tasks != null : "Task list should not be null";
+        lock.readLock().lock();
+        try {
+            return tasks.get(checkIndex(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a task from the task list by ID, in O(1) time once the ID map is built, or in O(log n) time
+     * by a binary search on IDs if the list is lazily loaded.
+     *
+     * @param id The ID of the task.
+     * @return The task with that ID.
+     * @throws OracleException If no task in the list has that ID.
+     */
+    public Task getTaskById(long id) throws OracleException {
+        Task task = isLazilyLoaded
+                ? read(() -> {
+                    int position = findPosition(id);
+                    return position < 0 ? null : tasks.get(position);
+                })
+                : queryIndex(() -> idMap, this::buildIdMap, index -> index.get(id));
+        if (task == null) {
+            throw new OracleException("There is no task #" + id + " in your list.");
+        }
+        return task;
+    }
+
+    /**
+     * Finds the current position of the task with an ID, in O(log n) time while the tasks are in the order
+     * of their IDs. They are kept that way since new tasks get ever higher IDs and go at the end, and deleted
+     * tasks are restored where they were. If the IDs are out of order, e.g. because tasks were loaded with
+     * the ID of an earlier task and given new ones, the list is scanned instead.
+     *
+     * @param id The ID of the task.
+     * @return The zero-based index of the task.
+     * @throws OracleException If no task in the list has that ID.
+     */
+    public int indexOfId(long id) throws OracleException {
+        int index;
+        if (isLazilyLoaded) {
+            index = read(() -> findPosition(id));
+        } else {
+            Task task = getTaskById(id);
+            index = read(() -> findPosition(task));
+        }
+        if (index < 0) {
+            throw new OracleException("There is no task #" + id + " in your list.");
+        }
+        return index;
+    }
+
+    /**
+     * Gives IDs to tasks loaded without one or with the ID of an earlier task, as tasks from files written
+     * by earlier versions are. Such tasks would otherwise only get IDs when one is first looked up, and
+     * different ones after a restart if they are not saved.
+     *
+     * @return {@code true} if any task was given a new ID, in which case the tasks should be saved.
+     */
+    public boolean assignIds() {
+        lock.writeLock().lock();
+        try {
+            long firstNewId = Math.max(nextId, findMaxId() + 1);
+            buildIdMap();
+            if (isLazilyLoaded) {
+                idMap = null;
+            }
+            return nextId > firstNewId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the ID that the next new task will get, one higher than any ID given out so far.
+     *
+     * @return The next ID.
+     */
+    public long getNextId() {
+        lock.writeLock().lock();
+        try {
+            if (nextId == 0) {
+                nextId = findMaxId() + 1;
+            }
+            return nextId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a task in the task list as done.
+     *
+     * @param index The zero-based index of the task to mark.
+     * @return The task that was marked.
+     * @throws OracleException If the index is out of bounds.
+     */
+    public Task markTask(int index) throws OracleException {
+        lock.writeLock().lock();
+        try {
+            Task task = tasks.get(checkIndex(index));
+            task.markDone();
+            taskChanged(index, task);
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a task in the task list as not done.
+     *
+     * @param index The zero-based index of the task to unmark.
+     * @return The task that was unmarked.
+     * @throws OracleException If the index is out of bounds.
+     */
+    public Task unmarkTask(int index) throws OracleException {
+        lock.writeLock().lock();
+        try {
+            Task task = tasks.get(checkIndex(index));
+            task.markUndone();
+            taskChanged(index, task);
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Postpones a deadline to a new due date, or an event to a new start time while keeping its duration.
+     *
+     * @param index The zero-based index of the task to snooze.
+     * @param newDateTime The new due date or start time.
+     * @return The task that was snoozed.
+     * @throws OracleException If the index is out of bounds or the task is neither a deadline nor an event.
+     */
+    public Task snoozeTask(int index, LocalDateTime newDateTime) throws OracleException {
+        lock.writeLock().lock();
+        try {
+            Task task = tasks.get(checkIndex(index));
+            LocalDateTime newEndDateTime = newDateTime;
+            if (task instanceof Event event) {
+                long durationMinutes = Duration.between(event.getStartDateTime(), event.getEndDateTime())
+                        .toMinutes();
+                newEndDateTime = newDateTime.plusMinutes(durationMinutes);
+            }
+            return reschedule(index, task, newDateTime, newEndDateTime);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a deadline to a new due date, or an event to a new start and end time.
+     *
+     * @param index The zero-based index of the task to reschedule.
+     * @param start The new due date or start time.
+     * @param end The new end time of an event; ignored for deadlines.
+     * @return The task that was rescheduled.
+     * @throws OracleException If the index is out of bounds, the task is neither a deadline nor an event,
+     *                         or the end time is before the start time.
+     */
+    public Task rescheduleTask(int index, LocalDateTime start, LocalDateTime end) throws OracleException {
+        lock.writeLock().lock();
+        try {
+            return reschedule(index, tasks.get(checkIndex(index)), start, end);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Task reschedule(int index, Task task, LocalDateTime start, LocalDateTime end) throws OracleException {
+        if (task instanceof Deadline deadline) {
+            deadline.reschedule(start);
+        } else if (task instanceof Event event) {
+            event.reschedule(start, end);
+        } else {
+            throw new OracleException("Only deadlines and events can be snoozed.");
+        }
+        taskChanged(index, task);
+        return task;
+    }
+
+    private int checkIndex(int index) throws OracleException {
         if (index < 0 || index >= tasks.size()) {
             throw new OracleException("Invalid task number. Please enter a number between 1 and " + tasks.size());
         }
-        return tasks.get(index);
+        return index;
+    }
+
+    private void taskAdded(int index, Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.add(task);
+        }
+        if (scheduleIndex != null) {
+            scheduleIndex.add(task);
+        }
+        if (dueIndex != null) {
+            dueIndex.add(task);
+        }
+        if (partitions != null) {
+            partitions.insert(index, task);
+        }
+        if (idMap != null) {
+            idMap.put(task);
+        }
+    }
+
+    private void taskChanged(int index, Task task) {
+        tasks.set(index, task);
+        if (keywordIndex != null) {
+            keywordIndex.update(task);
+        }
+        if (scheduleIndex != null) {
+            scheduleIndex.update(task);
+        }
+        if (dueIndex != null) {
+            dueIndex.update(task);
+        }
+        if (partitions != null) {
+            partitions.update(index, task);
+        }
     }
 
     /**
@@ -76,7 +431,18 @@ public class TaskList {
      * @return A new ArrayList containing all tasks.
      */
     public ArrayList<Task> getTasks() {
-        return new ArrayList<>(tasks);
+        return read(() -> new ArrayList<>(tasks));
+    }
+
+    /**
+     * Retrieves a read-only view of the tasks, without copying them.
+     * The view reflects later changes to the task list, so it should only be used while no other
+     * thread changes the list, e.g. while running a command.
+     *
+     * @return An unmodifiable view of the tasks.
+     */
+    public List<Task> getTaskView() {
+        return taskView;
     }
 
     /**
@@ -85,7 +451,7 @@ public class TaskList {
      * @return The total number of tasks.
      */
     public int size() {
-        return tasks.size();
+        return read(tasks::size);
     }
 
     /**
@@ -94,7 +460,7 @@ public class TaskList {
      * @return {@code true} if the task list is empty, otherwise {@code false}.
      */
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return read(tasks::isEmpty);
     }
 
     /**
@@ -104,9 +470,314 @@ public class TaskList {
      * @return A list of tasks that contain the keyword.
      */
     public List<Task> findTasks(String keyword) {
-        return tasks.stream()
-                .filter(task -> task.toString().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+        if (isIndexed) {
+            return queryIndex(() -> keywordIndex, this::buildKeywordIndex, index -> index.find(keyword));
+        }
+        return read(() -> tasks.stream()
+                .filter(task -> task.toString().toLowerCase(Locale.ROOT).contains(keyword.toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Finds the events that overlap a time range and the deadlines that fall due within it.
+     *
+     * @param from The start of the time range.
+     * @param to The end of the time range.
+     * @return The matching tasks, ordered by start time or due date.
+     */
+    public List<Task> findScheduledTasks(LocalDateTime from, LocalDateTime to) {
+        if (isLazilyLoaded) {
+            return read(() -> tasks.stream()
+                    .filter(task -> {
+                        LocalDateTime[] interval = ScheduleIndex.intervalOf(task);
+                        return interval != null && !interval[0].isAfter(to) && !interval[1].isBefore(from);
+                    })
+                    .sorted(Comparator.comparing(task -> ScheduleIndex.intervalOf(task)[0]))
+                    .collect(Collectors.toList()));
+        }
+        return queryIndex(() -> scheduleIndex, this::buildScheduleIndex, index -> index.find(from, to));
+    }
+
+    /**
+     * Retrieves the deadlines and events that are not done yet and fall due first.
+     *
+     * @param count The maximum number of tasks to retrieve.
+     * @return Up to {@code count} tasks, ordered by due date or start time.
+     */
+    public List<Task> getUpcomingTasks(int count) {
+        if (isLazilyLoaded) {
+            return read(() -> tasks.stream()
+                    .filter(task -> !task.isDone() && ScheduleIndex.intervalOf(task) != null)
+                    .sorted(Comparator.comparing(TaskQuery::dueOf))
+                    .limit(count)
+                    .collect(Collectors.toList()));
+        }
+        return queryIndex(() -> dueIndex, this::buildDueIndex, index -> index.first(count));
+    }
+
+    /**
+     * Finds the positions of the tasks of the given types and status, in list order.
+     *
+     * @param types The types of task to find, or an empty set to find every type.
+     * @param isDone Whether to find done or undone tasks, or {@code null} to find both.
+     * @return The zero-based positions of the matching tasks.
+     */
+    public int[] findPositions(Set<TaskType> types, Boolean isDone) {
+        Set<TaskType> matchedTypes = types.isEmpty() ? EnumSet.allOf(TaskType.class) : types;
+        return queryIndex(() -> partitions, this::buildPartitions, index -> {
+            int[] positions = new int[index.count(matchedTypes, isDone)];
+            int[] next = {0};
+            index.visit(matchedTypes, isDone, position -> {
+                positions[next[0]++] = position;
+                return true;
+            });
+            return positions;
+        });
+    }
+
+    /**
+     * Counts the tasks of the given types and status.
+     *
+     * @param types The types of task to count, or an empty set to count every type.
+     * @param isDone Whether to count done or undone tasks, or {@code null} to count both.
+     * @return The number of matching tasks.
+     */
+    public int count(Set<TaskType> types, Boolean isDone) {
+        Set<TaskType> matchedTypes = types.isEmpty() ? EnumSet.allOf(TaskType.class) : types;
+        return queryIndex(() -> partitions, this::buildPartitions, index -> index.count(matchedTypes, isDone));
+    }
+
+    /**
+     * Runs a structured query, answering it in the way {@link #planQuery} chooses.
+     *
+     * @param query The query to run.
+     * @return Up to the query's limit of matching tasks, in the order the query asks for.
+     */
+    public List<Task> query(TaskQuery query) {
+        buildQueryIndexes(query);
+        // The plan is chosen under the same lock it runs under, so that an insertion in between cannot
+        // drop an index it uses.
+        return read(() -> runPlan(choosePlan(query), query));
+    }
+
+    /**
+     * Chooses how to answer a structured query, building the indexes it could use if this is their first use.
+     *
+     * @param query The query to plan.
+     * @return The cheapest plan for the query.
+     */
+    public QueryPlan planQuery(TaskQuery query) {
+        buildQueryIndexes(query);
+        return read(() -> choosePlan(query));
+    }
+
+    private void buildQueryIndexes(TaskQuery query) {
+        if (query.getText() != null && isIndexed) {
+            queryIndex(() -> keywordIndex, this::buildKeywordIndex, index -> index);
+        }
+        if (query.hasDueRange() && !isLazilyLoaded) {
+            queryIndex(() -> scheduleIndex, this::buildScheduleIndex, index -> index);
+        }
+        if (query.getSortOrder() == TaskQuery.SortOrder.DUE && Boolean.FALSE.equals(query.getIsDone())
+                && !isLazilyLoaded) {
+            queryIndex(() -> dueIndex, this::buildDueIndex, index -> index);
+        }
+        if (query.getTypes().size() < TaskType.values().length || query.getIsDone() != null) {
+            queryIndex(() -> partitions, this::buildPartitions, index -> index);
+        }
+    }
+
+    private QueryPlan choosePlan(TaskQuery query) {
+        return QueryPlanner.plan(query, tasks.size(), isIndexed ? keywordIndex : null, scheduleIndex, dueIndex,
+                partitions);
+    }
+
+    /**
+     * Collects the matches of a query along the access path of its plan. Unless the matches need
+     * sorting afterwards, this stops as soon as the limit is reached.
+     */
+    private List<Task> runPlan(QueryPlan plan, TaskQuery query) {
+        List<Task> matches = new ArrayList<>();
+        int limit = query.getLimit();
+        boolean canStopEarly = !plan.needsSort();
+        Predicate<Task> collector = task -> {
+            if (query.matches(task)) {
+                matches.add(task);
+            }
+            return !canStopEarly || matches.size() < limit;
+        };
+        switch (plan.getAccessPath()) {
+        case KEYWORD_INDEX:
+            visit(keywordIndex.find(query.getText()), collector);
+            break;
+        case SCHEDULE_INDEX:
+            boolean isInListOrder = query.getSortOrder() == TaskQuery.SortOrder.LIST;
+            visit(scheduleIndex.findStarting(query.getDueFrom(), query.getDueBefore(), isInListOrder), collector);
+            break;
+        case TYPE_PARTITION:
+            partitions.visit(query.getTypes(), query.getIsDone(), position -> collector.test(tasks.get(position)));
+            break;
+        case DUE_ORDER:
+            LocalDateTime dueBefore = query.getDueBefore();
+            dueIndex.visitInOrder(task -> (dueBefore == null || TaskQuery.dueOf(task).isBefore(dueBefore))
+                    && collector.test(task));
+            break;
+        default:
+            visit(tasks, collector);
+            break;
+        }
+        if (plan.needsSort()) {
+            matches.sort(Comparator.comparing(TaskQuery::dueOf, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private static void visit(List<Task> candidates, Predicate<Task> visitor) {
+        for (Task task : candidates) {
+            if (!visitor.test(task)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gives a task without an ID the next ID, and makes sure that no later task gets the ID of one that has one.
+     */
+    private void assignId(Task task) {
+        if (nextId == 0) {
+            nextId = findMaxId() + 1;
+        }
+        if (task.getId() == 0) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+    }
+
+    /**
+     * Finds the position of a task by a binary search on IDs, falling back to a scan if it is not where
+     * the search leads.
+     */
+    private int findPosition(Task task) {
+        int position = searchId(task.getId());
+        return position >= 0 ? position : tasks.indexOf(task);
+    }
+
+    /**
+     * Finds the position of the task with an ID by a binary search, falling back to a scan of the IDs.
+     */
+    private int findPosition(long id) {
+        int position = searchId(id);
+        if (position >= 0) {
+            return position;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int searchId(long id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = tasks.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the highest ID of the tasks in one pass, without keeping lazily loaded tasks in memory.
+     */
+    private long findMaxId() {
+        long maxId = 0;
+        for (Task task : tasks) {
+            maxId = Math.max(maxId, task.getId());
+        }
+        return maxId;
     }
 
+    /**
+     * Builds the ID map, giving new IDs to tasks loaded without one or with the ID of an earlier task,
+     * and finds the next ID if storage did not record it.
+     */
+    private void buildIdMap() {
+        idMap = new TaskIdMap();
+        nextId = Math.max(nextId, findMaxId() + 1);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task.getId() == 0 || idMap.get(task.getId()) != null) {
+                task.setId(nextId++);
+                tasks.set(i, task);
+            }
+            idMap.put(task);
+        }
+    }
+
+    private void buildKeywordIndex() {
+        keywordIndex = new KeywordIndex();
+        tasks.forEach(keywordIndex::add);
+    }
+
+    private void buildScheduleIndex() {
+        scheduleIndex = new ScheduleIndex();
+        tasks.forEach(scheduleIndex::add);
+    }
+
+    private void buildDueIndex() {
+        dueIndex = new DueIndex();
+        tasks.forEach(dueIndex::add);
+    }
+
+    private void buildPartitions() {
+        partitions = new TaskPartitions();
+        int position = 0;
+        for (Task task : tasks) {
+            partitions.insert(position++, task);
+        }
+    }
+
+    private <R> R read(Supplier<R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Answers a query from an index, building the index first if this is the first query.
+     * Queries share the read lock once the index exists; building it takes the write lock.
+     */
+    private <I, R> R queryIndex(Supplier<I> index, Runnable build, Function<I, R> query) {
+        lock.readLock().lock();
+        try {
+            I built = index.get();
+            if (built != null) {
+                return query.apply(built);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (index.get() == null) {
+                build.run();
+            }
+            return query.apply(index.get());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
 }
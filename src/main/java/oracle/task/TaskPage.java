@@ -0,0 +1,191 @@
+package oracle.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import oracle.common.OracleException;
+
+/**
+ * Represents a bounded part of a longer list of tasks, along with the cursor to continue from.
+ * A cursor records how many tasks came before the next page and the ID of the last task shown.
+ * When tasks before it are deleted or restored, the next page is found again by looking for that task
+ * within a bounded distance of its old position, so paging neither skips nor repeats tasks. If the
+ * task itself is gone, paging resumes at the first task with a higher ID, since tasks are kept in the
+ * order of their IDs.
+ */
+public class TaskPage {
+    private static final char CURSOR_SEPARATOR = '.';
+    /** Furthest the last task of a page is looked for from its old position, to keep paging fast. */
+    private static final int MAX_ANCHOR_DISTANCE = 1024;
+
+    private final List<Task> tasks;
+    private final int[] positions;
+    private final int firstNumber;
+    private final int total;
+    private final int limit;
+    private final String nextCursor;
+
+    private TaskPage(List<Task> tasks, int[] positions, int firstNumber, int total, int limit, String nextCursor) {
+        this.tasks = tasks;
+        this.positions = positions;
+        this.firstNumber = firstNumber;
+        this.total = total;
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates the page that starts at a position in a list of tasks.
+     *
+     * @param tasks The whole list of tasks.
+     * @param positions The positions of the tasks in the task list, or {@code null} if the list is the task list.
+     * @param start The index of the first task on the page.
+     * @param limit The maximum number of tasks on the page.
+     * @return The page.
+     */
+    static TaskPage of(List<Task> tasks, int[] positions, int start, int limit) {
+        int end = (int) Math.min((long) start + limit, tasks.size());
+        List<Task> page = new ArrayList<>(tasks.subList(start, end));
+        int[] pagePositions = positions == null ? null : Arrays.copyOfRange(positions, start, end);
+        String nextCursor = end < tasks.size() ? toCursor(end, page.get(page.size() - 1)) : null;
+        return new TaskPage(page, pagePositions, start + 1, tasks.size(), limit, nextCursor);
+    }
+
+    /**
+     * Finds where the page that follows a cursor starts.
+     *
+     * @param tasks The whole list of tasks.
+     * @param cursor The cursor from the end of the previous page.
+     * @return The index of the first task after the cursor.
+     * @throws OracleException If the cursor is malformed.
+     */
+    static int resolveCursor(List<Task> tasks, String cursor) throws OracleException {
+        int separator = cursor.indexOf(CURSOR_SEPARATOR);
+        int count;
+        long id;
+        try {
+            count = Integer.parseInt(cursor, 0, separator, 10);
+            id = Long.parseLong(cursor, separator + 1, cursor.length(), 10);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw invalidCursor(cursor);
+        }
+        if (count <= 0 || id <= 0) {
+            throw invalidCursor(cursor);
+        }
+        int expected = count - 1;
+        int size = tasks.size();
+        int maxDistance = Math.min(Math.max(expected, size - 1 - expected), MAX_ANCHOR_DISTANCE);
+        for (int distance = 0; distance <= maxDistance; distance++) {
+            int after = expected + distance;
+            if (after < size && tasks.get(after).getId() == id) {
+                return after + 1;
+            }
+            int before = expected - distance;
+            if (distance > 0 && before >= 0 && before < size && tasks.get(before).getId() == id) {
+                return before + 1;
+            }
+        }
+        return findFirstAfter(tasks, id);
+    }
+
+    /**
+     * Finds the first task with a higher ID than the given one by a binary search, as tasks are kept in
+     * the order of their IDs.
+     */
+    private static int findFirstAfter(List<Task> tasks, long id) {
+        int low = 0;
+        int high = tasks.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (tasks.get(middle).getId() <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static OracleException invalidCursor(String cursor) {
+        return new OracleException("'" + cursor + "' is not a valid cursor. "
+                + "Use the one shown at the end of the previous page.");
+    }
+
+    private static String toCursor(int count, Task last) {
+        return count + String.valueOf(CURSOR_SEPARATOR) + last.getId();
+    }
+
+    /**
+     * Retrieves the tasks on this page.
+     *
+     * @return The tasks, in list order.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Retrieves the number of the first task on this page within the whole list, counting from 1.
+     *
+     * @return The number of the first task.
+     */
+    public int getFirstNumber() {
+        return firstNumber;
+    }
+
+    /**
+     * Retrieves the number to show for a task on this page: its number in the task list, counting from 1.
+     *
+     * @param index The index of the task on this page.
+     * @return The task number.
+     */
+    public int getNumber(int index) {
+        return positions == null ? firstNumber + index : positions[index] + 1;
+    }
+
+    /**
+     * Retrieves the number of tasks in the whole list.
+     *
+     * @return The total number of tasks.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Retrieves the cursor that the next page starts after.
+     *
+     * @return The cursor, or {@code null} if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether this page holds the whole list.
+     *
+     * @return {@code true} if no tasks come before or after this page.
+     */
+    public boolean isWholeList() {
+        return firstNumber == 1 && nextCursor == null;
+    }
+
+    /**
+     * Describes which tasks this page shows and how to see the ones after it.
+     *
+     * @param command The command that shows this list, e.g. {@code list} or {@code find book}.
+     * @return A one-line summary of the page.
+     */
+    public String describe(String command) {
+        if (tasks.isEmpty()) {
+            return "There are no more tasks after task " + (firstNumber - 1) + " of " + total + ".";
+        }
+        String range = "Showing " + firstNumber + "-" + (firstNumber + tasks.size() - 1) + " of " + total + ".";
+        if (nextCursor == null) {
+            return range;
+        }
+        String limitOption = limit == PageRequest.DEFAULT_LIMIT ? "" : " --limit " + limit;
+        return range + " For more, type: " + command + " --after " + nextCursor + limitOption;
+    }
+}
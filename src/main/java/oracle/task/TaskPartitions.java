@@ -0,0 +1,210 @@
+package oracle.task;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Represents the task list partitioned by type and by status, as one bitset over task positions
+ * for each task type and one for done tasks. Filters such as the undone deadlines combine these
+ * bitsets a word of 64 tasks at a time and visit only the matching positions, and the size of each
+ * partition is counted as tasks change. Inserting or deleting a task shifts the bits after it by one
+ * position, taking O(n / 64) time, so the bitsets keep matching the task list.
+ */
+class TaskPartitions {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = 63;
+    private static final int INITIAL_WORDS = 4;
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private final long[][] typeBits = new long[TYPES.length][INITIAL_WORDS];
+    private final int[] typeCounts = new int[TYPES.length];
+    private long[] doneBits = new long[INITIAL_WORDS];
+    private int doneCount;
+    private int size;
+
+    /**
+     * Adds a task at a position, moving the tasks at and after that position back by one.
+     *
+     * @param position The position of the new task.
+     * @param task The task.
+     */
+    void insert(int position, Task task) {
+        assert position >= 0 && position <= size : "Partition position should be within the list";
+        if (size + 1 > doneBits.length << WORD_SHIFT) {
+            int words = doneBits.length * 2;
+            for (int type = 0; type < TYPES.length; type++) {
+                typeBits[type] = Arrays.copyOf(typeBits[type], words);
+            }
+            doneBits = Arrays.copyOf(doneBits, words);
+        }
+        size++;
+        for (long[] bits : typeBits) {
+            shiftUp(bits, position);
+        }
+        shiftUp(doneBits, position);
+        set(typeBits[task.getType().ordinal()], position);
+        typeCounts[task.getType().ordinal()]++;
+        if (task.isDone()) {
+            set(doneBits, position);
+            doneCount++;
+        }
+    }
+
+    /**
+     * Removes the task at a position, moving the tasks after it forward by one.
+     *
+     * @param position The position of the removed task.
+     */
+    void remove(int position) {
+        assert position >= 0 && position < size : "Partition position should be within the list";
+        for (int type = 0; type < TYPES.length; type++) {
+            if (get(typeBits[type], position)) {
+                typeCounts[type]--;
+            }
+            shiftDown(typeBits[type], position);
+        }
+        if (get(doneBits, position)) {
+            doneCount--;
+        }
+        shiftDown(doneBits, position);
+        size--;
+    }
+
+    /**
+     * Brings the status of the task at a position up to date after it was marked or unmarked.
+     *
+     * @param position The position of the task.
+     * @param task The task.
+     */
+    void update(int position, Task task) {
+        boolean wasDone = get(doneBits, position);
+        if (task.isDone() && !wasDone) {
+            set(doneBits, position);
+            doneCount++;
+        } else if (!task.isDone() && wasDone) {
+            doneBits[position >>> WORD_SHIFT] &= ~(1L << position);
+            doneCount--;
+        }
+    }
+
+    /**
+     * Counts the tasks of the given types and status.
+     *
+     * @param types The types to count.
+     * @param isDone Whether to count done or undone tasks, or {@code null} to count both.
+     * @return The number of matching tasks.
+     */
+    int count(Set<TaskType> types, Boolean isDone) {
+        if (isDone == null || types.size() == TYPES.length) {
+            int count = 0;
+            for (TaskType type : types) {
+                count += typeCounts[type.ordinal()];
+            }
+            if (isDone == null) {
+                return count;
+            }
+            return isDone ? doneCount : size - doneCount;
+        }
+        int count = 0;
+        for (int word = 0; word < wordCount(); word++) {
+            count += Long.bitCount(matching(word, types, isDone));
+        }
+        return count;
+    }
+
+    /**
+     * Visits the positions of the tasks of the given types and status in list order.
+     *
+     * @param types The types to visit.
+     * @param isDone Whether to visit done or undone tasks, or {@code null} to visit both.
+     * @param visitor Called with each position in turn; returns {@code false} to stop the visit.
+     */
+    void visit(Set<TaskType> types, Boolean isDone, IntPredicate visitor) {
+        for (int word = 0; word < wordCount(); word++) {
+            long bits = matching(word, types, isDone);
+            while (bits != 0) {
+                if (!visitor.test((word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits))) {
+                    return;
+                }
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of tasks of one type.
+     *
+     * @param type The type.
+     * @return The number of tasks of that type.
+     */
+    int count(TaskType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Retrieves the number of done tasks.
+     *
+     * @return The number of done tasks.
+     */
+    int countDone() {
+        return doneCount;
+    }
+
+    private int wordCount() {
+        return (size + WORD_MASK) >>> WORD_SHIFT;
+    }
+
+    /**
+     * Combines the bitsets for one word of 64 positions.
+     */
+    private long matching(int word, Set<TaskType> types, Boolean isDone) {
+        long bits = 0;
+        for (TaskType type : types) {
+            bits |= typeBits[type.ordinal()][word];
+        }
+        if (isDone != null) {
+            bits &= isDone ? doneBits[word] : ~doneBits[word];
+        }
+        int end = size - (word << WORD_SHIFT);
+        return end >= Long.SIZE ? bits : bits & ((1L << end) - 1);
+    }
+
+    private static boolean get(long[] bits, int position) {
+        return (bits[position >>> WORD_SHIFT] & (1L << position)) != 0;
+    }
+
+    private static void set(long[] bits, int position) {
+        bits[position >>> WORD_SHIFT] |= 1L << position;
+    }
+
+    /**
+     * Moves every bit at or after a position up by one, leaving the bit at the position clear.
+     */
+    private void shiftUp(long[] bits, int position) {
+        int first = position >>> WORD_SHIFT;
+        for (int word = wordCount() - 1; word > first; word--) {
+            bits[word] = bits[word] << 1 | bits[word - 1] >>> WORD_MASK;
+        }
+        long below = (1L << (position & WORD_MASK)) - 1;
+        bits[first] = bits[first] & below | (bits[first] & ~below) << 1;
+    }
+
+    /**
+     * Moves every bit after a position down by one, overwriting the bit at the position.
+     */
+    private void shiftDown(long[] bits, int position) {
+        int first = position >>> WORD_SHIFT;
+        int last = wordCount() - 1;
+        long below = (1L << (position & WORD_MASK)) - 1;
+        bits[first] = bits[first] & below | bits[first] >>> 1 & ~below;
+        for (int word = first; word <= last; word++) {
+            if (word > first) {
+                bits[word] >>>= 1;
+            }
+            if (word < last) {
+                bits[word] |= bits[word + 1] << WORD_MASK;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package oracle.task;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Represents a structured query over the task list: filters on type, status, due date and text,
+ * an order in which to return the matching tasks and a limit on how many to return.
+ * The due date of a deadline is its deadline and that of an event is its start; todos have none.
+ */
+public class TaskQuery {
+    /**
+     * Represents the order in which matching tasks are returned.
+     */
+    public enum SortOrder {
+        /** The order of the task list. */
+        LIST,
+
+        /** Earliest due date first, followed by tasks without a due date in list order. */
+        DUE
+    }
+
+    private final Set<TaskType> types;
+    private final Boolean isDone;
+    private final LocalDateTime dueFrom;
+    private final LocalDateTime dueBefore;
+    private final String text;
+    private final SortOrder sortOrder;
+    private final int limit;
+
+    /**
+     * Constructs a TaskQuery.
+     *
+     * @param types The types of task to match, or an empty set to match every type.
+     * @param isDone Whether to match done or undone tasks, or {@code null} to match both.
+     * @param dueFrom The earliest due date to match, or {@code null} if there is no lower bound.
+     * @param dueBefore The due date that matching tasks fall due before, or {@code null} if there is no upper bound.
+     * @param text The text that the displayed task should contain, ignoring case, or {@code null} to match any text.
+     * @param sortOrder The order in which to return matching tasks.
+     * @param limit The maximum number of tasks to return.
+     */
+    public TaskQuery(Set<TaskType> types, Boolean isDone, LocalDateTime dueFrom, LocalDateTime dueBefore,
+            String text, SortOrder sortOrder, int limit) {
+        assert limit > 0 : "Query limit should be positive";
+        this.types = types.isEmpty() ? EnumSet.allOf(TaskType.class) : EnumSet.copyOf(types);
+        this.isDone = isDone;
+        this.dueFrom = dueFrom;
+        this.dueBefore = dueBefore;
+        this.text = text == null ? null : text.toLowerCase(Locale.ROOT);
+        this.sortOrder = sortOrder;
+        this.limit = limit;
+    }
+
+    /**
+     * Checks whether a task satisfies every filter of the query.
+     *
+     * @param task The task to check.
+     * @return {@code true} if the task matches.
+     */
+    public boolean matches(Task task) {
+        if (!types.contains(task.getType()) || isDone != null && task.isDone() != isDone) {
+            return false;
+        }
+        if (hasDueRange()) {
+            LocalDateTime due = dueOf(task);
+            if (due == null || dueFrom != null && due.isBefore(dueFrom)
+                    || dueBefore != null && !due.isBefore(dueBefore)) {
+                return false;
+            }
+        }
+        return text == null || task.toString().toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    /**
+     * Retrieves the due date of a task as queries see it.
+     *
+     * @param task The task.
+     * @return The deadline of a deadline, the start of an event, or {@code null} for a todo.
+     */
+    static LocalDateTime dueOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return deadline.getDateTime();
+        }
+        if (task instanceof Event event) {
+            return event.getStartDateTime();
+        }
+        return null;
+    }
+
+    Set<TaskType> getTypes() {
+        return types;
+    }
+
+    Boolean getIsDone() {
+        return isDone;
+    }
+
+    LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    LocalDateTime getDueBefore() {
+        return dueBefore;
+    }
+
+    boolean hasDueRange() {
+        return dueFrom != null || dueBefore != null;
+    }
+
+    /**
+     * Checks whether only tasks with a due date can match, because of the type or due date filters.
+     */
+    boolean needsDueDate() {
+        return hasDueRange() || !types.contains(TaskType.TODO);
+    }
+
+    String getText() {
+        return text;
+    }
+
+    SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Formats the filters of the query in the query language, e.g. {@code type:deadline done:no}.
+     *
+     * @return The filters, or {@code (none)} if the query matches every task.
+     */
+    String describeFilters() {
+        StringBuilder filters = new StringBuilder();
+        if (types.size() < TaskType.values().length) {
+            filters.append(" type:");
+            String separator = "";
+            for (TaskType type : types) {
+                filters.append(separator).append(type.name().toLowerCase(Locale.ROOT));
+                separator = ",";
+            }
+        }
+        if (isDone != null) {
+            filters.append(isDone ? " done:yes" : " done:no");
+        }
+        if (dueFrom != null) {
+            filters.append(" due>=").append(dueFrom);
+        }
+        if (dueBefore != null) {
+            filters.append(" due<").append(dueBefore);
+        }
+        if (text != null) {
+            filters.append(" text:\"").append(text).append('"');
+        }
+        return filters.length() == 0 ? "(none)" : filters.substring(1);
+    }
+}
@@ -0,0 +1,50 @@
+package oracle.task;
+
+import oracle.common.OracleException;
+
+/**
+ * Represents the way a command names a task: by its number in the list, which changes whenever an
+ * earlier task is inserted or deleted, or by its ID, written {@code #id}, which stays the same.
+ */
+public class TaskReference {
+    private final int index;
+    private final long id;
+
+    private TaskReference(int index, long id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * Creates a reference to the task at a position in the list.
+     *
+     * @param index The zero-based index of the task.
+     * @return The reference.
+     */
+    public static TaskReference ofIndex(int index) {
+        return new TaskReference(index, 0);
+    }
+
+    /**
+     * Creates a reference to the task with an ID.
+     *
+     * @param id The ID of the task.
+     * @return The reference.
+     */
+    public static TaskReference ofId(long id) {
+        assert id > 0 : "Task ID should be positive";
+        return new TaskReference(-1, id);
+    }
+
+    /**
+     * Finds the current position of the referenced task. A position is returned as given,
+     * to be checked by the task list like any other index.
+     *
+     * @param tasks The task list.
+     * @return The zero-based index of the task.
+     * @throws OracleException If the reference is an ID that no task in the list has.
+     */
+    public int resolve(TaskList tasks) throws OracleException {
+        return id == 0 ? index : tasks.indexOfId(id);
+    }
+}
@@ -0,0 +1,111 @@
+package oracle.ui;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Represents a message in the chat transcript.
+ * Only the first lines of a long message are shown at first; more are revealed on request,
+ * so that a response listing thousands of tasks does not have to be laid out all at once.
+ */
+class ChatMessage {
+    /** Number of lines shown before a message is expanded. */
+    static final int PREVIEW_LINES = 40;
+    /** Number of additional lines revealed each time a message is expanded. */
+    static final int MORE_LINES = 200;
+
+    private final boolean isUser;
+    private final StringProperty text = new SimpleStringProperty();
+    private final IntegerProperty visibleLines = new SimpleIntegerProperty(PREVIEW_LINES);
+    private int visibleEnd = -1;
+    private int hiddenLineCount = -1;
+
+    /**
+     * Constructs a ChatMessage.
+     *
+     * @param text   The message text.
+     * @param isUser Whether the message was sent by the user rather than by Oracle.
+     */
+    ChatMessage(String text, boolean isUser) {
+        this.isUser = isUser;
+        this.text.set(text);
+    }
+
+    boolean isUser() {
+        return isUser;
+    }
+
+    StringProperty textProperty() {
+        return text;
+    }
+
+    IntegerProperty visibleLinesProperty() {
+        return visibleLines;
+    }
+
+    /**
+     * Replaces the message text, collapsing the message again.
+     *
+     * @param newText The new message text.
+     */
+    void setText(String newText) {
+        visibleEnd = -1;
+        hiddenLineCount = -1;
+        visibleLines.set(PREVIEW_LINES);
+        text.set(newText);
+    }
+
+    /**
+     * Reveals more lines of the message.
+     */
+    void showMore() {
+        visibleEnd = -1;
+        hiddenLineCount = -1;
+        visibleLines.set(visibleLines.get() + MORE_LINES);
+    }
+
+    /**
+     * Retrieves the part of the message that is currently shown.
+     *
+     * @return The visible lines of the message.
+     */
+    String getVisibleText() {
+        return text.get().substring(0, findVisibleEnd());
+    }
+
+    /**
+     * Counts the lines of the message that are not shown yet.
+     *
+     * @return The number of hidden lines.
+     */
+    int getHiddenLineCount() {
+        if (hiddenLineCount < 0) {
+            String fullText = text.get();
+            int count = 0;
+            for (int i = findVisibleEnd(); i < fullText.length(); i++) {
+                if (fullText.charAt(i) == '\n' && i + 1 < fullText.length()) {
+                    count++;
+                }
+            }
+            hiddenLineCount = count;
+        }
+        return hiddenLineCount;
+    }
+
+    private int findVisibleEnd() {
+        if (visibleEnd < 0) {
+            String fullText = text.get();
+            int end = -1;
+            for (int line = 0; line < visibleLines.get(); line++) {
+                end = fullText.indexOf('\n', end + 1);
+                if (end < 0) {
+                    break;
+                }
+            }
+            visibleEnd = end < 0 || end == fullText.length() - 1 ? fullText.length() : end;
+        }
+        return visibleEnd;
+    }
+}
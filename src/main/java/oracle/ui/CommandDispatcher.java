@@ -0,0 +1,100 @@
+package oracle.ui;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import oracle.common.WorkerThreads;
+
+/**
+ * Runs user commands away from the GUI thread, one at a time and in the order they were submitted,
+ * and hands each response back through a callback executor such as {@code Platform::runLater}.
+ * The worker is a virtual thread when the running Java version supports them. At most a fixed
+ * number of commands may wait for the worker; further commands are turned away until it catches up.
+ */
+public class CommandDispatcher {
+    /** Maximum number of commands waiting to run when no other capacity is given. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static final String WORKER_NAME = "oracle-command";
+
+    private final Function<String, String> handler;
+    private final Executor callbackExecutor;
+    private final ThreadPoolExecutor worker;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * Constructs a CommandDispatcher.
+     *
+     * @param handler          The function turning a command into its response.
+     * @param callbackExecutor The executor that delivers responses, e.g. on the GUI thread.
+     * @param queueCapacity    The maximum number of commands waiting to run.
+     */
+    public CommandDispatcher(Function<String, String> handler, Executor callbackExecutor, int queueCapacity) {
+        this.handler = handler;
+        this.callbackExecutor = callbackExecutor;
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), WorkerThreads.newFactory(WORKER_NAME));
+    }
+
+    /**
+     * Queues a command to run after every command submitted before it.
+     *
+     * @param input      The command entered by the user.
+     * @param onResponse The callback receiving the response, run on the callback executor.
+     * @return {@code false} if too many commands are already waiting or the dispatcher has been shut down,
+     *     otherwise {@code true}.
+     */
+    public boolean submit(String input, Consumer<String> onResponse) {
+        pendingCount.incrementAndGet();
+        try {
+            worker.execute(() -> {
+                String response;
+                try {
+                    response = handler.apply(input);
+                } catch (RuntimeException e) {
+                    response = "Error: " + e.getMessage();
+                }
+                String result = response;
+                callbackExecutor.execute(() -> {
+                    pendingCount.decrementAndGet();
+                    onResponse.accept(result);
+                });
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendingCount.decrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Counts the commands that were submitted and whose response has not been delivered yet.
+     *
+     * @return The number of commands in flight.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stops accepting commands and lets the commands already submitted finish.
+     */
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    /**
+     * Checks whether the dispatcher has stopped accepting commands.
+     *
+     * @return {@code true} if {@link #shutdown()} has been called, otherwise {@code false}.
+     */
+    public boolean isShutdown() {
+        return worker.isShutdown();
+    }
+}
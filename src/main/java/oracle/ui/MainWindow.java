@@ -4,53 +4,63 @@ import java.util.Timer;
 import java.util.TimerTask;
 
 import javafx.application.Platform;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.Region;
-import javafx.scene.layout.VBox;
-import javafx.scene.shape.Circle;
 import oracle.Oracle;
 
 /**
  * Controller class for the main chat window of the Oracle application.
  * Handles GUI interactions, including message display, user input, and chat UI layout.
+ * The transcript is a list view that only lays out the messages on screen and keeps the most
+ * recent {@code oracle.gui.history} messages (default 500).
  */
 public class MainWindow {
+    private static final int DEFAULT_HISTORY_LIMIT = 500;
+    private static final String PENDING_MESSAGE = "🔮 Consulting the stars…";
+    private static final String BUSY_MESSAGE = "🌠 The stars are crowded right now… "
+            + "Please wait for my earlier answers before sending more commands.";
+    private static final String EXITING_MESSAGE = "🌌 I am already returning to the cosmos… Farewell, traveler!";
+
     @FXML
-    private VBox dialogContainer;
-    @FXML
-    private ScrollPane scrollPane;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
-    private Oracle oracle;
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList(
+            message -> new Observable[] {message.textProperty(), message.visibleLinesProperty()});
+    private final int historyLimit = Math.max(1, Integer.getInteger("oracle.gui.history", DEFAULT_HISTORY_LIMIT));
+    private CommandDispatcher dispatcher;
     private final Image userImage = new Image(getClass().getResourceAsStream("/view/ip-user.jpg"));
     private final Image botImage = new Image(getClass().getResourceAsStream("/view/ip-bot.jpg"));
 
     /**
-     * Initializes the UI components and ensures automatic scrolling for chat.
+     * Initializes the UI components and sets up the recycled message cells.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new MessageCell(userImage, botImage));
+        dialogList.setFocusTraversable(false);
         showWelcomeMessage();
     }
 
     /**
      * Sets the Oracle instance for processing user commands and generating responses.
+     * Commands run in order on a background worker, so slow commands do not freeze the window.
      *
      * @param oracle The Oracle instance to use for command processing.
      */
     public void setOracle(Oracle oracle) {
-        this.oracle = oracle;
+        this.dispatcher = new CommandDispatcher(oracle::getResponse, Platform::runLater,
+                CommandDispatcher.DEFAULT_QUEUE_CAPACITY);
     }
 
     /**
@@ -59,64 +69,65 @@ public class MainWindow {
     private void showWelcomeMessage() {
         String welcomeMessage = "🚀 Greetings, traveler! I am Oracle, your cosmic guide.\n"
                                 + "How may I chart your course today?";
-        addMessage(welcomeMessage, botImage, "bot");
+        addMessage(welcomeMessage, false);
     }
 
 
     /**
      * Handles user input when the "Send" button is clicked or Enter is pressed.
+     * The response replaces a placeholder message once the command has run.
+     * Once the user has said goodbye, input is disabled and no further commands are run.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText().trim();
         if (!input.isBlank()) {
-            String response = oracle.getResponse(input);
-            addMessage(input, userImage, "user");
-            addMessage(response, botImage, "bot");
-
+            addMessage(input, true);
+            ChatMessage responseMessage = addMessage(PENDING_MESSAGE, false);
             userInput.clear();
-            if (input.equalsIgnoreCase("bye")) {
-                new Timer().schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        Platform.exit();
-                    }
-                }, 5000);
+
+            boolean isExit = input.equalsIgnoreCase("bye");
+            boolean isAccepted = dispatcher.submit(input, response -> {
+                responseMessage.setText(response);
+                scrollToEnd();
+                if (isExit) {
+                    new Timer().schedule(new TimerTask() {
+                        @Override
+                        public void run() {
+                            Platform.exit();
+                        }
+                    }, 5000);
+                }
+            });
+            if (!isAccepted) {
+                responseMessage.setText(dispatcher.isShutdown() ? EXITING_MESSAGE : BUSY_MESSAGE);
+            } else if (isExit) {
+                // Commands already submitted still run, but nothing after the goodbye does.
+                dispatcher.shutdown();
+                userInput.setDisable(true);
+                sendButton.setDisable(true);
             }
         }
     }
 
     /**
-     * Adds a chat message to the UI with proper text wrapping.
+     * Adds a chat message to the transcript, dropping the oldest messages beyond the history limit.
      *
-     * @param text          The message text.
-     * @param profileImage  The profile image of the sender.
-     * @param sender        The sender type ("user" or "bot").
+     * @param text   The message text.
+     * @param isUser Whether the message was sent by the user rather than by Oracle.
+     * @return The message that was added.
      */
-    private void addMessage(String text, Image profileImage, String sender) {
-        HBox messageBox = new HBox(10);
-        Label messageLabel = new Label(text);
-        messageLabel.setWrapText(true);
-        messageLabel.setMaxWidth(250);
-        messageLabel.setMinHeight(Region.USE_PREF_SIZE);
-        messageLabel.setStyle(sender.equals("user")
-                ? "-fx-background-color: #6A0DAD; -fx-text-fill: white; -fx-padding: 10; -fx-background-radius: 15;"
-                : "-fx-background-color: #0D47A1; -fx-text-fill: white; -fx-padding: 10; -fx-background-radius: 15;");
-
-        ImageView profileView = new ImageView(profileImage);
-        profileView.setFitHeight(40);
-        profileView.setFitWidth(40);
-
-        profileView.setClip(new Circle(20, 20, 20));
-
-        if (sender.equals("user")) {
-            messageBox.getChildren().addAll(messageLabel, profileView);
-            messageBox.setStyle("-fx-alignment: CENTER_RIGHT;");
-        } else {
-            messageBox.getChildren().addAll(profileView, messageLabel);
-            messageBox.setStyle("-fx-alignment: CENTER_LEFT;");
+    private ChatMessage addMessage(String text, boolean isUser) {
+        ChatMessage message = new ChatMessage(text, isUser);
+        messages.add(message);
+        if (messages.size() > historyLimit) {
+            messages.remove(0, messages.size() - historyLimit);
         }
+        scrollToEnd();
+        return message;
+    }
 
-        dialogContainer.getChildren().add(messageBox);
+    private void scrollToEnd() {
+        dialogList.scrollTo(messages.size() - 1);
     }
 }
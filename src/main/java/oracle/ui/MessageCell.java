@@ -0,0 +1,94 @@
+package oracle.ui;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Circle;
+
+/**
+ * Represents a row of the chat transcript. The list view creates only as many cells as fit on
+ * screen and reuses them as the transcript scrolls, so the nodes of a cell are built once and
+ * then filled with whichever message the cell currently shows.
+ */
+class MessageCell extends ListCell<ChatMessage> {
+    private static final String USER_STYLE =
+            "-fx-background-color: #6A0DAD; -fx-text-fill: white; -fx-padding: 10; -fx-background-radius: 15;";
+    private static final String BOT_STYLE =
+            "-fx-background-color: #0D47A1; -fx-text-fill: white; -fx-padding: 10; -fx-background-radius: 15;";
+
+    private final Image userImage;
+    private final Image botImage;
+    private final HBox messageBox = new HBox(10);
+    private final VBox bubble = new VBox(4);
+    private final Label messageLabel = new Label();
+    private final Hyperlink moreLink = new Hyperlink();
+    private final ImageView profileView = new ImageView();
+
+    /**
+     * Constructs a MessageCell.
+     *
+     * @param userImage The profile image shown next to messages from the user.
+     * @param botImage  The profile image shown next to messages from Oracle.
+     */
+    MessageCell(Image userImage, Image botImage) {
+        this.userImage = userImage;
+        this.botImage = botImage;
+
+        messageLabel.setWrapText(true);
+        messageLabel.setMaxWidth(250);
+        messageLabel.setMinHeight(Region.USE_PREF_SIZE);
+        moreLink.setStyle("-fx-text-fill: white;");
+        moreLink.setOnAction(event -> {
+            if (getItem() != null) {
+                getItem().showMore();
+            }
+        });
+        bubble.setAlignment(Pos.CENTER_LEFT);
+
+        profileView.setFitHeight(40);
+        profileView.setFitWidth(40);
+        profileView.setClip(new Circle(20, 20, 20));
+
+        setStyle("-fx-background-color: transparent; -fx-padding: 5 10 5 10;");
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setPrefWidth(0);
+        messageBox.prefWidthProperty().bind(widthProperty().subtract(20));
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        messageLabel.setText(message.getVisibleText());
+        messageLabel.setStyle(message.isUser() ? USER_STYLE : BOT_STYLE);
+        int hiddenLineCount = message.getHiddenLineCount();
+        if (hiddenLineCount > 0) {
+            moreLink.setText("Show more (" + hiddenLineCount + " more lines)");
+            bubble.getChildren().setAll(messageLabel, moreLink);
+        } else {
+            bubble.getChildren().setAll(messageLabel);
+        }
+
+        if (message.isUser()) {
+            profileView.setImage(userImage);
+            messageBox.getChildren().setAll(bubble, profileView);
+            messageBox.setAlignment(Pos.CENTER_RIGHT);
+        } else {
+            profileView.setImage(botImage);
+            messageBox.getChildren().setAll(profileView, bubble);
+            messageBox.setAlignment(Pos.CENTER_LEFT);
+        }
+        setGraphic(messageBox);
+    }
+}
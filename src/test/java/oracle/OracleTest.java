@@ -0,0 +1,234 @@
+package oracle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oracle.common.BatchSummary;
+import oracle.common.OracleException;
+
+public class OracleTest {
+    @Test
+    public void runBatch_mixedCommands_appliesValidOnesAndReportsFailures() throws Exception {
+        Path directory = Files.createTempDirectory("oracle-batch");
+        String file = directory.resolve("oracle.txt").toString();
+        Path commands = directory.resolve("commands.txt");
+        Files.write(commands, List.of("todo read book", "", "deadline return book /by 2/12/2019 1800",
+                "fly away", "mark 1", "delete 7", "bye", "todo never run"));
+
+        Oracle oracle = new Oracle(file);
+        BatchSummary summary = oracle.runBatch(commands, 0);
+        oracle.close();
+
+        assertEquals(6, summary.getCommandCount());
+        assertEquals(2, summary.getFailureCount());
+        assertEquals(1, summary.getCommitCount());
+        assertTrue(summary.getFailures().get(0).startsWith("Line 4: "));
+        assertTrue(summary.getFailures().get(1).startsWith("Line 6: "));
+        List<String> lines = Files.readAllLines(Path.of(file));
+        assertEquals(4, lines.size());
+        assertEquals("# format 2", lines.get(0));
+        assertEquals("# next-id 3", lines.get(1));
+        assertTrue(lines.get(2).startsWith("1 | T | 1 | read book"));
+    }
+
+    @Test
+    public void runBatch_commitFails_resumesSaves() throws Exception {
+        Path directory = Files.createTempDirectory("oracle-batch");
+        String file = directory.resolve("oracle.txt").toString();
+        Path commands = directory.resolve("commands.txt");
+        Files.write(commands, List.of("todo a", "todo b"));
+
+        Oracle oracle = new Oracle(file);
+        // A directory in place of the temporary file makes the commit fail.
+        Files.createDirectory(Path.of(file + ".tmp"));
+        OracleException exception = assertThrows(OracleException.class, () -> oracle.runBatch(commands, 0));
+        assertTrue(exception.getMessage().startsWith("Error saving tasks"));
+        Files.delete(Path.of(file + ".tmp"));
+        oracle.execute("todo c");
+        oracle.close();
+        assertEquals(5, Files.readAllLines(Path.of(file)).size());
+
+        Oracle missing = new Oracle(file);
+        exception = assertThrows(OracleException.class, () -> missing.runBatch(directory.resolve("none.txt"), 0));
+        assertTrue(exception.getMessage().startsWith("Error reading batch file"));
+        missing.execute("todo d");
+        missing.close();
+        assertEquals(6, Files.readAllLines(Path.of(file)).size());
+    }
+
+    @Test
+    public void runBatch_commitInterval_commitsPeriodically() throws Exception {
+        Path directory = Files.createTempDirectory("oracle-batch");
+        String file = directory.resolve("oracle.txt").toString();
+        Path commands = directory.resolve("commands.txt");
+        Files.write(commands, List.of("todo a", "todo b", "todo c", "todo d", "todo e"));
+
+        Oracle oracle = new Oracle(file);
+        BatchSummary summary = oracle.runBatch(commands, 2);
+        oracle.close();
+
+        assertEquals(3, summary.getCommitCount());
+        assertEquals(7, Files.readAllLines(Path.of(file)).size());
+        assertTrue(oracle.getResponse("list").contains("5. #5 [T][ ] e"));
+    }
+
+    @Test
+    public void undo_changes_revertedInReverseOrderAndRedone() throws Exception {
+        String file = Files.createTempDirectory("oracle-undo").resolve("oracle.txt").toString();
+        Oracle oracle = new Oracle(file);
+        oracle.execute("todo read book");
+        oracle.execute("deadline return book /by 2/12/2019 1800");
+        oracle.execute("todo join club");
+        oracle.execute("mark 2");
+        oracle.execute("snooze 2 5/12/2019 0900");
+        oracle.execute("delete 2");
+        String before = oracle.getResponse("list");
+
+        assertTrue(oracle.execute("undo").contains("delete"));
+        assertTrue(oracle.getResponse("list").contains("2. #2 [D][X] return book (by: Dec 5 2019, 09:00AM)"));
+        oracle.execute("undo");
+        oracle.execute("undo");
+        assertTrue(oracle.getResponse("list").contains("2. #2 [D][ ] return book (by: Dec 2 2019, 06:00PM)"));
+        oracle.execute("redo");
+        oracle.execute("redo");
+        oracle.execute("redo");
+        assertEquals(before, oracle.getResponse("list"));
+        assertTrue(oracle.getResponse("redo").startsWith("Error: There is nothing to redo."));
+        oracle.close();
+
+        assertEquals(4, Files.readAllLines(Path.of(file)).size());
+    }
+
+    @Test
+    public void undo_newChangeAfterUndo_clearsRedo() throws Exception {
+        String file = Files.createTempDirectory("oracle-undo").resolve("oracle.txt").toString();
+        Oracle oracle = new Oracle(file);
+        assertTrue(oracle.getResponse("undo").startsWith("Error: There is nothing to undo."));
+        oracle.execute("todo read book");
+        oracle.execute("undo");
+        oracle.execute("todo join club");
+        assertTrue(oracle.getResponse("redo").startsWith("Error: There is nothing to redo."));
+        oracle.execute("undo");
+        assertTrue(oracle.getResponse("list").contains("no tasks"));
+        oracle.close();
+    }
+
+    @Test
+    public void constructor_fileWithoutTaskIds_keepsIdsGivenOut() throws Exception {
+        Path file = Files.createTempDirectory("oracle-ids").resolve("oracle.txt");
+        Files.write(file, List.of("T | 0 | read book", "T | 1 | buy milk"));
+        System.setProperty("oracle.journal", "true");
+        try {
+            Oracle oracle = new Oracle(file.toString());
+            oracle.execute("todo walk dog");
+            oracle.close();
+
+            Oracle reopened = new Oracle(file.toString());
+            assertTrue(reopened.getResponse("delete #1").contains("read book"));
+            assertTrue(reopened.getResponse("delete #3").contains("walk dog"));
+            reopened.close();
+        } finally {
+            System.clearProperty("oracle.journal");
+        }
+    }
+
+    @Test
+    public void getResponse_longList_showsPagesWithCursor() throws Exception {
+        String file = Files.createTempDirectory("oracle-page").resolve("oracle.txt").toString();
+        Oracle oracle = new Oracle(file);
+        for (int i = 1; i <= 120; i++) {
+            oracle.execute("todo task " + i);
+        }
+
+        String first = oracle.getResponse("list");
+        assertTrue(first.contains("50. #50 [T][ ] task 50\n"));
+        assertFalse(first.contains("51. "));
+        String more = first.substring(first.indexOf("type: ") + "type: ".length()).trim();
+        assertEquals("list --after 50.", more.substring(0, "list --after 50.".length()));
+
+        oracle.execute("delete 1");
+        String second = oracle.getResponse(more);
+        assertTrue(second.contains("50. #51 [T][ ] task 51\n"));
+        assertTrue(oracle.getResponse("list page 3 --limit 40").contains("Showing 81-119 of 119."));
+        assertTrue(oracle.getResponse("find task 11 --limit 5").contains("1. #11 [T][ ] task 11\n"));
+        oracle.close();
+    }
+
+    @Test
+    public void getResponse_queryAndExplain_success() throws Exception {
+        String file = Files.createTempDirectory("oracle-query").resolve("oracle.txt").toString();
+        Oracle oracle = new Oracle(file);
+        oracle.execute("deadline write report /by 20/2/2025 1800");
+        oracle.execute("deadline file report /by 10/2/2025 1800");
+        oracle.execute("deadline pay rent /by 1/2/2025 0900");
+        oracle.execute("todo report ideas");
+        oracle.execute("deadline old report /by 1/1/2025 0900");
+        oracle.execute("mark 5");
+
+        String response = oracle.getResponse("query type:deadline done:no due<2025-03-01 text:report sort:due");
+        assertTrue(response.contains("1. [D][ ] file report"));
+        assertTrue(response.contains("2. [D][ ] write report"));
+        assertFalse(response.contains("old report"));
+        assertFalse(response.contains("3. "));
+        assertTrue(oracle.getResponse("explain query text:report limit:1").contains("Plan: "));
+        assertTrue(oracle.getResponse("query done:yes text:rent").contains("No tasks match"));
+        oracle.close();
+    }
+
+    @Test
+    public void getResponse_filteredListAndCount_keepTaskNumbers() throws Exception {
+        String file = Files.createTempDirectory("oracle-filter").resolve("oracle.txt").toString();
+        Oracle oracle = new Oracle(file);
+        oracle.execute("todo buy milk");
+        oracle.execute("deadline write report /by 20/2/2025 1800");
+        oracle.execute("event launch /from 1/3/2025 0900 /to 1/3/2025 1000");
+        oracle.execute("deadline pay rent /by 1/2/2025 0900");
+        oracle.execute("mark 2");
+
+        String undone = oracle.getResponse("list undone deadlines");
+        assertTrue(undone.contains("Here are the undone deadlines in your cosmic logs (1):"));
+        assertTrue(undone.contains("4. #4 [D][ ] pay rent"));
+        assertFalse(undone.contains("write report"));
+        oracle.execute("delete 1");
+        assertTrue(oracle.getResponse("list deadline events --limit 2").contains("2. #3 [E][ ] launch"));
+        assertTrue(oracle.getResponse("list done todos").contains("No done todos"));
+        assertEquals("\uD83D\uDD2D Tasks: 3 (todos: 0, deadlines: 2, events: 1, done: 1, undone: 2)",
+                oracle.getResponse("count"));
+        assertTrue(oracle.getResponse("count undone deadlines").contains("Undone deadlines: 1 of 3 tasks"));
+        for (int i = 0; i < 3; i++) {
+            oracle.execute("delete 1");
+        }
+        assertEquals("\uD83D\uDD2D Tasks: 0 (todos: 0, deadlines: 0, events: 0, done: 0, undone: 0)",
+                oracle.getResponse("count"));
+        assertTrue(oracle.getResponse("count done").contains("Done tasks: 0 of 0 tasks"));
+        oracle.close();
+    }
+
+    @Test
+    public void getResponse_taskIds_stayWithTasksAcrossDeletes() throws Exception {
+        String file = Files.createTempDirectory("oracle-ids").resolve("oracle.txt").toString();
+        Oracle oracle = new Oracle(file);
+        oracle.execute("todo buy milk");
+        assertTrue(oracle.getResponse("todo water plants").contains("as #2:"));
+        oracle.execute("todo feed cat");
+        oracle.execute("delete 1");
+
+        assertTrue(oracle.getResponse("mark #2").contains("[T][X] water plants"));
+        assertTrue(oracle.getResponse("unmark #3").contains("[T][ ] feed cat"));
+        assertEquals("Error: There is no task #1 in your list.", oracle.getResponse("delete #1"));
+        assertTrue(oracle.getResponse("delete #3").contains("feed cat"));
+        oracle.close();
+
+        Oracle reopened = new Oracle(file);
+        assertTrue(reopened.getResponse("todo call mum").contains("as #4:"));
+        reopened.close();
+    }
+}
@@ -4,10 +4,27 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Locale;
+
 import org.junit.jupiter.api.Test;
 
 import oracle.command.AddCommand;
 import oracle.command.Command;
+import oracle.command.CountCommand;
+import oracle.command.DeleteCommand;
+import oracle.command.ExitCommand;
+import oracle.command.FindCommand;
+import oracle.command.ListCommand;
+import oracle.command.MarkCommand;
+import oracle.command.QueryCommand;
+import oracle.command.RedoCommand;
+import oracle.command.ScheduleCommand;
+import oracle.command.SnoozeCommand;
+import oracle.command.UndoCommand;
+import oracle.command.UnmarkCommand;
+import oracle.command.UpcomingCommand;
+import oracle.task.TaskList;
+import oracle.task.Todo;
 
 public class ParserTest {
 
@@ -29,6 +46,26 @@ public class ParserTest {
         assertTrue(command instanceof AddCommand);
     }
 
+    @Test
+    public void parse_undoRedoCommands_success() throws OracleException {
+        assertTrue(Parser.parse("undo") instanceof UndoCommand);
+        assertTrue(Parser.parse("redo") instanceof RedoCommand);
+    }
+
+    @Test
+    public void parse_validScheduleCommand_success() throws OracleException {
+        assertTrue(Parser.parse("schedule 1/3/2025 0000 /to 31/3/2025 2359") instanceof ScheduleCommand);
+        assertTrue(Parser.parse("between 1/3/2025 0000 /to 31/3/2025 2359") instanceof ScheduleCommand);
+        assertThrows(OracleException.class, () -> Parser.parse("schedule 1/3/2025 0000"));
+    }
+
+    @Test
+    public void parse_upcomingCommand_success() throws OracleException {
+        assertTrue(Parser.parse("upcoming") instanceof UpcomingCommand);
+        assertTrue(Parser.parse("upcoming 10") instanceof UpcomingCommand);
+        assertThrows(OracleException.class, () -> Parser.parse("upcoming soon"));
+    }
+
     @Test
     public void parse_unknownCommand_throwsException() {
         OracleException exception = assertThrows(OracleException.class, () -> {
@@ -38,4 +75,127 @@ public class ParserTest {
                 "OOPS!!! I'm sorry, but I don't know what that means :-(. Type 'help' to see the list of commands.",
                 exception.getMessage());
     }
+
+    @Test
+    public void parse_prefixesAndAliases_success() throws OracleException {
+        assertTrue(Parser.parse("ls") instanceof ListCommand);
+        assertTrue(Parser.parse("l") instanceof ListCommand);
+        assertTrue(Parser.parse("del 2") instanceof DeleteCommand);
+        assertTrue(Parser.parse("dea project /by 2/12/2023 2359") instanceof AddCommand);
+        assertTrue(Parser.parse("quit") instanceof ExitCommand);
+        assertTrue(Parser.parse("  t   homework  ") instanceof AddCommand);
+    }
+
+    @Test
+    public void parse_ambiguousPrefix_listsCandidates() {
+        OracleException exception = assertThrows(OracleException.class, () -> Parser.parse("de 2"));
+        assertEquals("OOPS!!! 'de' could be any of: deadline, delete. Please type more of the command.",
+                exception.getMessage());
+        assertThrows(OracleException.class, () -> Parser.parse("listing"));
+        assertThrows(OracleException.class, () -> Parser.parse("List"));
+    }
+
+    @Test
+    public void parse_missingArguments_throwsException() {
+        assertThrows(OracleException.class, () -> Parser.parse("delete"));
+        assertThrows(OracleException.class, () -> Parser.parse("mark"));
+        assertThrows(OracleException.class, () -> Parser.parse("find"));
+        assertThrows(OracleException.class, () -> Parser.parse("todo  "));
+        assertThrows(OracleException.class, () -> Parser.parse("event meeting /from 3/12/2023 1400"));
+        assertThrows(OracleException.class, () -> Parser.parse("deadline /by 2/12/2023 2359"));
+    }
+
+    @Test
+    public void parse_pagingOptions_success() throws OracleException {
+        assertTrue(Parser.parse("list page 3") instanceof ListCommand);
+        assertTrue(Parser.parse("list --limit 20 --after 20.21") instanceof ListCommand);
+        assertTrue(Parser.parse("find book --limit 50 --after 50.73") instanceof FindCommand);
+        assertTrue(Parser.parse("find a--b --page 2") instanceof FindCommand);
+    }
+
+    @Test
+    public void parse_pagingExamplesInMessage_run() throws OracleException {
+        String message = assertThrows(OracleException.class, () -> Parser.parse("list everything")).getMessage();
+        String examples = message.substring(message.indexOf("For example: ") + "For example: ".length());
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= 200; i++) {
+            tasks.addTask(new Todo("book " + i));
+        }
+        for (String example : examples.split(", or ")) {
+            Command command = Parser.parse(example);
+            assertTrue(command.executeForGui(tasks, null, null).contains("[T][ ] book"));
+        }
+    }
+
+    @Test
+    public void parse_invalidPagingOptions_throwsException() {
+        assertThrows(OracleException.class, () -> Parser.parse("list everything"));
+        assertThrows(OracleException.class, () -> Parser.parse("list page"));
+        assertThrows(OracleException.class, () -> Parser.parse("list page 0"));
+        assertThrows(OracleException.class, () -> Parser.parse("list --limit 1001"));
+        assertThrows(OracleException.class, () -> Parser.parse("list page 2 --after 50.73"));
+        assertThrows(OracleException.class, () -> Parser.parse("find --limit 5"));
+    }
+
+    @Test
+    public void parse_queries_success() throws OracleException {
+        assertTrue(Parser.parse("query type:deadline done:no due<2025-03-01 text:report sort:due limit:20")
+                instanceof QueryCommand);
+        assertTrue(Parser.parse("query type:todo,event text:\"weekly report\" due>=1/3/2025") instanceof QueryCommand);
+        assertTrue(Parser.parse("query") instanceof QueryCommand);
+        assertTrue(Parser.parse("explain query done:yes") instanceof QueryCommand);
+        assertTrue(Parser.parse("explain due:2025-03-01") instanceof QueryCommand);
+    }
+
+    @Test
+    public void parse_upperCaseQueryTermsInTurkishLocale_success() throws OracleException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertTrue(Parser.parse("query type:DEADLINE,TODO done:YES sort:LIST") instanceof QueryCommand);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void parse_invalidQueries_throwsException() {
+        assertThrows(OracleException.class, () -> Parser.parse("query type:chore"));
+        assertThrows(OracleException.class, () -> Parser.parse("query done:maybe"));
+        assertThrows(OracleException.class, () -> Parser.parse("query due<tomorrow"));
+        assertThrows(OracleException.class, () -> Parser.parse("query sort:size"));
+        assertThrows(OracleException.class, () -> Parser.parse("query limit:0"));
+        assertThrows(OracleException.class, () -> Parser.parse("query text:\"unclosed"));
+        assertThrows(OracleException.class, () -> Parser.parse("query due>2025-03-01 due<2025-03-01"));
+        assertThrows(OracleException.class, () -> Parser.parse("query colour:red"));
+        assertThrows(OracleException.class, () -> Parser.parse("query report"));
+    }
+
+    @Test
+    public void parse_filters_success() throws OracleException {
+        assertTrue(Parser.parse("list undone deadlines") instanceof ListCommand);
+        assertTrue(Parser.parse("list done todo event page 2 --limit 10") instanceof ListCommand);
+        assertTrue(Parser.parse("count") instanceof CountCommand);
+        assertTrue(Parser.parse("count undone events") instanceof CountCommand);
+    }
+
+    @Test
+    public void parse_invalidFilters_throwsException() {
+        assertThrows(OracleException.class, () -> Parser.parse("list done undone"));
+        assertThrows(OracleException.class, () -> Parser.parse("list undone chores"));
+        assertThrows(OracleException.class, () -> Parser.parse("count everything"));
+        assertThrows(OracleException.class, () -> Parser.parse("count deadlines page 2"));
+    }
+
+    @Test
+    public void parse_taskIds_success() throws OracleException {
+        assertTrue(Parser.parse("delete #12") instanceof DeleteCommand);
+        assertTrue(Parser.parse("mark #3") instanceof MarkCommand);
+        assertTrue(Parser.parse("unmark #3") instanceof UnmarkCommand);
+        assertTrue(Parser.parse("snooze #4 1/1/2025 1200") instanceof SnoozeCommand);
+        OracleException exception = assertThrows(OracleException.class, () -> Parser.parse("delete #0"));
+        assertEquals("Please enter a valid task ID, e.g. #12.", exception.getMessage());
+        assertThrows(OracleException.class, () -> Parser.parse("delete #x"));
+        assertThrows(OracleException.class, () -> Parser.parse("mark #"));
+    }
 }
@@ -0,0 +1,524 @@
+package oracle.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oracle.task.Deadline;
+import oracle.task.Event;
+import oracle.task.Task;
+import oracle.task.TaskList;
+import oracle.task.Todo;
+
+public class StorageTest {
+
+    private String newDataFile() throws IOException {
+        Path dir = Files.createTempDirectory("oracle-storage-test");
+        return dir.resolve("oracle.txt").toString();
+    }
+
+    @Test
+    public void load_journalMode_replaysRecordedOperations() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true);
+        TaskList tasks = new TaskList(storage.load());
+
+        Task todo = new Todo("read book");
+        tasks.addTask(todo);
+        storage.saveAdded(tasks, todo);
+        Task deadline = new Deadline("return book", LocalDateTime.of(2025, 3, 1, 18, 0));
+        tasks.addTask(deadline);
+        storage.saveAdded(tasks, deadline);
+        tasks.getTask(1).markDone();
+        storage.saveMarked(tasks, 1, true);
+        ((Deadline) tasks.getTask(1)).reschedule(LocalDateTime.of(2025, 3, 2, 9, 30));
+        storage.saveRescheduled(tasks, 1);
+        tasks.deleteTask(0);
+        storage.saveDeleted(tasks, 0);
+
+        ArrayList<Task> reloaded = new Storage(file, true).load();
+        assertEquals(1, reloaded.size());
+        assertEquals("[D][X] return book (by: Mar 2 2025, 09:30AM)", reloaded.get(0).toString());
+    }
+
+    @Test
+    public void load_journalModeWithInsert_restoresPosition() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true);
+        TaskList tasks = new TaskList(storage.load());
+        for (String description : List.of("a", "b", "c")) {
+            Task todo = new Todo(description);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+        }
+        Task removed = tasks.deleteTask(1);
+        storage.saveDeleted(tasks, 1);
+        tasks.insertTask(1, removed);
+        storage.saveInserted(tasks, 1, removed);
+        storage.close();
+
+        ArrayList<Task> reloaded = new Storage(file, true).load();
+        assertEquals(3, reloaded.size());
+        assertEquals(removed.toString(), reloaded.get(1).toString());
+    }
+
+    @Test
+    public void commit_deferredSaves_writesOnce() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file);
+        TaskList tasks = new TaskList(storage.load());
+        storage.deferSaves();
+        Task todo = new Todo("read book");
+        tasks.addTask(todo);
+        storage.saveAdded(tasks, todo);
+        assertEquals(0, new Storage(file).load().size());
+
+        assertTrue(storage.commit(tasks));
+        assertFalse(storage.commit(tasks));
+        assertEquals(1, new Storage(file).load().size());
+    }
+
+    @Test
+    public void load_descriptionsWithSeparators_roundTripExactly() throws OracleException, IOException {
+        List<Task> saved = List.of(
+                new Todo("a | b || c"),
+                new Deadline("report (by: friday) \\ draft", LocalDateTime.of(2025, 3, 1, 18, 0)),
+                new Event("C:\\new\\rig | setup\nday two", LocalDateTime.of(2025, 3, 1, 9, 0),
+                        LocalDateTime.of(2025, 3, 2, 17, 0)));
+        for (boolean isJournalMode : new boolean[] {false, true}) {
+            String file = newDataFile();
+            Storage storage = new Storage(file, isJournalMode);
+            TaskList tasks = new TaskList(storage.load());
+            for (Task task : saved) {
+                tasks.addTask(task);
+                storage.saveAdded(tasks, task);
+            }
+            storage.close();
+
+            ArrayList<Task> reloaded = new Storage(file, isJournalMode).load();
+            assertEquals(saved.size(), reloaded.size());
+            for (int i = 0; i < saved.size(); i++) {
+                assertEquals(saved.get(i).toString(), reloaded.get(i).toString());
+            }
+        }
+        assertTrue(new TextTaskCodec().formatTask(saved.get(0))
+                .startsWith(saved.get(0).getId() + " | T | 0 | a \\| b \\|\\| c | #"));
+    }
+
+    @Test
+    public void load_damagedLine_salvagesOtherLinesAndKeepsCopy() throws OracleException, IOException {
+        String file = newDataFile();
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("return book"));
+        tasks.addTask(new Deadline("essay", LocalDateTime.of(2025, 3, 1, 18, 0)));
+        new Storage(file).save(tasks);
+        Path path = Path.of(file);
+        Files.writeString(path, Files.readString(path).replace("return book", "return boot"));
+
+        ArrayList<Task> reloaded = new Storage(file).load();
+        assertEquals(2, reloaded.size());
+        assertEquals("[D][ ] essay (by: Mar 1 2025, 06:00PM)", reloaded.get(1).toString());
+        assertTrue(Files.exists(Path.of(file + ".corrupt")));
+    }
+
+    @Test
+    public void load_lineCutShort_skippedAsDamaged() throws OracleException, IOException {
+        String file = newDataFile();
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        new Storage(file).save(tasks);
+        Path path = Path.of(file);
+        Files.writeString(path, "2 | T | 0 | return bo\n", StandardOpenOption.APPEND);
+
+        ArrayList<Task> reloaded = new Storage(file).load();
+        assertEquals(1, reloaded.size());
+        assertEquals("[T][ ] read book", reloaded.get(0).toString());
+        assertTrue(Files.exists(Path.of(file + ".corrupt")));
+    }
+
+    @Test
+    public void load_linesWithoutChecksum_stillRead() throws OracleException, IOException {
+        String file = newDataFile();
+        Files.write(Path.of(file), List.of("T | 1 | read book", "D | 0 | essay | 2025-03-01 1800",
+                "T | 0 | copy C:\\new\\data \\| backup"));
+        ArrayList<Task> reloaded = new Storage(file).load();
+        assertEquals(3, reloaded.size());
+        assertEquals("[T][X] read book", reloaded.get(0).toString());
+        assertEquals(0L, reloaded.get(0).getId());
+        // Written before descriptions were escaped, so backslashes are part of the description.
+        assertEquals("copy C:\\new\\data \\", reloaded.get(2).getDescription());
+        assertFalse(Files.exists(Path.of(file + ".corrupt")));
+    }
+
+    @Test
+    public void save_syncMode_persistsEachSave() throws OracleException, IOException {
+        for (boolean isJournalMode : new boolean[] {false, true}) {
+            String file = newDataFile();
+            Storage storage = new Storage(file, isJournalMode);
+            storage.enableSyncWrites();
+            TaskList tasks = new TaskList(storage.load());
+            Task todo = new Todo("read book");
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+            storage.save(tasks);
+
+            ArrayList<Task> reloaded = new Storage(file, isJournalMode).load();
+            assertEquals(1, reloaded.size());
+            assertFalse(Files.exists(Path.of(file + ".tmp")));
+            storage.close();
+        }
+    }
+
+    @Test
+    public void load_interruptedSave_keepsLastCompleteSave() throws OracleException, IOException {
+        String file = newDataFile();
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        new Storage(file).save(tasks);
+        Files.writeString(Path.of(file + ".tmp"), "T | 0 | half writ");
+
+        assertEquals(1, new Storage(file).load().size());
+        assertFalse(Files.exists(Path.of(file + ".tmp")));
+    }
+
+    @Test
+    public void load_tornJournalRecord_skipsRecord() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true);
+        TaskList tasks = new TaskList(storage.load());
+        for (int i = 0; i < 12; i++) {
+            Task todo = new Todo("task " + i);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+        }
+        tasks.deleteTask(11);
+        storage.saveDeleted(tasks, 11);
+        Path journal = Path.of(file + ".journal");
+        String contents = Files.readString(journal).stripTrailing();
+        Files.writeString(journal, contents.substring(0, contents.length() - 1));
+
+        ArrayList<Task> reloaded = new Storage(file, true).load();
+        assertEquals(12, reloaded.size());
+        assertEquals("[T][ ] task 1", reloaded.get(1).toString());
+    }
+
+    @Test
+    public void saveAdded_afterTornJournalRecord_keepsNewRecords() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true, false, 100);
+        TaskList tasks = new TaskList(storage.load());
+        for (int i = 0; i < 3; i++) {
+            Task todo = new Todo("task " + i);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+        }
+        storage.close();
+        Path journal = Path.of(file + ".journal");
+        Files.writeString(journal, "#1c29", StandardOpenOption.APPEND);
+
+        Storage reopened = new Storage(file, true, false, 100);
+        TaskList reloaded = new TaskList(reopened.load());
+        assertEquals(3, reloaded.size());
+        assertTrue(Files.exists(Path.of(file + ".journal.corrupt")));
+        Task todo = new Todo("task 3");
+        reloaded.addTask(todo);
+        reopened.saveAdded(reloaded, todo);
+        reopened.close();
+
+        ArrayList<Task> reloadedAgain = new Storage(file, true).load();
+        assertEquals(4, reloadedAgain.size());
+        assertEquals("[T][ ] task 3", reloadedAgain.get(3).toString());
+    }
+
+    @Test
+    public void load_damagedJournalRecord_stopsReplayThere() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true, false, 100);
+        TaskList tasks = new TaskList(storage.load());
+        for (int i = 0; i < 3; i++) {
+            Task todo = new Todo("task " + i);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+        }
+        storage.close();
+        Path journal = Path.of(file + ".journal");
+        Files.writeString(journal, Files.readString(journal).replace("task 1", "task X"));
+
+        Storage reopened = new Storage(file, true, false, 100);
+        TaskList reloaded = new TaskList(reopened.load());
+        assertEquals(1, reloaded.size());
+        Task todo = new Todo("task 3");
+        reloaded.addTask(todo);
+        reopened.saveAdded(reloaded, todo);
+        reopened.close();
+
+        ArrayList<Task> reloadedAgain = new Storage(file, true).load();
+        assertEquals(2, reloadedAgain.size());
+        assertEquals("[T][ ] task 3", reloadedAgain.get(1).toString());
+    }
+
+    @Test
+    public void save_taskList_writesViewWithoutCopy() throws OracleException, IOException {
+        String file = newDataFile();
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Event("camp", LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 2, 17, 0)));
+        assertSame(tasks.getTaskView(), tasks.getTaskView());
+
+        new Storage(file).save(tasks);
+        ArrayList<Task> reloaded = new Storage(file).load();
+        assertEquals(2, reloaded.size());
+        assertEquals(tasks.getTask(1).toString(), reloaded.get(1).toString());
+    }
+
+    @Test
+    public void load_failedCompactions_keepAllRecords() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true, false, 3);
+        TaskList tasks = new TaskList(storage.load());
+        // A directory in place of the temporary file makes every snapshot write fail.
+        Files.createDirectory(Path.of(file + ".tmp"));
+        for (int i = 0; i < 6; i++) {
+            Task todo = new Todo("task " + i);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+            if (i % 3 == 2) {
+                storage.close();
+            }
+        }
+
+        ArrayList<Task> reloaded = new Storage(file, true).load();
+        assertEquals(6, reloaded.size());
+        assertEquals("[T][ ] task 0", reloaded.get(0).toString());
+        assertEquals("[T][ ] task 5", reloaded.get(5).toString());
+    }
+
+    @Test
+    public void load_journalModeAfterCompaction_keepsAllTasks() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true, false, 2);
+        TaskList tasks = new TaskList(storage.load());
+        for (int i = 0; i < 7; i++) {
+            Task todo = new Todo("task " + i);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+        }
+        storage.close();
+
+        ArrayList<Task> reloaded = new Storage(file, true).load();
+        assertEquals(7, reloaded.size());
+        assertEquals("[T][ ] task 6", reloaded.get(6).toString());
+    }
+
+    @Test
+    public void save_writeBehindMode_writesTasksAsSaved() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file);
+        storage.enableWriteBehind(1000);
+        TaskList tasks = new TaskList(storage.load());
+        Task todo = new Todo("read book");
+        tasks.addTask(todo);
+        storage.saveAdded(tasks, todo);
+        // Changed but not saved yet, so the background write should not pick the change up.
+        tasks.markTask(0);
+        storage.flush();
+        assertEquals("[T][ ] read book", new Storage(file).load().get(0).toString());
+
+        Files.createDirectory(Path.of(file + ".tmp"));
+        storage.saveMarked(tasks, 0, true);
+        OracleException exception = assertThrows(OracleException.class, storage::flush);
+        assertTrue(exception.getMessage().startsWith("Error saving tasks: an earlier save in the background failed"));
+        Files.delete(Path.of(file + ".tmp"));
+        storage.saveMarked(tasks, 0, true);
+        storage.close();
+        assertEquals("[T][X] read book", new Storage(file).load().get(0).toString());
+    }
+
+    @Test
+    public void flush_writeBehindMode_persistsLatestState() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file);
+        storage.enableWriteBehind(1000);
+        TaskList tasks = new TaskList(storage.load());
+        for (int i = 0; i < 50; i++) {
+            Task todo = new Todo("task " + i);
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+        }
+        tasks.markTask(49);
+        storage.saveMarked(tasks, 49, true);
+        storage.flush();
+
+        ArrayList<Task> reloaded = new Storage(file).load();
+        assertEquals(50, reloaded.size());
+        assertEquals("[T][X] task 49", reloaded.get(49).toString());
+        storage.close();
+    }
+
+    @Test
+    public void load_switchingFormats_migratesTasks() throws OracleException, IOException {
+        String file = newDataFile();
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        Task deadline = new Deadline("return book ü", LocalDateTime.of(2025, 3, 1, 18, 0));
+        deadline.markDone();
+        tasks.add(deadline);
+        new Storage(file).save(tasks);
+
+        ArrayList<Task> binary = new Storage(file, false, true).load();
+        assertFalse(Files.exists(Path.of(file)));
+        assertTrue(Files.exists(Path.of(file.replace(".txt", ".bin"))));
+        assertEquals("[D][X] return book ü (by: Mar 1 2025, 06:00PM)", binary.get(1).toString());
+
+        ArrayList<Task> text = new Storage(file).load();
+        assertEquals(2, text.size());
+        assertEquals("[T][ ] read book", text.get(0).toString());
+        assertEquals("[D][X] return book ü (by: Mar 1 2025, 06:00PM)", text.get(1).toString());
+    }
+
+    @Test
+    public void load_binaryJournalMode_replaysRecordedOperations() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, true, true, 3);
+        TaskList tasks = new TaskList(storage.load());
+        for (int i = 0; i < 5; i++) {
+            Task event = new Event("event " + i, LocalDateTime.of(2025, 3, 1, 9, 0),
+                    LocalDateTime.of(2025, 3, 1, 10, 30));
+            tasks.addTask(event);
+            storage.saveAdded(tasks, event);
+        }
+        tasks.snoozeTask(4, LocalDateTime.of(2025, 3, 2, 12, 0));
+        storage.saveRescheduled(tasks, 4);
+        storage.close();
+
+        ArrayList<Task> reloaded = new Storage(file, true, true).load();
+        assertEquals(5, reloaded.size());
+        assertEquals("[E][ ] event 4 (from: Mar 2 2025, 12:00PM to: Mar 2 2025, 01:30PM)",
+                reloaded.get(4).toString());
+    }
+
+    @Test
+    public void loadMapped_binaryFile_decodesTasksOnAccess() throws OracleException, IOException {
+        String file = newDataFile();
+        ArrayList<Task> generated = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            generated.add(new Todo("task " + i));
+        }
+        Storage storage = new Storage(file, true, true);
+        storage.save(generated);
+
+        List<Task> mapped = storage.loadMapped();
+        TaskList tasks = new TaskList(mapped, false);
+        assertEquals(100, tasks.size());
+        assertSame(tasks.getTask(42), tasks.getTask(42));
+        tasks.markTask(42);
+        storage.saveMarked(tasks, 42, true);
+        tasks.deleteTask(0);
+        storage.saveDeleted(tasks, 0);
+        Task todo = new Todo("task 100");
+        tasks.addTask(todo);
+        storage.saveAdded(tasks, todo);
+        assertEquals(2, ((MappedTaskList) mapped).getHeldCount());
+        assertEquals("[T][X] task 42", tasks.getTask(41).toString());
+        storage.close();
+
+        List<Task> reloaded = new Storage(file, true, true).loadMapped();
+        assertEquals(100, reloaded.size());
+        assertEquals("[T][X] task 42", reloaded.get(41).toString());
+        assertEquals("[T][ ] task 100", reloaded.get(99).toString());
+    }
+
+    @Test
+    public void load_taskIds_surviveDeletesAndFormats() throws OracleException, IOException {
+        for (boolean isBinaryFormat : new boolean[] {false, true}) {
+            String file = newDataFile();
+            Storage storage = new Storage(file, false, isBinaryFormat);
+            TaskList tasks = new TaskList(storage.load(), false, storage.getNextId());
+            for (int i = 0; i < 3; i++) {
+                tasks.addTask(new Todo("task " + i));
+            }
+            tasks.deleteTask(2);
+            storage.save(tasks);
+
+            Storage reloadedStorage = new Storage(file, false, isBinaryFormat);
+            TaskList reloaded = new TaskList(reloadedStorage.load(), false, reloadedStorage.getNextId());
+            assertEquals(2L, reloaded.getTask(1).getId());
+            assertEquals("[T][ ] task 1", reloaded.getTaskById(2).toString());
+            reloaded.addTask(new Todo("task 3"));
+            assertEquals(4L, reloaded.getTask(2).getId());
+
+            if (isBinaryFormat) {
+                reloadedStorage.save(reloaded);
+                Storage mappedStorage = new Storage(file, false, true);
+                List<Task> mapped = mappedStorage.loadMapped();
+                assertEquals(4L, mapped.get(2).getId());
+                assertEquals(5L, mappedStorage.getNextId());
+            }
+        }
+    }
+
+    @Test
+    public void save_mappedMode_movesOntoNewFileEachTime() throws OracleException, IOException {
+        for (boolean isJournalMode : new boolean[] {false, true}) {
+            String file = newDataFile();
+            ArrayList<Task> generated = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                generated.add(new Todo("task " + i));
+            }
+            new Storage(file, false, true).save(generated);
+
+            Storage storage = new Storage(file, isJournalMode, true, 1);
+            MappedTaskList mapped = (MappedTaskList) storage.loadMapped();
+            TaskList tasks = new TaskList(mapped, false);
+            Task kept = tasks.getTask(3);
+            tasks.markTask(3);
+            storage.saveMarked(tasks, 3, true);
+            Task todo = new Todo("task 10");
+            tasks.addTask(todo);
+            storage.saveAdded(tasks, todo);
+            storage.close();
+            tasks.deleteTask(0);
+            storage.saveDeleted(tasks, 0);
+            storage.close();
+
+            assertTrue(mapped.isMapped());
+            assertEquals(0, mapped.getHeldCount());
+            assertSame(kept, tasks.getTask(2));
+            assertEquals("[T][X] task 3", tasks.getTask(2).toString());
+            assertEquals("[T][ ] task 10", tasks.getTask(9).toString());
+            List<Task> reloaded = new Storage(file, isJournalMode, true).loadMapped();
+            assertEquals(10, reloaded.size());
+            assertEquals("[T][X] task 3", reloaded.get(2).toString());
+            assertEquals("[T][ ] task 10", reloaded.get(9).toString());
+        }
+    }
+
+    @Test
+    public void loadMapped_manyAddsAndDeletes_reusesHeldSlots() throws OracleException, IOException {
+        String file = newDataFile();
+        Storage storage = new Storage(file, false, true);
+        MappedTaskList mapped = (MappedTaskList) storage.loadMapped();
+        for (int i = 0; i < 1000; i++) {
+            mapped.add(new Todo("task " + i));
+            mapped.add(0, new Todo("inserted " + i));
+            mapped.remove(i % 2);
+        }
+        assertEquals(1000, mapped.size());
+        assertEquals(1001, mapped.getHeldCapacity());
+        assertEquals("[T][ ] task 999", mapped.get(mapped.size() - 1).toString());
+        storage.close();
+    }
+}
@@ -0,0 +1,82 @@
+package oracle.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oracle.task.Task;
+import oracle.task.Todo;
+
+public class UiTest {
+    @Test
+    public void showTasks_repeatedTask_numbersEveryRow() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Ui ui = new Ui(new ByteArrayInputStream(new byte[0]), output, 0);
+        Task task = new Todo("read book");
+        task.setId(1);
+        Task other = new Todo("join club");
+        other.setId(2);
+
+        ui.showTasks(List.of(task, other, task));
+
+        String shown = output.toString();
+        assertTrue(shown.contains("    1. #1 [T][ ] read book"));
+        assertTrue(shown.contains("    2. #2 [T][ ] join club"));
+        assertTrue(shown.contains("    3. #1 [T][ ] read book"));
+    }
+
+    @Test
+    public void showTasks_longList_flushesOncePerResponse() {
+        int[] flushes = new int[1];
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+        Ui ui = new Ui(new ByteArrayInputStream(new byte[0]), output, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+
+        ui.showTasks(tasks);
+        ui.showAddedTask(tasks.get(0), tasks.size());
+
+        assertEquals(2, flushes[0]);
+    }
+
+    @Test
+    public void showTasks_paging_stopsWhenUserQuits() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] answers = "\nq\n".getBytes(StandardCharsets.UTF_8);
+        Ui ui = new Ui(new ByteArrayInputStream(answers), output, 2);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            Task task = new Todo("task " + i);
+            task.setId(i);
+            tasks.add(task);
+        }
+
+        ui.showTasks(tasks);
+
+        String shown = output.toString();
+        assertTrue(shown.contains("4. #4 [T][ ] task 4"));
+        assertFalse(shown.contains("5. #5 [T][ ] task 5"));
+        assertTrue(shown.contains("-- 5 more: press Enter"));
+        assertTrue(shown.contains("... 3 more tasks not shown."));
+    }
+}
@@ -0,0 +1,82 @@
+package oracle.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oracle.Oracle;
+
+public class OracleServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void post_concurrentCommands_allApplied() throws Exception {
+        String file = Files.createTempDirectory("oracle-server").resolve("oracle.txt").toString();
+        OracleServer server = new OracleServer(new Oracle(file), 0);
+        server.start();
+        try {
+            List<Thread> clients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int client = i;
+                Thread thread = new Thread(() -> {
+                    for (int j = 0; j < 10; j++) {
+                        try {
+                            assertEquals(200, post(server, "todo task " + client + "-" + j).statusCode());
+                        } catch (IOException | InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                });
+                clients.add(thread);
+                thread.start();
+            }
+            for (Thread thread : clients) {
+                thread.join();
+            }
+            assertTrue(post(server, "list").body().contains("80. "));
+        } finally {
+            server.stop();
+        }
+        assertEquals(82, Files.readAllLines(Path.of(file)).size());
+    }
+
+    @Test
+    public void post_invalidCommand_errorStatus() throws Exception {
+        String file = Files.createTempDirectory("oracle-server").resolve("oracle.txt").toString();
+        OracleServer server = new OracleServer(new Oracle(file), 0);
+        server.start();
+        try {
+            HttpResponse<String> response = post(server, "fly away");
+            assertEquals(422, response.statusCode());
+            assertTrue(response.body().startsWith("Error: OOPS!!!"));
+            assertEquals(400, post(server, "   ").statusCode());
+
+            HttpRequest get = HttpRequest.newBuilder(commandUri(server)).GET().build();
+            assertEquals(405, client.send(get, HttpResponse.BodyHandlers.ofString()).statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private HttpResponse<String> post(OracleServer server, String command) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(commandUri(server))
+                .POST(HttpRequest.BodyPublishers.ofString(command))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI commandUri(OracleServer server) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + "/command");
+    }
+}
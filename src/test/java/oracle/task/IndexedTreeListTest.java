@@ -0,0 +1,72 @@
+package oracle.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexedTreeListTest {
+    @Test
+    public void constructor_fromCollection_keepsOrder() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        List<Integer> list = new IndexedTreeList<>(expected);
+        assertEquals(expected, list);
+        assertEquals(expected, new ArrayList<>(list));
+        assertEquals(expected.get(500), list.get(500));
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(i);
+        }
+        List<Integer> list = new IndexedTreeList<>(expected);
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                list.add(index, i);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -i), list.set(index, -i));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void get_invalidIndex_exceptionThrown() {
+        List<String> list = new IndexedTreeList<>();
+        list.add("a");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, "b"));
+    }
+
+    @Test
+    public void taskList_treeBacking_deletesByIndex() throws Exception {
+        TaskList tasks = new TaskList(new IndexedTreeList<>(List.of(new Todo("a"), new Todo("b"), new Todo("c"))),
+                true);
+        assertEquals("[T][ ] b", tasks.deleteTask(1).toString());
+        assertEquals(2, tasks.size());
+        assertEquals("[T][ ] c", tasks.getTask(1).toString());
+        assertEquals(1, tasks.findTasks("c").size());
+    }
+}
@@ -0,0 +1,63 @@
+package oracle.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskIdMapTest {
+    private static Task createTask(long id) {
+        Task task = new Todo("task " + id);
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    public void get_afterRandomPutsAndRemoves_matchesHashMap() {
+        Random random = new Random(25);
+        TaskIdMap map = new TaskIdMap();
+        Map<Long, Task> expected = new HashMap<>();
+        for (int step = 0; step < 20000; step++) {
+            // Small IDs collide often, and large ones check that the whole key is hashed.
+            long id = random.nextBoolean()
+                    ? 1 + random.nextInt(300)
+                    : 1 + (random.nextLong() >>> 1) % 1_000_000_007L;
+            if (random.nextInt(3) == 0) {
+                map.remove(id);
+                expected.remove(id);
+            } else {
+                Task task = createTask(id);
+                map.put(task);
+                expected.put(id, task);
+            }
+            long probe = 1 + random.nextInt(300);
+            assertSame(expected.get(probe), map.get(probe));
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Task> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void remove_middleOfProbeRun_keepsLaterEntriesReachable() {
+        TaskIdMap map = new TaskIdMap();
+        Task[] tasks = new Task[1001];
+        for (int id = 1; id <= 1000; id++) {
+            tasks[id] = createTask(id);
+            map.put(tasks[id]);
+        }
+        for (long id = 1; id <= 1000; id += 2) {
+            map.remove(id);
+        }
+        for (int id = 1; id <= 1000; id++) {
+            assertSame(id % 2 == 0 ? tasks[id] : null, map.get(id));
+        }
+        assertEquals(500, map.size());
+        assertSame(null, map.get(0));
+    }
+}
@@ -1,7 +1,20 @@
 package oracle.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 
@@ -38,4 +51,386 @@ public class TaskListTest {
         assertEquals(1, taskList.size());
         assertEquals("[T][ ] Buy groceries", taskList.getTask(0).toString());
     }
+
+    @Test
+    public void findTasks_indexedAfterChanges_matchesScan() throws OracleException {
+        TaskList indexed = new TaskList(new ArrayList<>(), true);
+        TaskList scanned = new TaskList(new ArrayList<>(), false);
+        for (TaskList taskList : List.of(indexed, scanned)) {
+            taskList.addTask(new Todo("Read book"));
+            taskList.addTask(new Deadline("Return book", LocalDateTime.of(2025, 3, 1, 18, 0)));
+            taskList.addTask(new Todo("Buy groceries"));
+        }
+        assertEquals(render(scanned.findTasks("book")), render(indexed.findTasks("book")));
+        assertEquals(2, indexed.findTasks("BOOK").size());
+
+        for (TaskList taskList : List.of(indexed, scanned)) {
+            taskList.deleteTask(0);
+            taskList.markTask(1);
+            taskList.snoozeTask(0, LocalDateTime.of(2025, 4, 2, 9, 0));
+            taskList.addTask(new Todo("Write book report"));
+        }
+        for (String keyword : List.of("book", "[x]", "apr 2", "mar", "", "o", "report", "missing")) {
+            assertEquals(render(scanned.findTasks(keyword)), render(indexed.findTasks(keyword)), keyword);
+        }
+        assertEquals("[D][ ] Return book (by: Apr 2 2025, 09:00AM)", indexed.findTasks("apr 2").get(0).toString());
+
+        for (TaskList taskList : List.of(indexed, scanned)) {
+            taskList.insertTask(0, taskList.deleteTask(2));
+        }
+        assertEquals(render(scanned.findTasks("book")), render(indexed.findTasks("book")));
+        assertEquals("[T][ ] Write book report", indexed.findTasks("book").get(0).toString());
+    }
+
+    @Test
+    public void findTasks_turkishLocale_matchesDottedAndDotlessI() throws OracleException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            for (boolean isIndexed : new boolean[] {true, false}) {
+                TaskList taskList = new TaskList(new ArrayList<>(), isIndexed);
+                taskList.addTask(new Todo("IMPORTANT review"));
+                taskList.addTask(new Todo("Read book"));
+                assertEquals(List.of("IMPORTANT review"), describe(taskList.findTasks("important")));
+                assertEquals(List.of("IMPORTANT review"), describe(taskList.findTasks("IMP")));
+                TaskQuery query = new TaskQuery(EnumSet.noneOf(TaskType.class), null, null, null, "Important",
+                        TaskQuery.SortOrder.LIST, 10);
+                assertEquals(List.of("IMPORTANT review"), describe(taskList.query(query)));
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void findScheduledTasks_afterChanges_returnsOverlapping() throws OracleException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Event("Conference", LocalDateTime.of(2025, 3, 1, 9, 0),
+                LocalDateTime.of(2025, 3, 3, 17, 0)));
+        taskList.addTask(new Deadline("Report", LocalDateTime.of(2025, 3, 2, 12, 0)));
+        taskList.addTask(new Todo("Read book"));
+        taskList.addTask(new Event("Trip", LocalDateTime.of(2025, 4, 1, 8, 0),
+                LocalDateTime.of(2025, 4, 5, 20, 0)));
+        LocalDateTime from = LocalDateTime.of(2025, 3, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 31, 0, 0);
+        assertEquals(List.of("Conference", "Report"), describe(taskList.findScheduledTasks(from, to)));
+
+        taskList.snoozeTask(3, LocalDateTime.of(2025, 3, 30, 8, 0));
+        taskList.deleteTask(0);
+        taskList.addTask(new Deadline("Taxes", LocalDateTime.of(2025, 3, 31, 0, 0)));
+        assertEquals(List.of("Report", "Trip", "Taxes"), describe(taskList.findScheduledTasks(from, to)));
+        assertEquals(List.of(), describe(taskList.findScheduledTasks(LocalDateTime.of(2025, 4, 6, 0, 0),
+                LocalDateTime.of(2025, 5, 1, 0, 0))));
+    }
+
+    @Test
+    public void getUpcomingTasks_afterChanges_returnsEarliestUndone() throws OracleException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("Report", LocalDateTime.of(2025, 3, 5, 12, 0)));
+        taskList.addTask(new Todo("Read book"));
+        taskList.addTask(new Event("Conference", LocalDateTime.of(2025, 3, 1, 9, 0),
+                LocalDateTime.of(2025, 3, 3, 17, 0)));
+        taskList.addTask(new Deadline("Taxes", LocalDateTime.of(2025, 4, 15, 23, 59)));
+        assertEquals(List.of("Conference", "Report"), describe(taskList.getUpcomingTasks(2)));
+
+        taskList.markTask(2);
+        taskList.snoozeTask(0, LocalDateTime.of(2025, 5, 1, 12, 0));
+        assertEquals(List.of("Taxes", "Report"), describe(taskList.getUpcomingTasks(5)));
+
+        taskList.unmarkTask(2);
+        taskList.deleteTask(3);
+        assertEquals(List.of("Conference", "Report"), describe(taskList.getUpcomingTasks(5)));
+    }
+
+    @Test
+    public void getUpcomingTasks_sameDueAfterMarkAndUnmark_keepsListOrder() throws OracleException {
+        LocalDateTime due = LocalDateTime.of(2025, 3, 5, 12, 0);
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("First", due));
+        taskList.addTask(new Deadline("Second", due));
+        assertEquals(List.of("First"), describe(taskList.getUpcomingTasks(1)));
+
+        taskList.markTask(0);
+        taskList.unmarkTask(0);
+        assertEquals(List.of("First"), describe(taskList.getUpcomingTasks(1)));
+
+        Task done = new Deadline("Done first", due);
+        done.markDone();
+        TaskList loaded = new TaskList(new ArrayList<>(List.of(done, new Deadline("Second", due))));
+        assertEquals(List.of("Second"), describe(loaded.getUpcomingTasks(1)));
+        loaded.unmarkTask(0);
+        assertEquals(List.of("Done first", "Second"), describe(loaded.getUpcomingTasks(2)));
+    }
+
+    @Test
+    public void findTasks_concurrentWithChanges_matchesScan() throws Exception {
+        TaskList taskList = new TaskList();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    taskList.addTask(new Deadline("Report " + i, LocalDateTime.of(2025, 3, 1, 0, 0).plusHours(i)));
+                    if (i % 5 == 0) {
+                        taskList.markTask(taskList.size() - 1);
+                    }
+                    if (i % 3 == 0) {
+                        taskList.deleteTask(0);
+                    }
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < 500; j++) {
+                        taskList.findTasks("report 1");
+                        taskList.getUpcomingTasks(3);
+                        taskList.getTasks();
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        writer.start();
+        readers.forEach(Thread::start);
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(List.of(), failures);
+
+        TaskList scanned = new TaskList(taskList.getTasks(), false);
+        assertEquals(render(scanned.findTasks("report 1")), render(taskList.findTasks("report 1")));
+    }
+
+    private static List<String> describe(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        tasks.forEach(task -> descriptions.add(task.getDescription()));
+        return descriptions;
+    }
+
+    private static List<String> render(List<Task> tasks) {
+        List<String> rendered = new ArrayList<>();
+        tasks.forEach(task -> rendered.add(task.toString()));
+        return rendered;
+    }
+
+    private static TaskList createQueryTasks() {
+        List<Task> tasks = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < 300; i++) {
+            String description = (i % 7 == 0 ? "report " : "chore ") + i;
+            LocalDateTime due = start.plusHours((i * 37L) % 2000);
+            Task task = i % 3 == 0 ? new Todo(description)
+                    : i % 3 == 1 ? new Deadline(description, due) : new Event(description, due, due.plusHours(2));
+            if (i % 4 == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        return new TaskList(tasks);
+    }
+
+    private static List<Task> bruteForce(TaskList tasks, TaskQuery query) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks.getTaskView()) {
+            if (query.matches(task)) {
+                matches.add(task);
+            }
+        }
+        if (query.getSortOrder() == TaskQuery.SortOrder.DUE) {
+            matches.sort(Comparator.comparing(TaskQuery::dueOf,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return matches.subList(0, Math.min(query.getLimit(), matches.size()));
+    }
+
+    @Test
+    public void query_everyPlan_matchesFilteringTheWholeList() throws OracleException {
+        TaskList tasks = createQueryTasks();
+        LocalDateTime march = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime february = LocalDateTime.of(2025, 2, 1, 0, 0);
+        Set<TaskType> deadlines = EnumSet.of(TaskType.DEADLINE);
+        Set<TaskType> all = EnumSet.noneOf(TaskType.class);
+        List<TaskQuery> queries = List.of(
+                new TaskQuery(deadlines, false, null, march, "report", TaskQuery.SortOrder.DUE, 20),
+                new TaskQuery(all, false, null, null, null, TaskQuery.SortOrder.DUE, 10),
+                new TaskQuery(deadlines, false, null, null, null, TaskQuery.SortOrder.DUE, 10),
+                new TaskQuery(all, null, february, march, null, TaskQuery.SortOrder.LIST, 1000),
+                new TaskQuery(all, null, february, march, null, TaskQuery.SortOrder.DUE, 15),
+                new TaskQuery(all, true, null, null, "chore 1", TaskQuery.SortOrder.LIST, 50),
+                new TaskQuery(EnumSet.of(TaskType.TODO, TaskType.EVENT), null, null, null, null,
+                        TaskQuery.SortOrder.LIST, 7));
+        for (int round = 0; round < 2; round++) {
+            for (TaskQuery query : queries) {
+                assertEquals(bruteForce(tasks, query), tasks.query(query));
+            }
+            tasks.deleteTask(5);
+            tasks.markTask(10);
+            tasks.snoozeTask(1, LocalDateTime.of(2025, 2, 10, 8, 0));
+            // Undoing a delete puts the task back between others.
+            tasks.insertTask(3 + round, tasks.deleteTask(tasks.size() - 1 - round));
+        }
+    }
+
+    @Test
+    public void planQuery_choosesCheapestAccessPath() {
+        TaskList tasks = createQueryTasks();
+        Set<TaskType> all = EnumSet.noneOf(TaskType.class);
+
+        TaskQuery firstFive = new TaskQuery(all, null, null, null, null, TaskQuery.SortOrder.LIST, 5);
+        QueryPlan scan = tasks.planQuery(firstFive);
+        assertEquals(QueryPlan.AccessPath.FULL_SCAN, scan.getAccessPath());
+        assertEquals(5L, scan.getEstimatedCost());
+
+        TaskQuery rareText = new TaskQuery(all, null, null, null, "report 21", TaskQuery.SortOrder.LIST, 50);
+        assertEquals(QueryPlan.AccessPath.KEYWORD_INDEX, tasks.planQuery(rareText).getAccessPath());
+
+        TaskQuery nextDeadlines = new TaskQuery(EnumSet.of(TaskType.DEADLINE), false, null, null, null,
+                TaskQuery.SortOrder.DUE, 3);
+        QueryPlan due = tasks.planQuery(nextDeadlines);
+        assertEquals(QueryPlan.AccessPath.DUE_ORDER, due.getAccessPath());
+        assertFalse(due.needsSort());
+        assertTrue(due.describe().contains("full scan (300)"));
+
+        TaskQuery week = new TaskQuery(all, null, LocalDateTime.of(2025, 1, 10, 0, 0),
+                LocalDateTime.of(2025, 1, 17, 0, 0), null, TaskQuery.SortOrder.DUE, 50);
+        assertEquals(QueryPlan.AccessPath.SCHEDULE_INDEX, tasks.planQuery(week).getAccessPath());
+    }
+
+    @Test
+    public void query_concurrentWithInsertions_runsOnPlannedIndex() throws Exception {
+        TaskList tasks = new TaskList();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < 30; i++) {
+            tasks.addTask(i % 2 == 0 ? new Deadline("report " + i, start.plusHours(i))
+                    : new Event("meeting " + i, start.plusHours(i), start.plusHours(i + 1)));
+        }
+        Set<TaskType> all = EnumSet.noneOf(TaskType.class);
+        List<TaskQuery> queries = List.of(
+                new TaskQuery(all, null, null, null, "report 2", TaskQuery.SortOrder.LIST, 50),
+                new TaskQuery(all, null, start, start.plusHours(3), null, TaskQuery.SortOrder.DUE, 50),
+                new TaskQuery(EnumSet.of(TaskType.DEADLINE), false, null, null, null, TaskQuery.SortOrder.DUE, 3));
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean isReading = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            try {
+                // Inserting between tasks drops the keyword, schedule and due indexes.
+                while (isReading.get()) {
+                    tasks.insertTask(0, tasks.deleteTask(tasks.size() - 1));
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < 5000; j++) {
+                        queries.forEach(tasks::query);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        writer.start();
+        readers.forEach(Thread::start);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        isReading.set(false);
+        writer.join();
+        assertEquals(List.of(), failures);
+        for (TaskQuery query : queries) {
+            assertEquals(bruteForce(tasks, query), tasks.query(query));
+        }
+    }
+
+    @Test
+    public void getTaskById_afterDeleteAndReinsert_findsTask() throws OracleException {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        assertEquals(1L, tasks.getTask(0).getId());
+        assertEquals(5L, tasks.getTask(4).getId());
+
+        Task removed = tasks.deleteTask(1);
+        assertEquals(2, tasks.indexOfId(4));
+        tasks.addTask(new Todo("task 5"));
+        assertEquals(6L, tasks.getTask(4).getId());
+        OracleException exception = assertThrows(OracleException.class, () -> tasks.getTaskById(2));
+        assertEquals("There is no task #2 in your list.", exception.getMessage());
+
+        tasks.insertTask(1, removed);
+        assertEquals(2L, tasks.getTask(1).getId());
+        assertEquals(removed, tasks.getTaskById(2));
+        assertEquals(1, tasks.indexOfId(2));
+        assertEquals(7L, tasks.getNextId());
+    }
+
+    @Test
+    public void getTaskById_legacyAndDuplicateIds_assignsFreshIds() throws OracleException {
+        List<Task> loaded = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            loaded.add(new Todo("task " + i));
+        }
+        loaded.get(1).setId(7);
+        loaded.get(2).setId(7);
+        TaskList tasks = new TaskList(loaded, false);
+
+        assertEquals("task 1", tasks.getTaskById(7).getDescription());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            assertTrue(tasks.getTask(i).getId() > 0);
+            assertTrue(ids.add(tasks.getTask(i).getId()));
+            assertEquals(i, tasks.indexOfId(tasks.getTask(i).getId()));
+        }
+        assertTrue(tasks.getTask(2).getId() > 7);
+        tasks.addTask(new Todo("task 4"));
+        assertTrue(ids.add(tasks.getTask(4).getId()));
+    }
+
+    @Test
+    public void lazilyLoaded_answersByScanning_matchesIndexed() throws OracleException {
+        TaskList indexed = createQueryTasks();
+        TaskList lazy = new TaskList(createQueryTasks().getTasks(), true, 0, true);
+        assertTrue(indexed.assignIds());
+        assertTrue(lazy.assignIds());
+        LocalDateTime february = LocalDateTime.of(2025, 2, 1, 0, 0);
+        LocalDateTime march = LocalDateTime.of(2025, 3, 1, 0, 0);
+        Set<TaskType> all = EnumSet.noneOf(TaskType.class);
+        List<TaskQuery> queries = List.of(
+                new TaskQuery(EnumSet.of(TaskType.DEADLINE), false, null, null, null, TaskQuery.SortOrder.DUE, 3),
+                new TaskQuery(all, null, february, march, null, TaskQuery.SortOrder.LIST, 1000),
+                new TaskQuery(all, null, null, null, "report 21", TaskQuery.SortOrder.LIST, 50));
+        for (int round = 0; round < 2; round++) {
+            assertEquals(describe(indexed.findScheduledTasks(february, march)),
+                    describe(lazy.findScheduledTasks(february, march)));
+            assertEquals(describe(indexed.getUpcomingTasks(10)), describe(lazy.getUpcomingTasks(10)));
+            assertEquals(describe(indexed.findTasks("chore 1")), describe(lazy.findTasks("chore 1")));
+            for (TaskQuery query : queries) {
+                assertEquals(describe(indexed.query(query)), describe(lazy.query(query)));
+                QueryPlan.AccessPath path = lazy.planQuery(query).getAccessPath();
+                assertTrue(path == QueryPlan.AccessPath.FULL_SCAN || path == QueryPlan.AccessPath.TYPE_PARTITION);
+            }
+            for (long id : new long[] {1, 150, indexed.getNextId() - 1}) {
+                assertEquals(indexed.getTaskById(id).getDescription(), lazy.getTaskById(id).getDescription());
+                assertEquals(indexed.indexOfId(id), lazy.indexOfId(id));
+            }
+            assertThrows(OracleException.class, () -> lazy.getTaskById(lazy.getNextId()));
+            for (TaskList tasks : List.of(indexed, lazy)) {
+                tasks.markTask(10);
+                tasks.snoozeTask(1, LocalDateTime.of(2025, 2, 10, 8, 0));
+                // Undoing a delete puts the task back between others.
+                tasks.insertTask(3, tasks.deleteTask(tasks.size() - 1));
+            }
+        }
+    }
 }
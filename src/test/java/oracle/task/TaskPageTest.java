@@ -0,0 +1,109 @@
+package oracle.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oracle.common.OracleException;
+
+public class TaskPageTest {
+    private static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Task task = new Todo("task " + i);
+            task.setId(i);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void apply_pageNumber_selectsPage() throws OracleException {
+        TaskPage page = new PageRequest(3, 4).apply(createTasks(10));
+
+        assertEquals(9, page.getFirstNumber());
+        assertEquals(2, page.getTasks().size());
+        assertEquals("task 9", page.getTasks().get(0).getDescription());
+        assertEquals(null, page.getNextCursor());
+        assertEquals("Showing 9-10 of 10.", page.describe("list"));
+    }
+
+    @Test
+    public void apply_cursor_continuesAfterPreviousPage() throws OracleException {
+        List<Task> tasks = createTasks(10);
+        TaskPage first = new PageRequest(1, 4).apply(tasks);
+        TaskPage second = new PageRequest(first.getNextCursor(), 4).apply(tasks);
+
+        assertEquals(5, second.getFirstNumber());
+        assertEquals("task 5", second.getTasks().get(0).getDescription());
+        assertTrue(first.describe("list").endsWith("list --after " + first.getNextCursor() + " --limit 4"));
+    }
+
+    @Test
+    public void apply_cursorAfterEarlierTasksDeleted_neitherSkipsNorRepeats() throws OracleException {
+        List<Task> tasks = createTasks(10);
+        String cursor = new PageRequest(1, 4).apply(tasks).getNextCursor();
+        tasks.remove(0);
+        tasks.remove(0);
+
+        TaskPage next = new PageRequest(cursor, 4).apply(tasks);
+        assertEquals("task 5", next.getTasks().get(0).getDescription());
+        assertEquals(3, next.getFirstNumber());
+
+        tasks.add(0, new Todo("restored"));
+        assertEquals("task 5", new PageRequest(cursor, 4).apply(tasks).getTasks().get(0).getDescription());
+    }
+
+    @Test
+    public void apply_lastTaskOfPageDeleted_resumesAtSamePosition() throws OracleException {
+        List<Task> tasks = createTasks(10);
+        String cursor = new PageRequest(1, 4).apply(tasks).getNextCursor();
+        tasks.remove(3);
+
+        assertEquals("task 5", new PageRequest(cursor, 4).apply(tasks).getTasks().get(0).getDescription());
+    }
+
+    @Test
+    public void apply_cursorAfterDuplicateDeleted_doesNotSkipDuplicates() throws OracleException {
+        TaskList taskList = new TaskList();
+        for (String description : new String[] {"milk", "milk", "milk", "bread", "milk", "milk"}) {
+            taskList.addTask(new Todo(description));
+        }
+        List<Task> tasks = taskList.getTasks();
+        Task thirdMilk = tasks.get(2);
+        String cursor = new PageRequest(1, 2).apply(tasks).getNextCursor();
+        tasks.remove(0);
+
+        TaskPage next = new PageRequest(cursor, 2).apply(tasks);
+        assertSame(thirdMilk, next.getTasks().get(0));
+        assertEquals("bread", next.getTasks().get(1).getDescription());
+    }
+
+    @Test
+    public void apply_lastTaskOfPageAndEarlierTaskDeleted_resumesAfterIt() throws OracleException {
+        List<Task> tasks = createTasks(10);
+        String cursor = new PageRequest(1, 4).apply(tasks).getNextCursor();
+        tasks.remove(3);
+        tasks.remove(0);
+
+        TaskPage next = new PageRequest(cursor, 4).apply(tasks);
+        assertEquals("task 5", next.getTasks().get(0).getDescription());
+        assertEquals(3, next.getFirstNumber());
+    }
+
+    @Test
+    public void apply_invalidCursor_exceptionThrown() {
+        List<Task> tasks = createTasks(3);
+        assertThrows(OracleException.class, () -> new PageRequest("abc", 4).apply(tasks));
+        assertThrows(OracleException.class, () -> new PageRequest("4.", 4).apply(tasks));
+        assertThrows(OracleException.class, () -> new PageRequest("0.1f", 4).apply(tasks));
+        assertThrows(OracleException.class, () -> new PageRequest("0.3", 4).apply(tasks));
+        assertThrows(OracleException.class, () -> new PageRequest("2.0", 4).apply(tasks));
+    }
+}
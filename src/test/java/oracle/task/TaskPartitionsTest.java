@@ -0,0 +1,97 @@
+package oracle.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskPartitionsTest {
+    private static Task createTask(Random random, int number) {
+        LocalDateTime due = LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(number);
+        Task task = switch (random.nextInt(3)) {
+        case 0 -> new Todo("todo " + number);
+        case 1 -> new Deadline("deadline " + number, due);
+        default -> new Event("event " + number, due, due.plusHours(1));
+        };
+        if (random.nextBoolean()) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    private static List<Integer> expectedPositions(List<Task> tasks, Set<TaskType> types, Boolean isDone) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (types.contains(task.getType()) && (isDone == null || task.isDone() == isDone)) {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    @Test
+    public void visit_afterRandomChanges_matchesTaskList() {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        TaskPartitions partitions = new TaskPartitions();
+        for (int step = 0; step < 3000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5 || tasks.isEmpty()) {
+                int position = random.nextInt(tasks.size() + 1);
+                Task task = createTask(random, step);
+                tasks.add(position, task);
+                partitions.insert(position, task);
+            } else if (action < 8) {
+                int position = random.nextInt(tasks.size());
+                tasks.remove(position);
+                partitions.remove(position);
+            } else {
+                int position = random.nextInt(tasks.size());
+                Task task = tasks.get(position);
+                if (task.isDone()) {
+                    task.markUndone();
+                } else {
+                    task.markDone();
+                }
+                partitions.update(position, task);
+            }
+        }
+
+        List<Set<TaskType>> typeSets = List.of(EnumSet.allOf(TaskType.class), EnumSet.of(TaskType.TODO),
+                EnumSet.of(TaskType.DEADLINE, TaskType.EVENT));
+        for (Set<TaskType> types : typeSets) {
+            for (Boolean isDone : new Boolean[] {null, true, false}) {
+                List<Integer> expected = expectedPositions(tasks, types, isDone);
+                List<Integer> visited = new ArrayList<>();
+                partitions.visit(types, isDone, visited::add);
+                assertEquals(expected, visited);
+                assertEquals(expected.size(), partitions.count(types, isDone));
+            }
+        }
+    }
+
+    @Test
+    public void findPositions_deleteBeforeMatches_shiftsPositions() throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 130; i++) {
+            tasks.addTask(i % 2 == 0 ? new Todo("todo " + i) : new Deadline("deadline " + i, "1/1/2025 0900"));
+        }
+        assertEquals(65, tasks.findPositions(EnumSet.of(TaskType.TODO), null).length);
+
+        tasks.deleteTask(0);
+        tasks.markTask(128);
+        int[] undoneDeadlines = tasks.findPositions(EnumSet.of(TaskType.DEADLINE), false);
+
+        assertEquals(64, undoneDeadlines.length);
+        assertEquals(0, undoneDeadlines[0]);
+        assertEquals(126, undoneDeadlines[63]);
+        assertEquals(1, tasks.count(EnumSet.noneOf(TaskType.class), true));
+    }
+}
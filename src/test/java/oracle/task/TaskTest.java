@@ -1,9 +1,14 @@
 package oracle.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
 
 import org.junit.jupiter.api.Test;
 
+import oracle.common.OracleException;
+
 public class TaskTest {
 
     @Test
@@ -20,4 +25,42 @@ public class TaskTest {
         todo.markUndone();
         assertEquals(" ", todo.getStatusIcon());
     }
+
+    @Test
+    public void toString_unchangedTask_reusesString() {
+        Task deadline = new Deadline("return book", LocalDateTime.of(2019, 12, 2, 18, 0));
+        assertSame(deadline.toString(), deadline.toString());
+        String line = deadline.getStorageLine(task -> "D | " + task.getDescription());
+        assertSame(line, deadline.getStorageLine(task -> "changed"));
+    }
+
+    @Test
+    public void toString_afterChanges_reflectsChanges() throws OracleException {
+        Deadline deadline = new Deadline("return book", LocalDateTime.of(2019, 12, 2, 18, 0));
+        assertEquals("[D][ ] return book (by: Dec 2 2019, 06:00PM)", deadline.toString());
+        deadline.markDone();
+        assertEquals("[D][X] return book (by: Dec 2 2019, 06:00PM)", deadline.toString());
+        deadline.reschedule(LocalDateTime.of(2019, 12, 5, 9, 0));
+        assertEquals("[D][X] return book (by: Dec 5 2019, 09:00AM)", deadline.toString());
+        assertEquals("5", deadline.getStorageLine(task -> "5"));
+
+        Event event = new Event("camp", LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 2, 17, 0));
+        event.toString();
+        event.reschedule(LocalDateTime.of(2025, 3, 8, 9, 0), LocalDateTime.of(2025, 3, 9, 17, 0));
+        event.markUndone();
+        assertEquals("[E][ ] camp (from: Mar 8 2025, 09:00AM to: Mar 9 2025, 05:00PM)", event.toString());
+    }
+
+    @Test
+    public void getStorageLine_taskChangedWhileFormatting_formatsAgain() {
+        Task todo = new Todo("Read book");
+        // The formatter marks the task halfway through, as another thread could.
+        String stale = todo.getStorageLine(task -> {
+            String line = "T | " + (task.isDone() ? 1 : 0);
+            task.markDone();
+            return line;
+        });
+        assertEquals("T | 0", stale);
+        assertEquals("T | 1", todo.getStorageLine(task -> "T | " + (task.isDone() ? 1 : 0)));
+    }
 }
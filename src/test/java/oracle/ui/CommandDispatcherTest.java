@@ -0,0 +1,83 @@
+package oracle.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandDispatcherTest {
+    @Test
+    public void submit_manyCommands_respondsInOrder() throws InterruptedException {
+        List<String> responses = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        CommandDispatcher dispatcher = new CommandDispatcher(input -> "echo " + input, Runnable::run, 100);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("echo " + i);
+            assertTrue(dispatcher.submit(String.valueOf(i), response -> {
+                responses.add(response);
+                done.countDown();
+            }));
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(expected, responses);
+        assertEquals(0, dispatcher.getPendingCount());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void submit_queueFull_rejected() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CommandDispatcher dispatcher = new CommandDispatcher(input -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return input;
+        }, Runnable::run, 1);
+
+        assertTrue(dispatcher.submit("slow", response -> { }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(dispatcher.submit("queued", response -> { }));
+        assertFalse(dispatcher.submit("rejected", response -> { }));
+        assertEquals(2, dispatcher.getPendingCount());
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void submit_handlerFails_respondsWithError() throws InterruptedException {
+        List<String> responses = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        CommandDispatcher dispatcher = new CommandDispatcher(input -> {
+            throw new IllegalStateException("broken");
+        }, Runnable::run, 1);
+        dispatcher.submit("list", response -> {
+            responses.add(response);
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("Error: broken"), responses);
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void submit_afterShutdown_rejected() {
+        CommandDispatcher dispatcher = new CommandDispatcher(input -> input, Runnable::run, 1);
+        assertFalse(dispatcher.isShutdown());
+        dispatcher.shutdown();
+        assertTrue(dispatcher.isShutdown());
+        assertFalse(dispatcher.submit("list", response -> { }));
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+}